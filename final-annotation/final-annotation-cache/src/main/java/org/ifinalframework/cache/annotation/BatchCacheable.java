@@ -0,0 +1,124 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ *
+ */
+
+package org.ifinalframework.cache.annotation;
+
+import org.ifinalframework.core.lang.SpEL;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 批量缓存，为参数是集合的方法（如 {@code selectByIds(Collection<Long> ids)}）按元素缓存。
+ * <ol>
+ * <li>在执行之前，为 {@link #ids()} 中的每个元素生成 {@link #key()} 和 {@link #field()}，并通过
+ * {@link Cache#multiGet(List, List, Type, Class, CacheValueCodec)} 批量读取；</li>
+ * <li>全部命中时直接返回，否则只以未命中的元素执行目标方法；</li>
+ * <li>在执行之后，通过 {@link #id()} 找到每个结果对应的元素，使用
+ * {@link Cache#multiSet(List, List, List, Long, TimeUnit, Class, CacheValueCodec)} 批量写入，
+ * 并按 {@link #ids()} 的顺序合并命中的缓存和执行结果。</li>
+ * </ol>
+ *
+ * <p>{@link #key()}、{@link #field()} 中使用 {@code #item} 表示集合中的元素，{@link #id()} 中使用 {@code #item} 表示结果中的元素：</p>
+ * <pre class="code">
+ *     &#64;BatchCacheable(key = "user:#{#item}", id = "#{#item.id}")
+ *     public List&lt;User&gt; selectByIds(Collection&lt;Long&gt; ids){
+ *         ...
+ *     }
+ * </pre>
+ *
+ * <p>目标方法的返回值需为 {@link List} 或 {@link java.util.Set}，不支持可变参数。</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see Cacheable
+ * @see Cache#multiGet(List, List, Type, Class, CacheValueCodec)
+ * @see Cache#multiSet(List, List, List, Long, TimeUnit, Class, CacheValueCodec)
+ * @since 1.6.0
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BatchCacheable {
+
+    /**
+     * 缓存区，{@code #item} 为集合中的元素
+     *
+     * @return key
+     */
+    @SpEL
+    String[] key();
+
+    /**
+     * 缓存域，{@code #item} 为集合中的元素
+     *
+     * @return field
+     */
+    @SpEL
+    String[] field() default {};
+
+    /**
+     * 缓存区域的分隔符
+     *
+     * @return delimiter
+     */
+    String delimiter() default ":";
+
+    /**
+     * 集合参数的名称，为空时使用第一个集合参数。
+     *
+     * @return ids
+     */
+    String ids() default "";
+
+    /**
+     * 结果元素对应的集合元素，{@code #item} 为结果中的元素
+     *
+     * @return id
+     */
+    @SpEL
+    String id() default "#{#item.id}";
+
+    /**
+     * 有效时间
+     *
+     * @return ttl
+     */
+    long ttl() default -1L;
+
+    /**
+     * 有效时间单位
+     *
+     * @return timeunit
+     */
+    TimeUnit timeunit() default TimeUnit.MILLISECONDS;
+
+    /**
+     * 缓存值编解码器
+     *
+     * @return codec
+     * @see Cacheable#codec()
+     */
+    Class<? extends CacheValueCodec> codec() default CacheValueCodec.class;
+
+}
@@ -21,13 +21,15 @@ import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
 import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 /**
  * 缓存器，定义统一的缓存接口方法。
  *
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public interface Cache {
@@ -46,6 +48,37 @@ public interface Cache {
      */
     boolean lock(@NonNull Object key, @NonNull Object value, @Nullable Long ttl, @NonNull TimeUnit timeUnit);
 
+    /**
+     * 获取缓存锁，锁被占用时最多等待 {@code wait} 毫秒。
+     *
+     * @param key      key 锁的Key
+     * @param value    value 锁的Value
+     * @param ttl      有效时间
+     * @param timeUnit 有效时间单位
+     * @param wait     最长等待时间，单位 {@link TimeUnit#MILLISECONDS}
+     * @param watchdog 是否在持有锁期间自动续期
+     * @return 如果获取成功，则返回 {@code true}，否则返回 {@code false}。
+     * @see CacheLock#watchdog()
+     * @since 1.6.0
+     */
+    default boolean lock(@NonNull Object key, @NonNull Object value, @Nullable Long ttl, @NonNull TimeUnit timeUnit,
+        long wait, boolean watchdog) {
+        final long deadline = System.currentTimeMillis() + wait;
+        while (!lock(key, value, ttl, timeUnit)) {
+            final long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            try {
+                Thread.sleep(Math.min(remaining, 100L));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * 释放缓存锁，当且仅当缓存 {@code key} 和 {@code value}。
      * <a href="https://final.ilikly.com/cache/annotation/cachelock">CacheLock</a>
@@ -82,6 +115,22 @@ public interface Cache {
      */
     boolean expire(@NonNull Object key, long ttl, @NonNull TimeUnit timeUnit);
 
+    /**
+     * 返回给定的 {@code key} 的剩余有效时间
+     *
+     * <a href="http://doc.redisfans.com/key/pttl.html">PTTL</a>
+     *
+     * @param key      缓存key
+     * @param timeUnit 时间单位
+     * @return 剩余有效时间，{@code key} 不存在或没有设置有效时间时返回负数，不支持时返回 {@code null}。
+     * @see Cacheable#earlyRefresh()
+     * @since 1.6.0
+     */
+    @Nullable
+    default Long ttl(@NonNull Object key, @NonNull TimeUnit timeUnit) {
+        return null;
+    }
+
     /**
      * 设置缓存
      *
@@ -97,6 +146,25 @@ public interface Cache {
     void set(@NonNull Object key, @Nullable Object field, @Nullable Object value, @Nullable Long ttl,
         @NonNull TimeUnit timeUnit, @Nullable Class<?> view);
 
+    /**
+     * 使用指定的编解码器设置缓存
+     *
+     * @param key      缓存的Key
+     * @param field    缓存的 Field
+     * @param value    缓存的 Value
+     * @param ttl      缓存的有效时间
+     * @param timeUnit 时间单位
+     * @param view     缓存视图
+     * @param codec    缓存值编解码器，为 {@code null} 时使用缓存器默认的编解码方式
+     * @see Cacheable#codec()
+     * @see CachePut#codec()
+     * @since 1.6.0
+     */
+    default void set(@NonNull Object key, @Nullable Object field, @Nullable Object value, @Nullable Long ttl,
+        @NonNull TimeUnit timeUnit, @Nullable Class<?> view, @Nullable CacheValueCodec codec) {
+        set(key, field, value, ttl, timeUnit, view);
+    }
+
     /**
      * 获取缓存
      *
@@ -111,6 +179,71 @@ public interface Cache {
     @Nullable
     <T> T get(@NonNull Object key, @Nullable Object field, @NonNull Type type, @Nullable Class<?> view);
 
+    /**
+     * 使用指定的编解码器获取缓存
+     *
+     * @param key   缓存的 Key
+     * @param field 缓存的 Field
+     * @param type  缓存的数据类型
+     * @param view  缓存视图
+     * @param codec 缓存值编解码器，为 {@code null} 时使用缓存器默认的编解码方式
+     * @param <T>   数据类型
+     * @return 获取缓存数据，如果不存在，则返回 {@code null}。
+     * @see Cacheable#codec()
+     * @since 1.6.0
+     */
+    @Nullable
+    default <T> T get(@NonNull Object key, @Nullable Object field, @NonNull Type type, @Nullable Class<?> view,
+        @Nullable CacheValueCodec codec) {
+        return get(key, field, type, view);
+    }
+
+    /**
+     * 批量获取缓存，返回的结果与 {@code keys} 一一对应，未命中的位置为 {@code null}。
+     *
+     * <a href="http://doc.redisfans.com/string/mget.html">MGET</a>
+     * <a href="http://doc.redisfans.com/hash/hmget.html">HMGET</a>
+     *
+     * @param keys   缓存的 Key
+     * @param fields 缓存的 Field，为 {@code null} 或与 {@code keys} 一一对应
+     * @param type   缓存的数据类型
+     * @param view   缓存视图
+     * @param codec  缓存值编解码器
+     * @param <T>    数据类型
+     * @return 与 {@code keys} 一一对应的缓存数据
+     * @see BatchCacheable
+     * @since 1.6.0
+     */
+    @NonNull
+    default <T> List<T> multiGet(@NonNull List<?> keys, @Nullable List<?> fields, @NonNull Type type,
+        @Nullable Class<?> view, @Nullable CacheValueCodec codec) {
+        final List<T> values = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            values.add(get(keys.get(i), fields == null ? null : fields.get(i), type, view, codec));
+        }
+        return values;
+    }
+
+    /**
+     * 批量设置缓存，{@code keys}、{@code fields} 及 {@code values} 一一对应。
+     *
+     * @param keys     缓存的 Key
+     * @param fields   缓存的 Field，为 {@code null} 或与 {@code keys} 一一对应
+     * @param values   缓存的 Value
+     * @param ttl      缓存的有效时间
+     * @param timeUnit 时间单位
+     * @param view     缓存视图
+     * @param codec    缓存值编解码器
+     * @see BatchCacheable
+     * @since 1.6.0
+     */
+    default void multiSet(@NonNull List<?> keys, @Nullable List<?> fields, @NonNull List<?> values,
+        @Nullable Long ttl, @NonNull TimeUnit timeUnit, @Nullable Class<?> view, @Nullable CacheValueCodec codec) {
+        for (int i = 0; i < keys.size(); i++) {
+            set(keys.get(i), fields == null ? null : fields.get(i), values.get(i), ttl, timeUnit, view, codec);
+        }
+    }
+
     /**
      * 缓存自增
      *
@@ -146,4 +279,14 @@ public interface Cache {
      */
     Boolean del(@NonNull Object key, @Nullable Object field);
 
+    /**
+     * 批量执行 {@code writes} 中的写操作，如 Redis 的 pipeline，写操作的返回值可能为 {@code null}。
+     *
+     * @param writes 写操作
+     * @since 1.6.0
+     */
+    default void pipelined(@NonNull Runnable writes) {
+        writes.run();
+    }
+
 }
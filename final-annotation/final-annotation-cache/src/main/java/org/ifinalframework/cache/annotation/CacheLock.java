@@ -47,7 +47,7 @@ public @interface CacheLock {
     String[] key();
 
     /**
-     * 缓存锁 value
+     * 缓存锁 value，作为锁持有者标识的前缀，为空时使用 key；同一线程使用相同的 value 可重入。
      *
      * @return value
      */
@@ -82,4 +82,12 @@ public @interface CacheLock {
      */
     long sleep() default 1000;
 
+    /**
+     * 持有锁期间是否自动续期，未设置 {@link #ttl()} 时使用默认的有效时间并续期，避免方法执行时间超过有效时间而丢失锁。
+     *
+     * @return watchdog
+     * @since 1.6.0
+     */
+    boolean watchdog() default false;
+
 }
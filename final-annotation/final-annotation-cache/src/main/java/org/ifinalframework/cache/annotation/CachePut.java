@@ -28,6 +28,7 @@ import java.util.concurrent.TimeUnit;
  * @author iimik
  * @version 1.0.0
  * @see Cache#set(Object, Object, Object, Long, TimeUnit, Class)
+ * @see Cache#set(Object, Object, Object, Long, TimeUnit, Class, CacheValueCodec)
  * @since 1.0.0
  */
 @Documented
@@ -59,6 +60,14 @@ public @interface CachePut {
 
     TimeUnit timeunit() default TimeUnit.MILLISECONDS;
 
+    /**
+     * 缓存值编解码器，默认为 {@link CacheValueCodec}，表示使用缓存器默认的编解码方式。
+     *
+     * @return codec
+     * @since 1.6.0
+     */
+    Class<? extends CacheValueCodec> codec() default CacheValueCodec.class;
+
     /**
      * CachePuts.
      */
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.cache.annotation;
+
+import org.springframework.lang.Nullable;
+
+import java.lang.reflect.Type;
+
+/**
+ * 缓存值编解码器，将缓存值编码为写入缓存的字节，并从缓存中读取的字节解码为缓存值。
+ *
+ * <p>通过 {@link Cacheable#codec()} 或 {@link CachePut#codec()} 指定，实现类需要提供无参构造器。</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see Cache#set(Object, Object, Object, Long, java.util.concurrent.TimeUnit, Class, CacheValueCodec)
+ * @see Cache#get(Object, Object, Type, Class, CacheValueCodec)
+ * @since 1.6.0
+ */
+public interface CacheValueCodec {
+
+    /**
+     * 编码缓存值
+     *
+     * @param value 缓存值
+     * @param view  缓存视图
+     * @return 编码后的字节
+     */
+    byte[] encode(@Nullable Object value, @Nullable Class<?> view);
+
+    /**
+     * 解码缓存值
+     *
+     * @param bytes 缓存中读取的字节
+     * @param type  缓存的数据类型
+     * @param view  缓存视图
+     * @param <T>   数据类型
+     * @return 缓存值
+     */
+    @Nullable
+    <T> T decode(byte[] bytes, Type type, @Nullable Class<?> view);
+
+}
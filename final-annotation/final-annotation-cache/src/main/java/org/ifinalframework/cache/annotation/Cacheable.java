@@ -134,4 +134,41 @@ public @interface Cacheable {
      */
     TimeUnit timeunit() default TimeUnit.MILLISECONDS;
 
+    /**
+     * 是否合并并发的缓存未命中：同一个 JVM 内，相同 {@link #key()} 和 {@link #field()} 的并发未命中只会执行一次目标方法，
+     * 其它调用等待并直接返回该次执行的结果。
+     *
+     * @return singleFlight
+     * @since 1.6.0
+     */
+    boolean singleFlight() default false;
+
+    /**
+     * 跨节点合并缓存未命中的租约时间，单位 {@link TimeUnit#MILLISECONDS}，仅在 {@link #singleFlight()} 时生效。
+     * 大于 {@code 0} 时，加载数据前先通过 {@link Cache#lock(Object, Object, Long, TimeUnit)} 获取租约，
+     * 未获取到租约的节点在租约时间内轮询缓存，而不是直接执行目标方法。
+     *
+     * @return lease
+     * @since 1.6.0
+     */
+    long lease() default -1L;
+
+    /**
+     * 概率提前刷新系数（XFetch 中的 beta），大于 {@code 0} 时生效，通常取 {@code 1.0}。
+     * 缓存命中时，根据最近一次加载耗时和缓存剩余有效时间 {@link Cache#ttl(Object, TimeUnit)}，
+     * 以一定概率提前执行目标方法并刷新缓存，越接近过期概率越大。
+     *
+     * @return earlyRefresh
+     * @since 1.6.0
+     */
+    double earlyRefresh() default 0D;
+
+    /**
+     * 缓存值编解码器，默认为 {@link CacheValueCodec}，表示使用缓存器默认的编解码方式。
+     *
+     * @return codec
+     * @since 1.6.0
+     */
+    Class<? extends CacheValueCodec> codec() default CacheValueCodec.class;
+
 }
@@ -16,9 +16,11 @@
 package org.ifinalframework.data.query;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.stream.Stream;
 
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
 /**
  * @author iimik
@@ -119,4 +121,71 @@ public interface QEntity<I extends Serializable, T> extends Iterable<QProperty<?
 
     Stream<QProperty<?>> stream();
 
+    /**
+     * return all the properties in order, the returned list is unmodifiable.
+     *
+     * @return all the properties
+     * @since 1.6.0
+     */
+    default List<QProperty<?>> getProperties() {
+        return stream().toList();
+    }
+
+    /**
+     * return the {@linkplain QProperty#isReadable() readable} properties in order, the returned list is
+     * unmodifiable.
+     *
+     * @return the readable properties
+     * @since 1.6.0
+     */
+    default List<QProperty<?>> getReadableProperties() {
+        return stream().filter(QProperty::isReadable).toList();
+    }
+
+    /**
+     * return the {@linkplain QProperty#isReadable() readable} properties which {@linkplain QProperty#hasView(Class) has}
+     * the view in order, the returned list is unmodifiable.
+     *
+     * @param view view, {@code null} means all the readable properties
+     * @return the readable properties of the view
+     * @since 1.6.0
+     */
+    default List<QProperty<?>> getReadableProperties(@Nullable Class<?> view) {
+        return stream().filter(QProperty::isReadable).filter(it -> it.hasView(view)).toList();
+    }
+
+    /**
+     * return the {@linkplain QProperty#isWriteable() writeable} properties in order, the returned list is
+     * unmodifiable.
+     *
+     * @return the writeable properties
+     * @since 1.6.0
+     */
+    default List<QProperty<?>> getWriteableProperties() {
+        return stream().filter(QProperty::isWriteable).toList();
+    }
+
+    /**
+     * return the {@linkplain QProperty#isWriteable() writeable} properties which {@linkplain QProperty#hasView(Class) has}
+     * the view in order, the returned list is unmodifiable.
+     *
+     * @param view view, {@code null} means all the writeable properties
+     * @return the writeable properties of the view
+     * @since 1.6.0
+     */
+    default List<QProperty<?>> getWriteableProperties(@Nullable Class<?> view) {
+        return stream().filter(QProperty::isWriteable).filter(it -> it.hasView(view)).toList();
+    }
+
+    /**
+     * return the {@linkplain QProperty#isModifiable() modifiable} properties in order, the returned list is
+     * unmodifiable.
+     *
+     * @return the modifiable properties
+     * @since 1.6.0
+     */
+    default List<QProperty<?>> getModifiableProperties() {
+        return stream().filter(QProperty::isModifiable).toList();
+    }
+
 }
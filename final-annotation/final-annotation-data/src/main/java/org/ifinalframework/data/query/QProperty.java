@@ -134,6 +134,17 @@ public interface QProperty<T> extends Comparable<QProperty<T>>, FunctionCriteria
      */
     boolean isModifiable();
 
+    /**
+     * return {@code true} if the property is a property of a reference, the {@link #getPath() path} of which likes
+     * {@code creator.id}.
+     *
+     * @return {@code true} if the property is a property of a reference
+     * @since 1.6.0
+     */
+    default boolean isNested() {
+        return getPath().contains(".");
+    }
+
     /**
      * type handler
      * @return type handler
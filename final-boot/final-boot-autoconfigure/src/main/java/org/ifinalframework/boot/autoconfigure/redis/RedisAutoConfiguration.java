@@ -17,16 +17,19 @@ package org.ifinalframework.boot.autoconfigure.redis;
 
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 import org.ifinalframework.data.redis.ObjectStringJsonRedisTemplate;
+import org.ifinalframework.data.redis.RedisLock;
 import org.ifinalframework.data.redis.RedisRegistry;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @see org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration
  * @since 1.0.0
  */
@@ -48,4 +51,23 @@ public class RedisAutoConfiguration {
         return template;
     }
 
+    /**
+     * subscribe the unlock notification of {@link RedisLock} unless {@code final.redis.lock.subscribe=false},
+     * so the lock waiters wake up once the lock released, otherwise the waiters poll the lock.
+     *
+     * @param redisConnectionFactory redis connection factory
+     * @return the listener container
+     * @since 1.6.0
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "final.redis.lock", name = "subscribe", havingValue = "true", matchIfMissing = true)
+    @ConditionalOnMissingBean(name = "redisLockMessageListenerContainer")
+    public RedisMessageListenerContainer redisLockMessageListenerContainer(
+            RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        RedisLock.getInstance().subscribe(container);
+        return container;
+    }
+
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.benchmark;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import org.ifinalframework.data.benchmark.entity.NarrowEntityMapper;
+
+import org.mybatis.spring.annotation.MapperScan;
+
+/**
+ * The application of the end-to-end benchmarks, which runs the mappers against an embedded H2 database.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.ifinalframework.data.benchmark.mybatis.MapperBenchmark
+ * @since 1.6.0
+ */
+@SpringBootApplication(scanBasePackages = {"org.ifinalframework.data.benchmark", "org.ifinalframework.data.mybatis"})
+@MapperScan(basePackageClasses = NarrowEntityMapper.class)
+public class BenchmarkApplication {
+
+    public static ConfigurableApplicationContext run(String... args) {
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args);
+    }
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.util.Optional;
+
+/**
+ * The main class of {@code benchmarks.jar}, which accepts the same arguments as {@link org.openjdk.jmh.Main} and
+ * writes the results into {@code jmh/final-data-${version}.json} when no result file is specified, so the results of
+ * different versions can be published and compared, e.g. by <a href="https://jmh.morethan.io">JMH Visualizer</a>.
+ *
+ * <pre class="code">
+ * mvn -P benchmark -pl final-data-benchmark -am package -DskipTests
+ * java -jar final-data-benchmark/target/benchmarks.jar [regexp] [jmh options]
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public final class Benchmarks {
+
+    private static final String RESULT_DIR = "jmh";
+
+    private Benchmarks() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        final CommandLineOptions options = new CommandLineOptions(args);
+        if (options.shouldHelp() || options.shouldList() || options.shouldListProfilers()
+                || options.shouldListResultFormats() || options.shouldListWithParams()) {
+            org.openjdk.jmh.Main.main(args);
+            return;
+        }
+
+        final ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+        if (!options.getResult().hasValue()) {
+            final String version = Optional.ofNullable(Benchmarks.class.getPackage().getImplementationVersion())
+                    .orElse("SNAPSHOT");
+            new File(RESULT_DIR).mkdirs();
+            builder.resultFormat(options.getResultFormat().orElse(ResultFormatType.JSON))
+                    .result(RESULT_DIR + File.separator + "final-data-" + version + ".json");
+        }
+
+        new Runner(builder.build()).run();
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.benchmark.cache;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.cache.annotation.Cache;
+import org.ifinalframework.cache.annotation.Cacheable;
+import org.ifinalframework.data.cache.CacheAnnotationPointAdvisor;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the per-call overhead of {@link Cacheable} on a cache hit, which is the cost of the interceptor,
+ * the expression evaluation and the handler dispatch, with an in-memory {@link Cache} instead of redis.
+ *
+ * <ul>
+ *     <li>{@code direct}: call the target without proxy.</li>
+ *     <li>{@code hit}: call the {@link Cacheable} method which always hits the cache.</li>
+ * </ul>
+ *
+ * <pre class="code">
+ * java -jar final-data-benchmark/target/benchmarks.jar CacheableBenchmark
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class CacheableBenchmark {
+
+    private UserService target;
+
+    private UserService proxy;
+
+    @Setup
+    public void setup() {
+        // the same as logging.level.root of application.yml
+        LoggingSystem.get(getClass().getClassLoader()).setLogLevel(LoggingSystem.ROOT_LOGGER_NAME, LogLevel.WARN);
+
+        target = new UserService();
+        final ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAdvisor(new InMemoryCacheAdvisor(new InMemoryCache()));
+        proxy = (UserService) factory.getProxy();
+        // load the value into the cache
+        proxy.find(1L);
+    }
+
+    @Benchmark
+    public String direct() {
+        return target.find(1L);
+    }
+
+    @Benchmark
+    public String hit() {
+        return proxy.find(1L);
+    }
+
+    public static class UserService {
+
+        @Cacheable(key = "user:#{#id}")
+        public String find(final Long id) {
+            return "user" + id;
+        }
+
+    }
+
+    private static final class InMemoryCacheAdvisor extends CacheAnnotationPointAdvisor {
+
+        private final Cache cache;
+
+        private InMemoryCacheAdvisor(final Cache cache) {
+            this.cache = cache;
+        }
+
+        @Override
+        @NonNull
+        protected Cache getExecutor(final AnnotationAttributes annotation) {
+            return cache;
+        }
+
+    }
+
+    private static final class InMemoryCache implements Cache {
+
+        private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+        @Override
+        public boolean lock(final @NonNull Object key, final @NonNull Object value, final @Nullable Long ttl,
+                            final @NonNull TimeUnit timeUnit) {
+            return values.putIfAbsent(key, value) == null;
+        }
+
+        @Override
+        public boolean unlock(final @NonNull Object key, final @NonNull Object value) {
+            return values.remove(key, value);
+        }
+
+        @Override
+        public boolean isExists(final @NonNull Object key, final @Nullable Object field) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public boolean expire(final @NonNull Object key, final long ttl, final @NonNull TimeUnit timeUnit) {
+            return values.containsKey(key);
+        }
+
+        @Override
+        public void set(final @NonNull Object key, final @Nullable Object field, final @Nullable Object value,
+                        final @Nullable Long ttl, final @NonNull TimeUnit timeUnit, final @Nullable Class<?> view) {
+            values.put(key, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(final @NonNull Object key, final @Nullable Object field, final @NonNull Type type,
+                         final @Nullable Class<?> view) {
+            return (T) values.get(key);
+        }
+
+        @Override
+        public Long increment(final @NonNull Object key, final @Nullable Object field, final @NonNull Long value) {
+            return (Long) values.merge(key, value, (a, b) -> (Long) a + (Long) b);
+        }
+
+        @Override
+        public Double increment(final @NonNull Object key, final @Nullable Object field, final @NonNull Double value) {
+            return (Double) values.merge(key, value, (a, b) -> (Double) a + (Double) b);
+        }
+
+        @Override
+        public Boolean del(final @NonNull Object key, final @Nullable Object field) {
+            return values.remove(key) != null;
+        }
+
+    }
+
+}
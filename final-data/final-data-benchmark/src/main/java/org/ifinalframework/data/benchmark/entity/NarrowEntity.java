@@ -0,0 +1,38 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.benchmark.entity;
+
+import org.ifinalframework.data.annotation.AbsEntity;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A narrow entity with a few columns.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Setter
+@Getter
+public class NarrowEntity extends AbsEntity {
+
+    private String name;
+
+    private Integer age;
+
+}
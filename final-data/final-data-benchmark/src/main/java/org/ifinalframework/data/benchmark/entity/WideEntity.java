@@ -0,0 +1,105 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.benchmark.entity;
+
+import org.ifinalframework.data.annotation.AbsEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * A wide entity with about forty columns.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Setter
+@Getter
+public class WideEntity extends AbsEntity {
+
+    private String text01;
+
+    private String text02;
+
+    private String text03;
+
+    private String text04;
+
+    private String text05;
+
+    private String text06;
+
+    private String text07;
+
+    private String text08;
+
+    private String text09;
+
+    private String text10;
+
+    private String text11;
+
+    private String text12;
+
+    private Integer number01;
+
+    private Integer number02;
+
+    private Integer number03;
+
+    private Integer number04;
+
+    private Integer number05;
+
+    private Integer number06;
+
+    private Integer number07;
+
+    private Integer number08;
+
+    private Integer number09;
+
+    private Integer number10;
+
+    private Integer number11;
+
+    private Integer number12;
+
+    private BigDecimal amount1;
+
+    private BigDecimal amount2;
+
+    private BigDecimal amount3;
+
+    private BigDecimal amount4;
+
+    private BigDecimal amount5;
+
+    private BigDecimal amount6;
+
+    private LocalDateTime time1;
+
+    private LocalDateTime time2;
+
+    private LocalDateTime time3;
+
+    private LocalDateTime time4;
+
+}
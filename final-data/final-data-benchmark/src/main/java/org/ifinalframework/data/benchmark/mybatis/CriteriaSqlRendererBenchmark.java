@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.ifinalframework.data.benchmark.mybatis;
+
+import org.ifinalframework.data.benchmark.entity.NarrowEntity;
+import org.ifinalframework.data.benchmark.query.NarrowQuery;
+import org.ifinalframework.data.mybatis.sql.CriteriaSqlRenderer;
+import org.ifinalframework.data.query.Criteria;
+import org.ifinalframework.data.query.Criterion;
+import org.ifinalframework.data.query.CriterionTarget;
+import org.ifinalframework.data.query.sql.DefaultQueryProvider;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
+import org.apache.ibatis.session.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of binding the dynamic {@link Criteria} of a query with 24 conditions.
+ *
+ * <ul>
+ *     <li>{@code xml}: the {@code <where>} XML of {@link DefaultQueryProvider}, parsed once, bound by the MyBatis
+ *     dynamic sql with OGNL.</li>
+ *     <li>{@code direct}: rendered by {@link CriteriaSqlRenderer} into a {@link org.apache.ibatis.builder.StaticSqlSource}.</li>
+ * </ul>
+ *
+ * <pre class="code">
+ * java -jar final-data-benchmark/target/benchmarks.jar CriteriaSqlRendererBenchmark
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class CriteriaSqlRendererBenchmark {
+
+    private static final int CONDITIONS = 24;
+
+    private NarrowQuery query;
+
+    private Map<String, Object> parameters;
+
+    private SqlSource xml;
+
+    private CriteriaSqlRenderer renderer;
+
+    @Setup
+    public void setup() {
+        final List<Criterion> criteria = new ArrayList<>(CONDITIONS);
+        for (int i = 0; i < CONDITIONS / 4; i++) {
+            criteria.add(CriterionTarget.from("name").eq("name" + i));
+            criteria.add(CriterionTarget.from("age").between(i, i + 10));
+            criteria.add(CriterionTarget.from("id").in(Arrays.asList(1L, 2L, 3L)));
+            criteria.add(Criteria.or(CriterionTarget.from("name").contains("key" + i),
+                    CriterionTarget.from("age").gt(i)));
+        }
+        query = new NarrowQuery();
+        query.where(criteria);
+        parameters = Collections.singletonMap("query", query);
+
+        final Configuration configuration = new Configuration();
+        final String where = new DefaultQueryProvider("query", NarrowEntity.class, query).where();
+        xml = new XMLLanguageDriver().createSqlSource(configuration, "<script>" + where + "</script>", Map.class);
+        renderer = new CriteriaSqlRenderer(configuration);
+    }
+
+    @Benchmark
+    public BoundSql xml() {
+        return xml.getBoundSql(parameters);
+    }
+
+    @Benchmark
+    public BoundSql direct() {
+        return renderer.render(query.getCriteria()).getBoundSql();
+    }
+
+}
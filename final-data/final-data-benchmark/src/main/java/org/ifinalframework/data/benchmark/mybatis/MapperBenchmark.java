@@ -0,0 +1,135 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.benchmark.mybatis;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import org.ifinalframework.data.benchmark.BenchmarkApplication;
+import org.ifinalframework.data.benchmark.entity.NarrowEntity;
+import org.ifinalframework.data.benchmark.entity.NarrowEntityMapper;
+import org.ifinalframework.data.benchmark.query.NarrowQuery;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmark of the {@link org.ifinalframework.data.mybatis.mapper.AbsMapper} against an embedded H2 database,
+ * from the mapper method to the mapped entities, including the interceptors, the sql providers and the result mapping.
+ *
+ * <pre class="code">
+ * java -jar final-data-benchmark/target/benchmarks.jar MapperBenchmark
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see BenchmarkApplication
+ * @since 1.6.0
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class MapperBenchmark {
+
+    /**
+     * the rows of the table before each iteration, and the rows of {@link #select()} and {@link #insertBatch()}.
+     */
+    @Param({"100"})
+    private int rows;
+
+    private ConfigurableApplicationContext context;
+
+    private NarrowEntityMapper mapper;
+
+    private NarrowQuery query;
+
+    private long[] ids;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = BenchmarkApplication.run();
+        mapper = context.getBean(NarrowEntityMapper.class);
+        query = new NarrowQuery();
+        query.setPage(null);
+        query.setSize(null);
+    }
+
+    @Setup(Level.Iteration)
+    public void reset() {
+        mapper.truncate();
+        final List<NarrowEntity> entities = entities();
+        mapper.insert(entities);
+        ids = entities.stream().mapToLong(NarrowEntity::getId).toArray();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public NarrowEntity selectOne() {
+        return mapper.selectOne(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    @Benchmark
+    public List<NarrowEntity> select() {
+        return mapper.select(query);
+    }
+
+    @Benchmark
+    public int insert() {
+        final NarrowEntity entity = new NarrowEntity();
+        entity.setName("name");
+        entity.setAge(18);
+        return mapper.insert(entity);
+    }
+
+    @Benchmark
+    public int insertBatch() {
+        return mapper.insert(entities());
+    }
+
+    private List<NarrowEntity> entities() {
+        final List<NarrowEntity> entities = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            final NarrowEntity entity = new NarrowEntity();
+            entity.setName("name" + i);
+            entity.setAge(i);
+            entities.add(entity);
+        }
+        return entities;
+    }
+
+}
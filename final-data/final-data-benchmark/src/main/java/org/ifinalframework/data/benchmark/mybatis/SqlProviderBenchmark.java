@@ -0,0 +1,217 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.benchmark.mybatis;
+
+import org.springframework.util.ReflectionUtils;
+
+import org.ifinalframework.core.ParamsBuilder;
+import org.ifinalframework.data.benchmark.entity.NarrowEntity;
+import org.ifinalframework.data.benchmark.entity.NarrowEntityMapper;
+import org.ifinalframework.data.benchmark.entity.WideEntity;
+import org.ifinalframework.data.benchmark.entity.WideEntityMapper;
+import org.ifinalframework.data.mybatis.mapper.AbsMapper;
+import org.ifinalframework.data.mybatis.reflection.FinalObjectWrapperFactory;
+import org.ifinalframework.data.mybatis.reflection.factory.ObjectFactoryWrapper;
+import org.ifinalframework.data.mybatis.scripting.CachedXMLLanguageDriver;
+import org.ifinalframework.data.mybatis.spi.ColumnsParameterConsumer;
+import org.ifinalframework.data.mybatis.spi.EntityClassParameterConsumer;
+import org.ifinalframework.data.mybatis.spi.MapParameterConsumer;
+import org.ifinalframework.data.mybatis.spi.TableParameterConsumer;
+import org.ifinalframework.data.mybatis.sql.ScriptTemplateCache;
+import org.ifinalframework.data.query.DefaultQEntityFactory;
+
+import org.apache.ibatis.annotations.DeleteProvider;
+import org.apache.ibatis.annotations.InsertProvider;
+import org.apache.ibatis.annotations.SelectProvider;
+import org.apache.ibatis.annotations.UpdateProvider;
+import org.apache.ibatis.builder.annotation.ProviderSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.reflection.factory.DefaultObjectFactory;
+import org.apache.ibatis.session.Configuration;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of the {@link AbsMapper} sql providers, from the parameters to the {@link BoundSql}.
+ *
+ * <ul>
+ *     <li>{@code cold}: the {@link ScriptTemplateCache} and the {@link CachedXMLLanguageDriver} are cleared before
+ *     every invocation, which is the cost of building and parsing the script every time.</li>
+ *     <li>{@code warm}: the script and the parsed {@link org.apache.ibatis.mapping.SqlSource} are cached, only the
+ *     parameters are bound.</li>
+ * </ul>
+ *
+ * <pre class="code">
+ * mvn -P benchmark -pl final-data-benchmark -am package -DskipTests
+ * java -jar final-data-benchmark/target/benchmarks.jar SqlProviderBenchmark
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class SqlProviderBenchmark {
+
+    private static final List<MapParameterConsumer> PARAMETER_CONSUMERS = Arrays.asList(
+            new EntityClassParameterConsumer(), new TableParameterConsumer(), new ColumnsParameterConsumer()
+    );
+
+    /**
+     * the width of the entity, {@code narrow} has 7 columns and {@code wide} has 39 columns.
+     */
+    @Param({"narrow", "wide"})
+    private String width;
+
+    private Class<? extends AbsMapper<Long, ?>> mapper;
+
+    private Object entity;
+
+    private CachedXMLLanguageDriver languageDriver;
+
+    private ProviderSqlSource insert;
+
+    private ProviderSqlSource update;
+
+    private ProviderSqlSource select;
+
+    private ProviderSqlSource selectCount;
+
+    private ProviderSqlSource delete;
+
+    @Setup
+    public void setup() {
+        if ("wide".equals(width)) {
+            mapper = WideEntityMapper.class;
+            entity = new WideEntity();
+        } else {
+            mapper = NarrowEntityMapper.class;
+            entity = new NarrowEntity();
+        }
+
+        final Configuration configuration = new Configuration();
+        configuration.setObjectWrapperFactory(new FinalObjectWrapperFactory());
+        configuration.setObjectFactory(new ObjectFactoryWrapper(new DefaultObjectFactory()));
+        languageDriver = (CachedXMLLanguageDriver) configuration.getLanguageDriver(CachedXMLLanguageDriver.class);
+
+        insert = sqlSource(configuration, "insert", InsertProvider.class);
+        update = sqlSource(configuration, "update", UpdateProvider.class);
+        select = sqlSource(configuration, "select", SelectProvider.class);
+        selectCount = sqlSource(configuration, "selectCount", SelectProvider.class);
+        delete = sqlSource(configuration, "delete", DeleteProvider.class);
+    }
+
+    @Benchmark
+    public BoundSql insertCold() {
+        clear();
+        return insertWarm();
+    }
+
+    @Benchmark
+    public BoundSql insertWarm() {
+        return insert.getBoundSql(parameters("insert", ParamsBuilder.builder().list(Collections.singletonList(entity))));
+    }
+
+    @Benchmark
+    public BoundSql updateCold() {
+        clear();
+        return updateWarm();
+    }
+
+    @Benchmark
+    public BoundSql updateWarm() {
+        return update.getBoundSql(parameters("update", ParamsBuilder.builder().update(entity).selective(false)
+                .ids(Collections.singletonList(1L))));
+    }
+
+    @Benchmark
+    public BoundSql selectCold() {
+        clear();
+        return selectWarm();
+    }
+
+    @Benchmark
+    public BoundSql selectWarm() {
+        return select.getBoundSql(parameters("select", ParamsBuilder.builder().ids(Arrays.asList(1L, 2L, 3L))));
+    }
+
+    @Benchmark
+    public BoundSql selectCountCold() {
+        clear();
+        return selectCountWarm();
+    }
+
+    @Benchmark
+    public BoundSql selectCountWarm() {
+        return selectCount.getBoundSql(parameters("selectCount", ParamsBuilder.builder().ids(Arrays.asList(1L, 2L, 3L))));
+    }
+
+    @Benchmark
+    public BoundSql deleteCold() {
+        clear();
+        return deleteWarm();
+    }
+
+    @Benchmark
+    public BoundSql deleteWarm() {
+        return delete.getBoundSql(parameters("delete", ParamsBuilder.builder().ids(Arrays.asList(1L, 2L, 3L))));
+    }
+
+    private void clear() {
+        ScriptTemplateCache.clear();
+        languageDriver.clear();
+    }
+
+    private Map<String, Object> parameters(String name, ParamsBuilder<?, ?> builder) {
+        final Map<String, Object> parameters = builder.build();
+        final Method method = ReflectionUtils.findMethod(mapper, name, Map.class);
+        for (MapParameterConsumer consumer : PARAMETER_CONSUMERS) {
+            consumer.accept(parameters, mapper, method);
+        }
+        // injected by ParameterInjectionInterceptor
+        parameters.put("properties", DefaultQEntityFactory.INSTANCE.create(entity.getClass()));
+        return parameters;
+    }
+
+    private ProviderSqlSource sqlSource(Configuration configuration, String name,
+                                        Class<? extends Annotation> provider) {
+        final Method method = ReflectionUtils.findMethod(mapper, name, Map.class);
+        return new ProviderSqlSource(configuration, method.getAnnotation(provider), mapper, method);
+    }
+
+}
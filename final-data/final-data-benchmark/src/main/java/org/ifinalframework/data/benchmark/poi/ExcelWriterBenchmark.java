@@ -0,0 +1,183 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.ifinalframework.data.benchmark.poi;
+
+import org.ifinalframework.poi.Excels;
+import org.ifinalframework.poi.WorkbookWriter;
+import org.ifinalframework.poi.model.Cell;
+import org.ifinalframework.poi.model.Excel;
+import org.ifinalframework.poi.model.Row;
+import org.ifinalframework.poi.model.Sheet;
+import org.ifinalframework.poi.model.Version;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Benchmark of appending rows to a streaming {@link WorkbookWriter}, the score is rows per second.
+ *
+ * <p>The sheet has 10 columns: 9 simple properties such as {@code #{name}} and a formula
+ * {@code =D#{#cell.rowIndex + 1}*E#{#cell.rowIndex + 1}} which needs the {@code #cell} variable.</p>
+ *
+ * <ul>
+ *     <li>{@code bean}: the rows are java beans.</li>
+ *     <li>{@code map}: the rows are maps.</li>
+ * </ul>
+ *
+ * <pre class="code">
+ * java -jar final-data-benchmark/target/benchmarks.jar ExcelWriterBenchmark
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Fork(1)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ExcelWriterBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private static final String[] PROPERTIES = {"id", "name", "category", "price", "quantity", "createdAt", "enabled",
+        "remark", "code"};
+
+    private Excel excel;
+
+    private List<Order> beans;
+
+    private List<Map<String, Object>> maps;
+
+    private WorkbookWriter writer;
+
+    @Setup
+    public void setup() {
+        final List<Cell> headers = new ArrayList<>();
+        final List<Cell> cells = new ArrayList<>();
+        for (String property : PROPERTIES) {
+            headers.add(new Cell(property));
+            cells.add(new Cell("#{" + property + "}"));
+        }
+        headers.add(new Cell("amount"));
+        cells.add(new Cell("=D#{#cell.rowIndex + 1}*E#{#cell.rowIndex + 1}"));
+
+        final Sheet sheet = new Sheet();
+        sheet.setName("orders");
+        sheet.setHeaders(Collections.singletonList(new Row(headers)));
+        sheet.setBody(new Row(cells));
+
+        excel = new Excel();
+        excel.setVersion(Version.XLSX);
+        excel.setSheets(Collections.singletonList(sheet));
+
+        beans = new ArrayList<>(ROWS);
+        maps = new ArrayList<>(ROWS);
+        final Date now = new Date();
+        for (long i = 0; i < ROWS; i++) {
+            final Order order = new Order(i, "order" + i, "category" + i % 10, i * 1.5D, (int) i % 100, now,
+                    i % 2 == 0, "remark of order " + i, "NO." + i);
+            beans.add(order);
+
+            final Map<String, Object> map = new LinkedHashMap<>();
+            map.put("id", order.getId());
+            map.put("name", order.getName());
+            map.put("category", order.getCategory());
+            map.put("price", order.getPrice());
+            map.put("quantity", order.getQuantity());
+            map.put("createdAt", order.getCreatedAt());
+            map.put("enabled", order.getEnabled());
+            map.put("remark", order.getRemark());
+            map.put("code", order.getCode());
+            maps.add(map);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void newWriter() {
+        writer = Excels.newStreamingWriter(excel, null);
+    }
+
+    @TearDown(Level.Iteration)
+    public void write() throws IOException {
+        // dispose the temp files
+        writer.write(OutputStream.nullOutputStream());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public WorkbookWriter bean() {
+        return writer.append(beans);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public WorkbookWriter map() {
+        return writer.append(maps);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Order {
+
+        private Long id;
+
+        private String name;
+
+        private String category;
+
+        private Double price;
+
+        private Integer quantity;
+
+        private Date createdAt;
+
+        private Boolean enabled;
+
+        private String remark;
+
+        private String code;
+
+    }
+
+}
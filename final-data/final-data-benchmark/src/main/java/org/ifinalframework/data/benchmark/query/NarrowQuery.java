@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.benchmark.query;
+
+import org.ifinalframework.data.annotation.criterion.Equal;
+import org.ifinalframework.data.annotation.criterion.GreatThanEqual;
+import org.ifinalframework.data.annotation.criterion.In;
+import org.ifinalframework.data.annotation.criterion.LessThan;
+import org.ifinalframework.data.annotation.criterion.Like;
+import org.ifinalframework.data.query.PageQuery;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The query of {@link org.ifinalframework.data.benchmark.entity.NarrowEntity}.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Setter
+@Getter
+public class NarrowQuery extends PageQuery {
+
+    @In(property = "id")
+    private List<Long> ids;
+
+    @Equal
+    private String name;
+
+    @Like(property = "name")
+    private String keyword;
+
+    @GreatThanEqual(property = "age")
+    private Integer minAge;
+
+    @LessThan(property = "age")
+    private Integer maxAge;
+
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.benchmark.query;
+
+import org.ifinalframework.data.benchmark.entity.NarrowEntity;
+import org.ifinalframework.data.benchmark.entity.WideEntity;
+import org.ifinalframework.data.query.AbsQEntity;
+import org.ifinalframework.data.query.DefaultQEntityFactory;
+import org.ifinalframework.data.query.QEntity;
+import org.ifinalframework.data.query.QProperty;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of {@link QEntity}.
+ *
+ * <ul>
+ *     <li>{@code create}: resolve the metadata of the entity class, which is what
+ *     {@link DefaultQEntityFactory} does at the first call.</li>
+ *     <li>{@code cached}: get the entity from {@link DefaultQEntityFactory#INSTANCE}.</li>
+ *     <li>{@code writeableStream}: filter the writeable properties from the stream of all the properties.</li>
+ *     <li>{@code writeable}: iterate the precomputed {@link QEntity#getWriteableProperties() writeable properties},
+ *     which every insert provider does.</li>
+ * </ul>
+ *
+ * <pre class="code">
+ * java -jar final-data-benchmark/target/benchmarks.jar QEntityBenchmark
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class QEntityBenchmark {
+
+    /**
+     * the width of the entity, {@code narrow} has 7 columns and {@code wide} has 39 columns.
+     */
+    @Param({"narrow", "wide"})
+    private String width;
+
+    private Class<?> entityClass;
+
+    private QEntity<?, ?> entity;
+
+    @Setup
+    public void setup() {
+        entityClass = "wide".equals(width) ? WideEntity.class : NarrowEntity.class;
+        entity = DefaultQEntityFactory.INSTANCE.create(entityClass);
+    }
+
+    @Benchmark
+    public QEntity<?, ?> create() {
+        return new AbsQEntity<>(entityClass);
+    }
+
+    @Benchmark
+    public QEntity<?, ?> cached() {
+        return DefaultQEntityFactory.INSTANCE.create(entityClass);
+    }
+
+    @Benchmark
+    public void writeableStream(Blackhole blackhole) {
+        entity.stream()
+                .filter(QProperty::isWriteable)
+                .forEach(property -> blackhole.consume(property.getColumn()));
+    }
+
+    @Benchmark
+    public void writeable(Blackhole blackhole) {
+        for (QProperty<?> property : entity.getWriteableProperties()) {
+            blackhole.consume(property.getColumn());
+        }
+    }
+
+}
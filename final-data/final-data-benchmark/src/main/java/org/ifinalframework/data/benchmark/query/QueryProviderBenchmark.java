@@ -0,0 +1,114 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.benchmark.query;
+
+import org.ifinalframework.data.benchmark.entity.NarrowEntity;
+import org.ifinalframework.data.benchmark.entity.WideEntity;
+import org.ifinalframework.data.query.Criteria;
+import org.ifinalframework.data.query.Criterion;
+import org.ifinalframework.data.query.CriterionTarget;
+import org.ifinalframework.data.query.sql.DefaultQueryProvider;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of rendering the {@code where} script of a query by {@link DefaultQueryProvider}.
+ *
+ * <ul>
+ *     <li>{@code annotated}: the {@link org.ifinalframework.data.annotation.criterion.Criterion} annotated fields
+ *     of {@link NarrowQuery}.</li>
+ *     <li>{@code criteria}: the dynamic {@link Criterion criteria} of the query, including a nested {@code OR}.</li>
+ *     <li>{@code wide}: the 20 annotated fields of {@link WideQuery}.</li>
+ * </ul>
+ *
+ * <pre class="code">
+ * java -jar final-data-benchmark/target/benchmarks.jar QueryProviderBenchmark
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class QueryProviderBenchmark {
+
+    private NarrowQuery annotated;
+
+    private NarrowQuery criteria;
+
+    private WideQuery wide;
+
+    @Setup
+    public void setup() {
+        annotated = new NarrowQuery();
+        annotated.setIds(Arrays.asList(1L, 2L, 3L));
+        annotated.setName("name");
+        annotated.setKeyword("key");
+        annotated.setMinAge(10);
+        annotated.setMaxAge(20);
+
+        criteria = new NarrowQuery();
+        criteria.where(
+                CriterionTarget.from("name").eq("name"),
+                CriterionTarget.from("age").between(10, 20),
+                Criteria.or(CriterionTarget.from("id").in(Arrays.asList(1L, 2L, 3L)),
+                        CriterionTarget.from("name").contains("key"))
+        );
+
+        wide = new WideQuery();
+        wide.setIds(Arrays.asList(1L, 2L, 3L));
+        wide.setText01("text");
+        wide.setKeyword03("key");
+        wide.setNumber01(1);
+        wide.setMinNumber04(10);
+        wide.setMaxNumber04(20);
+        wide.setMinAmount1(BigDecimal.ONE);
+    }
+
+    @Benchmark
+    public String annotated() {
+        return new DefaultQueryProvider("query", NarrowEntity.class, annotated).where();
+    }
+
+    @Benchmark
+    public String criteria() {
+        return new DefaultQueryProvider("query", NarrowEntity.class, criteria).where();
+    }
+
+    @Benchmark
+    public String wide() {
+        return new DefaultQueryProvider("query", WideEntity.class, wide).where();
+    }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.ifinalframework.data.benchmark.query;
+
+import org.ifinalframework.data.annotation.criterion.Contains;
+import org.ifinalframework.data.annotation.criterion.Equal;
+import org.ifinalframework.data.annotation.criterion.GreatThanEqual;
+import org.ifinalframework.data.annotation.criterion.In;
+import org.ifinalframework.data.annotation.criterion.LessThan;
+import org.ifinalframework.data.annotation.criterion.NotEqual;
+import org.ifinalframework.data.annotation.criterion.StartsWith;
+import org.ifinalframework.data.query.PageQuery;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * The query of {@link org.ifinalframework.data.benchmark.entity.WideEntity} with 20 criterion fields.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@Setter
+@Getter
+public class WideQuery extends PageQuery {
+
+    @In(property = "id")
+    private List<Long> ids;
+
+    @Equal
+    private String text01;
+
+    @Equal
+    private String text02;
+
+    @Contains(property = "text03")
+    private String keyword03;
+
+    @Contains(property = "text04")
+    private String keyword04;
+
+    @StartsWith(property = "text05")
+    private String prefix05;
+
+    @NotEqual(property = "text06")
+    private String exclude06;
+
+    @Equal
+    private Integer number01;
+
+    @Equal
+    private Integer number02;
+
+    @In(property = "number03")
+    private List<Integer> number03s;
+
+    @GreatThanEqual(property = "number04")
+    private Integer minNumber04;
+
+    @LessThan(property = "number04")
+    private Integer maxNumber04;
+
+    @GreatThanEqual(property = "number05")
+    private Integer minNumber05;
+
+    @LessThan(property = "number05")
+    private Integer maxNumber05;
+
+    @GreatThanEqual(property = "amount1")
+    private BigDecimal minAmount1;
+
+    @LessThan(property = "amount1")
+    private BigDecimal maxAmount1;
+
+    @Equal
+    private BigDecimal amount2;
+
+    @GreatThanEqual(property = "time1")
+    private LocalDateTime minTime1;
+
+    @LessThan(property = "time1")
+    private LocalDateTime maxTime1;
+
+    @Equal
+    private LocalDateTime time2;
+
+}
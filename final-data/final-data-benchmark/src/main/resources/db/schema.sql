@@ -0,0 +1,28 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+DROP TABLE IF EXISTS narrow_entity;
+
+CREATE TABLE narrow_entity
+(
+    id            BIGINT(20)  NOT NULL AUTO_INCREMENT COMMENT '流水号',
+    name          VARCHAR(30) NULL     DEFAULT NULL COMMENT 'name',
+    age           INT(11)     NULL     DEFAULT NULL COMMENT '年龄',
+    version       INT(11)     NOT NULL DEFAULT 1 COMMENT '版本',
+    created       DATETIME    NOT NULL DEFAULT NOW() COMMENT 'created',
+    last_modified DATETIME    NULL     DEFAULT NULL COMMENT 'last_modified',
+    yn            TINYINT     NOT NULL DEFAULT 1,
+    PRIMARY KEY (id)
+);
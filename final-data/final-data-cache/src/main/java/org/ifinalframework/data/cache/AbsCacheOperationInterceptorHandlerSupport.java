@@ -15,32 +15,54 @@
 
 package org.ifinalframework.data.cache;
 
+import org.springframework.beans.BeanUtils;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.util.StringUtils;
 
+import org.ifinalframework.aop.InvocationContext;
 import org.ifinalframework.aop.interceptor.AbsOperationInterceptorHandlerSupport;
+import org.ifinalframework.cache.annotation.Cache;
 import org.ifinalframework.cache.annotation.CacheLock;
 import org.ifinalframework.cache.annotation.CachePut;
+import org.ifinalframework.cache.annotation.CacheValueCodec;
 import org.ifinalframework.cache.annotation.Cacheable;
 import org.ifinalframework.context.expression.MethodMetadata;
+import org.ifinalframework.core.aop.JoinPoint;
 import org.ifinalframework.data.cache.interceptor.DefaultCacheExpressionEvaluator;
 import org.ifinalframework.util.Asserts;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public class AbsCacheOperationInterceptorHandlerSupport extends AbsOperationInterceptorHandlerSupport
         implements CacheOperationHandlerSupport {
 
+    private static final Map<Class<?>, CacheValueCodec> CODECS = new ConcurrentHashMap<>();
+
+    private static final Map<Class<?>, Logger> LOGGERS = new ConcurrentHashMap<>();
+
+    /**
+     * the attribute name of the condition results of an invocation.
+     */
+    private static final String CONDITIONS_ATTRIBUTE = "cache.conditions";
+
     private final CacheExpressionEvaluator evaluator;
 
-    private Boolean conditionPassing;
+    @Nullable
+    private CacheWritePipeline writePipeline;
 
     public AbsCacheOperationInterceptorHandlerSupport() {
         this(new DefaultCacheExpressionEvaluator());
@@ -88,6 +110,56 @@ public class AbsCacheOperationInterceptorHandlerSupport extends AbsOperationInte
         return annotationAttributes.getEnum("timeunit");
     }
 
+    /**
+     * @param annotationAttributes annotationAttributes
+     * @return the codec, or {@code null} to use the default codec of the cache.
+     * @see Cacheable#codec()
+     * @see CachePut#codec()
+     * @since 1.6.0
+     */
+    @Nullable
+    protected final CacheValueCodec getCodec(final AnnotationAttributes annotationAttributes) {
+
+        if (!annotationAttributes.containsKey("codec")) {
+            return null;
+        }
+        final Class<? extends CacheValueCodec> codec = annotationAttributes.getClass("codec");
+        if (CacheValueCodec.class.equals(codec)) {
+            return null;
+        }
+        return CODECS.computeIfAbsent(codec, it -> BeanUtils.instantiateClass(codec));
+    }
+
+    /**
+     * 设置缓存写缓冲，为 {@code null} 时写操作直接提交。
+     *
+     * @param writePipeline 缓存写缓冲
+     * @since 1.6.0
+     */
+    public void setWritePipeline(final @Nullable CacheWritePipeline writePipeline) {
+        this.writePipeline = writePipeline;
+    }
+
+    /**
+     * 返回用于写操作的缓存器，启用写缓冲时 {@link JoinPoint#AFTER} 和 {@link JoinPoint#AFTER_RETURNING} 的写操作
+     * 将在调用结束时统一提交，其它切点的写操作直接提交，以保证其在方法执行前后生效。
+     *
+     * @param cache   缓存器
+     * @param context 调用上下文
+     * @param point   写操作所在的切点
+     * @return 写缓存器
+     * @see CacheWritePipeline
+     * @since 1.6.0
+     */
+    @NonNull
+    protected final Cache writer(final @NonNull Cache cache, final @NonNull InvocationContext context,
+                                 final @Nullable JoinPoint point) {
+        if (writePipeline == null || (point != JoinPoint.AFTER && point != JoinPoint.AFTER_RETURNING)) {
+            return cache;
+        }
+        return writePipeline.buffer(cache, context);
+    }
+
     @Override
     public Object generateKey(@NonNull String[] keys, @NonNull String delimiter, @NonNull MethodMetadata metadata,
                               @NonNull EvaluationContext evaluationContext) {
@@ -124,24 +196,78 @@ public class AbsCacheOperationInterceptorHandlerSupport extends AbsOperationInte
     public boolean isConditionPassing(final String condition, final MethodMetadata metadata,
                                       final EvaluationContext evaluationContext) {
 
-        if (this.conditionPassing == null) {
-            if (StringUtils.hasText(condition)) {
-                this.conditionPassing = evaluator.condition(condition, metadata.getMethodKey(), evaluationContext);
-            } else {
-                this.conditionPassing = true;
-            }
+        if (StringUtils.hasText(condition)) {
+            return evaluator.condition(condition, metadata.getMethodKey(), evaluationContext);
+        }
+        return true;
+    }
+
+    /**
+     * 判断条件是否满足，结果缓存在调用上下文中，同一次调用中相同的 {@code result} 和 {@code throwable} 不会重复计算，
+     * 无条件时不会创建 {@link EvaluationContext}。
+     *
+     * @param context   调用上下文
+     * @param condition 条件表达式
+     * @param result    方法返回值
+     * @param throwable 方法异常
+     * @return 条件是否满足
+     * @since 1.6.0
+     */
+    protected final boolean isConditionPassing(final @NonNull InvocationContext context, final String condition,
+                                               final @Nullable Object result, final @Nullable Throwable throwable) {
+
+        if (!StringUtils.hasText(condition)) {
+            return true;
+        }
+
+        Map<String, Condition> conditions = context.getAttribute(CONDITIONS_ATTRIBUTE);
+        if (conditions == null) {
+            conditions = new HashMap<>(4);
+            context.addAttribute(CONDITIONS_ATTRIBUTE, conditions);
+        }
+        final Condition cached = conditions.get(condition);
+        if (cached != null && cached.result() == result && cached.throwable() == throwable) {
+            return cached.passing();
         }
-        return this.conditionPassing;
+        final boolean passing = isConditionPassing(condition, context.metadata(),
+                createEvaluationContext(context, result, throwable));
+        conditions.put(condition, new Condition(result, throwable, passing));
+        return passing;
+    }
+
+    /**
+     * discard the condition results together with the shared {@link EvaluationContext}, because the conditions may
+     * depend on the replaced arguments.
+     *
+     * @param context the invocation context
+     * @since 1.6.0
+     */
+    @Override
+    protected void resetEvaluationContext(final @NonNull InvocationContext context) {
+        super.resetEvaluationContext(context);
+        context.attributes().remove(CONDITIONS_ATTRIBUTE);
+    }
+
+    /**
+     * @param type the target class
+     * @return the cached logger of the target class.
+     * @since 1.6.0
+     */
+    protected final Logger getLogger(final @NonNull Class<?> type) {
+        return LOGGERS.computeIfAbsent(type, LoggerFactory::getLogger);
     }
 
     @Override
     public Object generateExpire(final String expire, final MethodMetadata metadata,
                                  final EvaluationContext evaluationContext) {
 
-        if (expire != null) {
+        if (StringUtils.hasText(expire)) {
             return evaluator.expired(expire, metadata.getMethodKey(), evaluationContext);
         }
         return null;
     }
 
+    private record Condition(Object result, Throwable throwable, boolean passing) {
+    }
+
 }
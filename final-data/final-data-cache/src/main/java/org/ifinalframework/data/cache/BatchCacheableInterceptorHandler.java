@@ -0,0 +1,271 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.cache;
+
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import org.ifinalframework.aop.InvocationContext;
+import org.ifinalframework.cache.annotation.BatchCacheable;
+import org.ifinalframework.cache.annotation.Cache;
+import org.ifinalframework.context.expression.MethodMetadata;
+import org.ifinalframework.core.aop.JoinPoint;
+
+import org.slf4j.Logger;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按集合参数的元素读写缓存，只以未命中的元素执行目标方法。
+ *
+ * <p>未命中时会替换 {@link InvocationContext#args()} 中的集合参数，并在执行之后还原。</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see BatchCacheable
+ * @see Cache#multiGet(List, List, Type, Class, org.ifinalframework.cache.annotation.CacheValueCodec)
+ * @see Cache#multiSet(List, List, List, Long, TimeUnit, Class, org.ifinalframework.cache.annotation.CacheValueCodec)
+ * @since 1.6.0
+ */
+@Component
+public class BatchCacheableInterceptorHandler extends AbsCacheOperationInterceptorHandlerSupport implements
+        CacheInterceptorHandler {
+
+    /**
+     * the variable of the element, which is only visible to the per-element expressions, the previous value is
+     * restored afterwards, so that it is not leaked into the expressions of the other annotations.
+     */
+    private static final String ITEM = "item";
+
+    private static final String SLOTS_ATTRIBUTE = "batchCacheable.slots";
+
+    private static final String HITS_ATTRIBUTE = "batchCacheable.hits";
+
+    private static final String IDS_ATTRIBUTE = "batchCacheable.ids";
+
+    private static final ParameterNameDiscoverer PARAMETER_NAME_DISCOVERER = new DefaultParameterNameDiscoverer();
+
+    private final Map<IndexKey, Integer> indexes = new ConcurrentHashMap<>();
+
+    @Override
+    public Object before(final @NonNull Cache cache, final @NonNull InvocationContext context,
+                         final @NonNull AnnotationAttributes annotation) {
+
+        final MethodMetadata metadata = context.metadata();
+        final int index = indexes.computeIfAbsent(new IndexKey(metadata.getMethod(), annotation.getString("ids")),
+                key -> indexOf(key.method(), key.name()));
+        if (!(context.args()[index] instanceof Collection<?> ids) || ids.isEmpty()) {
+            return null;
+        }
+
+        final Logger logger = getLogger(metadata.getTargetClass());
+        final EvaluationContext evaluationContext = createEvaluationContext(context, null, null);
+        final List<Object> elements = new ArrayList<>(ids);
+        final List<Slot> slots = new ArrayList<>(elements.size());
+        final Object previous = evaluationContext.lookupVariable(ITEM);
+        try {
+            for (Object element : elements) {
+                slots.add(slot(annotation, metadata, evaluationContext, element));
+            }
+        } finally {
+            evaluationContext.setVariable(ITEM, previous);
+        }
+        final List<Object> keys = new ArrayList<>(slots.size());
+        final List<Object> fields = hasField(annotation) ? new ArrayList<>(slots.size()) : null;
+        for (Slot slot : slots) {
+            keys.add(slot.key());
+            if (fields != null) {
+                fields.add(slot.field());
+            }
+        }
+
+        logger.debug("==> cache multi get: keys={},fields={}", keys, fields);
+        final List<Object> values = cache.multiGet(keys, fields, elementType(metadata), context.view(),
+                getCodec(annotation));
+
+        final Map<Slot, Object> hits = new HashMap<>();
+        final List<Object> missing = new ArrayList<>();
+        for (int i = 0; i < slots.size(); i++) {
+            final Object value = values.get(i);
+            if (Objects.nonNull(value)) {
+                hits.put(slots.get(i), value);
+            } else {
+                missing.add(elements.get(i));
+            }
+        }
+        logger.info("<== cache multi get: hits={},misses={}", hits.size(), missing.size());
+
+        if (missing.isEmpty()) {
+            return merge(metadata, slots, hits, Map.of());
+        }
+
+        context.addAttribute(SLOTS_ATTRIBUTE, slots);
+        context.addAttribute(HITS_ATTRIBUTE, hits);
+        context.addAttribute(IDS_ATTRIBUTE, ids);
+        context.args()[index] = ids instanceof Set ? new LinkedHashSet<>(missing) : missing;
+        resetEvaluationContext(context);
+        return null;
+    }
+
+    @Override
+    public void afterReturning(final @NonNull Cache cache, final @NonNull InvocationContext context,
+                               final @NonNull AnnotationAttributes annotation, final @Nullable Object result) {
+
+        final List<Slot> slots = context.getAttribute(SLOTS_ATTRIBUTE);
+        if (Objects.isNull(slots)) {
+            return;
+        }
+        final MethodMetadata metadata = context.metadata();
+        final Map<Slot, Object> loaded = new LinkedHashMap<>();
+        if (result instanceof Collection<?> items && !items.isEmpty()) {
+            final EvaluationContext evaluationContext = createEvaluationContext(context, result, null);
+            final Object previous = evaluationContext.lookupVariable(ITEM);
+            try {
+                for (Object item : items) {
+                    if (Objects.isNull(item)) {
+                        continue;
+                    }
+                    evaluationContext.setVariable(ITEM, item);
+                    final Object id = generateValue(annotation.getString("id"), metadata, evaluationContext);
+                    loaded.put(slot(annotation, metadata, evaluationContext, id), item);
+                }
+            } finally {
+                evaluationContext.setVariable(ITEM, previous);
+            }
+
+            final List<Object> keys = new ArrayList<>(loaded.size());
+            final List<Object> fields = hasField(annotation) ? new ArrayList<>(loaded.size()) : null;
+            for (Slot slot : loaded.keySet()) {
+                keys.add(slot.key());
+                if (fields != null) {
+                    fields.add(slot.field());
+                }
+            }
+            final Logger logger = getLogger(metadata.getTargetClass());
+            logger.debug("==> cache multi set: keys={},fields={}", keys, fields);
+            writer(cache, context, JoinPoint.AFTER_RETURNING).multiSet(keys, fields, new ArrayList<>(loaded.values()),
+                    ttl(annotation), timeUnit(annotation), context.view(), getCodec(annotation));
+        }
+
+        context.setResult(merge(metadata, slots, context.getAttribute(HITS_ATTRIBUTE), loaded));
+    }
+
+    @Override
+    public void after(final @NonNull Cache cache, final @NonNull InvocationContext context,
+                      final @NonNull AnnotationAttributes annotation, final @Nullable Object result,
+                      final @Nullable Throwable throwable) {
+
+        final Collection<?> ids = context.getAttribute(IDS_ATTRIBUTE);
+        if (Objects.nonNull(ids)) {
+            final IndexKey key = new IndexKey(context.metadata().getMethod(), annotation.getString("ids"));
+            context.args()[indexes.get(key)] = ids;
+            resetEvaluationContext(context);
+        }
+    }
+
+    private Slot slot(final AnnotationAttributes annotation, final MethodMetadata metadata,
+                      final EvaluationContext evaluationContext, final Object element) {
+
+        evaluationContext.setVariable(ITEM, element);
+        final Object key = generateKey(getKey(annotation), getDelimiter(annotation), metadata, evaluationContext);
+        if (key == null) {
+            throw new IllegalArgumentException("the cache action generate null key, action=" + annotation);
+        }
+        final Object field = generateField(getField(annotation), getDelimiter(annotation), metadata,
+                evaluationContext);
+        return new Slot(key, field);
+    }
+
+    private boolean hasField(final AnnotationAttributes annotation) {
+        return getField(annotation).length > 0;
+    }
+
+    /**
+     * 按集合参数的顺序合并命中的缓存和执行结果，未能对应到集合元素的结果追加在最后。
+     */
+    private Collection<Object> merge(final MethodMetadata metadata, final List<Slot> slots,
+                                     final Map<Slot, Object> hits, final Map<Slot, Object> loaded) {
+
+        final Collection<Object> result = Set.class.isAssignableFrom(metadata.getMethod().getReturnType())
+                ? new LinkedHashSet<>() : new ArrayList<>(slots.size());
+        final Set<Slot> merged = new LinkedHashSet<>(slots);
+        for (Slot slot : merged) {
+            final Object value = hits.containsKey(slot) ? hits.get(slot) : loaded.get(slot);
+            if (Objects.nonNull(value)) {
+                result.add(value);
+            }
+        }
+        for (Map.Entry<Slot, Object> entry : loaded.entrySet()) {
+            if (!merged.contains(entry.getKey())) {
+                result.add(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    private Type elementType(final MethodMetadata metadata) {
+        final ResolvableType element = ResolvableType.forType(metadata.getGenericReturnType()).getGeneric(0);
+        return element.resolve() == null ? Object.class : element.getType();
+    }
+
+    private static int indexOf(final Method method, final String name) {
+        if (method.isVarArgs()) {
+            throw new IllegalArgumentException("@BatchCacheable not supported varargs method: " + method);
+        }
+        final String[] names = PARAMETER_NAME_DISCOVERER.getParameterNames(method);
+        final Class<?>[] types = method.getParameterTypes();
+        for (int i = 0; i < types.length; i++) {
+            if (!Collection.class.isAssignableFrom(types[i])) {
+                continue;
+            }
+            if (name == null || name.isEmpty() || (names != null && name.equals(names[i]))) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("not found collection parameter " + name + " of method: " + method);
+    }
+
+    /**
+     * 集合元素对应的缓存区域
+     */
+    private record Slot(Object key, @Nullable Object field) {
+
+    }
+
+    private record IndexKey(Method method, String name) {
+
+    }
+
+}
@@ -16,13 +16,16 @@
 
 package org.ifinalframework.data.cache;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.lang.NonNull;
 
 import org.ifinalframework.aop.AnnotationAttributesAnnotationBuilder;
 import org.ifinalframework.aop.multi.MultiAnnotationPointAdvisor;
+import org.ifinalframework.cache.annotation.BatchCacheable;
 import org.ifinalframework.cache.annotation.Cache;
 import org.ifinalframework.cache.annotation.CacheDel;
 import org.ifinalframework.cache.annotation.CacheIncrement;
@@ -35,7 +38,7 @@ import jakarta.annotation.Resource;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 @Configuration(proxyBeanMethods = false)
@@ -45,16 +48,30 @@ public class CacheAnnotationPointAdvisor extends MultiAnnotationPointAdvisor<Ann
     @Resource
     private RedisCache redisCache;
 
+    @Autowired(required = false)
+    private NearCache nearCache;
+
+    private final CacheableInterceptorHandler cacheableInterceptorHandler = new CacheableInterceptorHandler();
+
+    private final BatchCacheableInterceptorHandler batchCacheableInterceptorHandler =
+            new BatchCacheableInterceptorHandler();
+
+    private final CachePutInterceptorHandler cachePutInterceptorHandler = new CachePutInterceptorHandler();
+
+    private final CacheDelInterceptorHandler cacheDelInterceptorHandler = new CacheDelInterceptorHandler();
+
     public CacheAnnotationPointAdvisor() {
 
         this.addAnnotation(CacheLock.class, new AnnotationAttributesAnnotationBuilder<>(),
                 new CacheLockInterceptorHandler());
         this.addAnnotation(Cacheable.class, new AnnotationAttributesAnnotationBuilder<>(),
-                new CacheableInterceptorHandler());
+                cacheableInterceptorHandler);
+        this.addAnnotation(BatchCacheable.class, new AnnotationAttributesAnnotationBuilder<>(),
+                batchCacheableInterceptorHandler);
         this.addAnnotation(CachePut.class, new AnnotationAttributesAnnotationBuilder<>(),
-                new CachePutInterceptorHandler());
+                cachePutInterceptorHandler);
         this.addAnnotation(CacheDel.class, new AnnotationAttributesAnnotationBuilder<>(),
-                new CacheDelInterceptorHandler());
+                cacheDelInterceptorHandler);
         this.addAnnotation(CacheIncrement.class, new AnnotationAttributesAnnotationBuilder<>(),
                 new CacheIncrementInterceptorHandler());
         this.addAnnotation(CacheValue.class, new AnnotationAttributesAnnotationBuilder<>(),
@@ -62,10 +79,36 @@ public class CacheAnnotationPointAdvisor extends MultiAnnotationPointAdvisor<Ann
 
     }
 
+    /**
+     * 启用 {@code final.cache.pipeline.enable=true} 时，一次调用中的缓存写操作将在调用结束时通过 pipeline 统一提交。
+     *
+     * @param writePipeline 缓存写缓冲
+     * @see CacheWritePipeline
+     * @since 1.6.0
+     */
+    @Autowired(required = false)
+    public void setWritePipeline(final CacheWritePipeline writePipeline) {
+        cacheableInterceptorHandler.setWritePipeline(writePipeline);
+        batchCacheableInterceptorHandler.setWritePipeline(writePipeline);
+        cachePutInterceptorHandler.setWritePipeline(writePipeline);
+        cacheDelInterceptorHandler.setWritePipeline(writePipeline);
+    }
+
+    /**
+     * 返回 {@link java.util.concurrent.CompletionStage} 或 {@code Mono} 的 {@link Cacheable} 方法使用非阻塞的 {@link ReactiveRedisCache}。
+     *
+     * @param connectionFactory the reactive redis connection factory
+     * @since 1.6.0
+     */
+    @Autowired(required = false)
+    public void setReactiveRedisConnectionFactory(final ReactiveRedisConnectionFactory connectionFactory) {
+        cacheableInterceptorHandler.setReactiveCache(new ReactiveRedisCache(connectionFactory));
+    }
+
     @Override
     @NonNull
     protected Cache getExecutor(final AnnotationAttributes annotation) {
-        return redisCache;
+        return nearCache == null ? redisCache : nearCache;
     }
 
 }
@@ -27,7 +27,6 @@ import org.ifinalframework.cache.annotation.CacheDel;
 import org.ifinalframework.context.expression.MethodMetadata;
 
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * Del the cache with {@link CacheDel#key()} and {@link CacheDel#field()} when {@link CacheDel#condition()} is passing.
@@ -48,10 +47,9 @@ public class CacheDelInterceptorHandler extends AbsCacheOperationInterceptorHand
                        final @Nullable Object result, final @Nullable Throwable throwable) {
 
         final MethodMetadata metadata = context.metadata();
-        final Logger logger = LoggerFactory.getLogger(metadata.getTargetClass());
-        final EvaluationContext evaluationContext = createEvaluationContext(context, result, throwable);
-
-        if (isConditionPassing(annotation.getString("condition"), metadata, evaluationContext)) {
+        if (isConditionPassing(context, annotation.getString("condition"), result, throwable)) {
+            final Logger logger = getLogger(metadata.getTargetClass());
+            final EvaluationContext evaluationContext = createEvaluationContext(context, result, throwable);
             final Object key = generateKey(annotation.getStringArray("key"), annotation.getString("delimiter"),
                     metadata, evaluationContext);
             if (key == null) {
@@ -61,7 +59,7 @@ public class CacheDelInterceptorHandler extends AbsCacheOperationInterceptorHand
                     metadata, evaluationContext);
 
             logger.info("==> cache del: key={},field={}", key, field);
-            Boolean flag = cache.del(key, field);
+            Boolean flag = writer(cache, context, point(annotation)).del(key, field);
             logger.info("<== cache del result: key={},field={},result={}", key, field, flag);
         }
     }
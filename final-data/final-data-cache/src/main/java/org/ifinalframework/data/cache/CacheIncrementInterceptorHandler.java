@@ -27,7 +27,6 @@ import org.ifinalframework.cache.annotation.Cache;
 import org.ifinalframework.util.Primaries;
 
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.Date;
 import java.util.Objects;
@@ -46,7 +45,7 @@ public class CacheIncrementInterceptorHandler extends AbsCacheOperationIntercept
     public void handle(final @NonNull Cache cache, final @NonNull InvocationContext context,
                        final @NonNull AnnotationAttributes annotation, final Object result, final Throwable throwable) {
 
-        final Logger logger = LoggerFactory.getLogger(context.target().getClass());
+        final Logger logger = getLogger(context.target().getClass());
         final EvaluationContext evaluationContext = createEvaluationContext(context, result, throwable);
         final Object key = generateKey(getKey(annotation), getDelimiter(annotation), context.metadata(),
                 evaluationContext);
@@ -30,7 +30,6 @@ import org.ifinalframework.util.Asserts;
 import org.ifinalframework.util.Dates;
 
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.time.LocalDateTime;
 import java.util.Date;
@@ -39,7 +38,7 @@ import java.util.concurrent.TimeUnit;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @see CacheLock
  * @since 1.0.0
  */
@@ -57,7 +56,7 @@ public class CacheLockInterceptorHandler extends AbsCacheOperationInterceptorHan
     public Object before(final @NonNull Cache cache, final @NonNull InvocationContext context,
                          final @NonNull AnnotationAttributes annotation) {
 
-        final Logger logger = LoggerFactory.getLogger(context.target().getClass());
+        final Logger logger = getLogger(context.target().getClass());
         final EvaluationContext evaluationContext = createEvaluationContext(context, null, null);
         final MethodMetadata metadata = context.metadata();
         final Object key = generateKey(annotation.getStringArray("key"), annotation.getString("delimiter"), metadata,
@@ -74,47 +73,33 @@ public class CacheLockInterceptorHandler extends AbsCacheOperationInterceptorHan
 
         // find the ttl form expire and ttl
         Long ttl = ttl(annotation, metadata, evaluationContext);
-        TimeUnit timeUnit = annotation.getEnum("timeUnit");
+        TimeUnit timeUnit = annotation.getEnum("timeunit");
+        final boolean watchdog = annotation.getBoolean("watchdog");
 
-        final long sleep = annotation.getNumber("sleep");
+        // the lock waits as long as the retries used to sleep, but wakes up as soon as the lock is released.
+        final long wait = Math.max(0L, annotation.getNumber("sleep").longValue())
+                * Math.max(0, annotation.getNumber("retry").intValue());
         context.addAttribute(KEY, key);
         context.addAttribute(VALUE, value);
 
-        int retry = 0;
-        int maxRetry = annotation.getNumber("retry").intValue();
-        do {
-            logger
-                    .info("==> try to lock: key={},value={},ttl={},timeUnit={},retry={}", key, value, ttl, timeUnit, retry);
-            final boolean lock = cache.lock(key, value, ttl, timeUnit);
-            logger.info("<== lock result: {}", lock);
-            if (lock) {
-                context.addAttribute(LOCK, true);
-                return null;
-            }
-
-            trySleep(sleep);
-
-            retry++;
-        } while (retry <= maxRetry);
+        logger.info("==> try to lock: key={},value={},ttl={},timeUnit={},wait={},watchdog={}",
+                key, value, ttl, timeUnit, wait, watchdog);
+        final boolean lock = cache.lock(key, value, ttl, timeUnit, wait, watchdog);
+        logger.info("<== lock result: {}", lock);
+        if (lock) {
+            context.addAttribute(LOCK, true);
+            return null;
+        }
 
         context.addAttribute(LOCK, false);
         throw new CacheLockException(String.format("failure to lock key=%s,value=%s", key, value));
     }
 
-    private void trySleep(final long sleep) {
-        if (sleep > 0L) {
-            try {
-                Thread.sleep(sleep);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
-        }
-    }
-
     private Long ttl(final AnnotationAttributes annotation, final MethodMetadata metadata,
                      final EvaluationContext evaluationContext) {
 
-        Object expired = generateExpire(annotation.getString("expire"), metadata, evaluationContext);
+        Object expired = annotation.containsKey("expire")
+                ? generateExpire(annotation.getString("expire"), metadata, evaluationContext) : null;
 
         if (expired != null) {
             if (expired instanceof Date) {
@@ -136,7 +121,7 @@ public class CacheLockInterceptorHandler extends AbsCacheOperationInterceptorHan
                       final @NonNull AnnotationAttributes annotation,
                       final @Nullable Object result, final @Nullable Throwable throwable) {
 
-        final Logger logger = LoggerFactory.getLogger(context.target().getClass());
+        final Logger logger = getLogger(context.target().getClass());
 
         final Object key = context.getAttribute(KEY);
         final Object value = context.getAttribute(VALUE);
@@ -28,7 +28,6 @@ import org.ifinalframework.json.Json;
 import org.ifinalframework.util.Asserts;
 
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
@@ -49,12 +48,13 @@ public class CachePutInterceptorHandler extends AbsCacheOperationInterceptorHand
                        final @NonNull AnnotationAttributes operation,
                        final @Nullable Object result, final @Nullable Throwable throwable) {
 
-        final Logger logger = LoggerFactory.getLogger(context.target().getClass());
-        final EvaluationContext evaluationContext = createEvaluationContext(context, result, throwable);
-        if (!isConditionPassing(operation.getString("condition"), context.metadata(), evaluationContext)) {
+        if (!isConditionPassing(context, operation.getString("condition"), result, throwable)) {
             return;
         }
 
+        final Logger logger = getLogger(context.target().getClass());
+        final EvaluationContext evaluationContext = createEvaluationContext(context, result, throwable);
+
         final Object key = generateKey(operation.getStringArray("key"), operation.getString("delimiter"),
                 context.metadata(), evaluationContext);
         final Object field = generateField(operation.getStringArray("field"), operation.getString("delimiter"),
@@ -78,14 +78,14 @@ public class CachePutInterceptorHandler extends AbsCacheOperationInterceptorHand
             }
         } else {
             ttl = operation.getNumber("ttl");
-            timeUnit = operation.getEnum("timeUnit");
+            timeUnit = operation.getEnum("timeunit");
         }
 
-        if (logger.isInfoEnabled()) {
-            logger.info("==> cache set: key={},field={},ttl={},timeunit={}", key, field, ttl, timeUnit);
-            logger.info("==> cache value: {}", Json.toJson(cacheValue));
+        logger.info("==> cache set: key={},field={},ttl={},timeunit={}", key, field, ttl, timeUnit);
+        if (logger.isDebugEnabled()) {
+            logger.debug("==> cache value: {}", Json.toJson(cacheValue));
         }
-        cache.set(key, field, cacheValue, ttl, timeUnit, context.view());
+        writer(cache, context, point(operation)).set(key, field, cacheValue, ttl, timeUnit, context.view(), getCodec(operation));
     }
 
 }
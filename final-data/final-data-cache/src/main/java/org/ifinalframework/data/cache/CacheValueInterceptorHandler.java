@@ -26,7 +26,6 @@ import org.ifinalframework.cache.annotation.Cacheable;
 import org.ifinalframework.json.Json;
 
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Type;
 
@@ -45,7 +44,7 @@ public class CacheValueInterceptorHandler extends AbsCacheOperationInterceptorHa
     @Override
     public Object before(final Cache cache, final InvocationContext context, final AnnotationAttributes operation) {
 
-        final Logger logger = LoggerFactory.getLogger(context.target().getClass());
+        final Logger logger = getLogger(context.target().getClass());
         final EvaluationContext evaluationContext = createEvaluationContext(context, null, null);
 
         String delimiter = operation.getString("delimiter");
@@ -59,8 +58,12 @@ public class CacheValueInterceptorHandler extends AbsCacheOperationInterceptorHa
         final Type type = (Type) operation.get("parameterType");
         logger.info("==> cache get: key={},field={}", key, field);
         Object cacheValue = cache.get(key, field, type, null);
-        logger.info("<== value: {}", Json.toJson(cacheValue));
+        if (logger.isDebugEnabled()) {
+            logger.debug("<== value: {}", Json.toJson(cacheValue));
+        }
         context.args()[(int) operation.getNumber("parameterIndex")] = cacheValue;
+        // the replaced argument is not visible to the loaded evaluation context.
+        resetEvaluationContext(context);
 
         return null;
     }
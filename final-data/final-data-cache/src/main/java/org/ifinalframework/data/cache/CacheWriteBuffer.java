@@ -0,0 +1,208 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ifinalframework.data.cache;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.aop.InvocationContext;
+import org.ifinalframework.cache.annotation.Cache;
+import org.ifinalframework.cache.annotation.CacheValueCodec;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 收集一次方法调用中的缓存写操作（{@code CachePut}、{@code CacheDel}、{@code Cacheable} 等），
+ * 在调用结束时通过 {@link Cache#pipelined(Runnable)} 一次性提交，读操作直接委托给原缓存器。
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see CacheWritePipeline
+ * @see InvocationContext#afterCompletion(Runnable)
+ * @since 1.6.0
+ */
+@Slf4j
+final class CacheWriteBuffer implements Cache {
+
+    private final Cache delegate;
+
+    /**
+     * 异步提交写操作的执行器，为 {@code null} 时同步提交
+     */
+    @Nullable
+    private final Executor executor;
+
+    private final List<Consumer<Cache>> writes = new ArrayList<>();
+
+    CacheWriteBuffer(final @NonNull Cache delegate, final @Nullable Executor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    /**
+     * 提交缓冲的写操作，异步提交时写操作的异常仅记录日志
+     */
+    public void flush() {
+        if (writes.isEmpty()) {
+            return;
+        }
+        final List<Consumer<Cache>> pending = new ArrayList<>(writes);
+        writes.clear();
+        if (executor == null) {
+            doFlush(pending);
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    doFlush(pending);
+                } catch (Exception e) {
+                    logger.warn("flush cache writes error: size={}", pending.size(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // the pipeline is shutting down
+            doFlush(pending);
+        }
+    }
+
+    private void doFlush(final List<Consumer<Cache>> pending) {
+        logger.debug("==> flush cache writes: size={}", pending.size());
+        delegate.pipelined(() -> pending.forEach(write -> write.accept(delegate)));
+    }
+
+    /**
+     * 缓冲的写操作数量
+     *
+     * @return 写操作数量
+     */
+    public int size() {
+        return writes.size();
+    }
+
+    @Override
+    public boolean lock(final @NonNull Object key, final @NonNull Object value, final @Nullable Long ttl,
+                        final @NonNull TimeUnit timeUnit) {
+        return delegate.lock(key, value, ttl, timeUnit);
+    }
+
+    @Override
+    public boolean lock(final @NonNull Object key, final @NonNull Object value, final @Nullable Long ttl,
+                        final @NonNull TimeUnit timeUnit, final long wait, final boolean watchdog) {
+        return delegate.lock(key, value, ttl, timeUnit, wait, watchdog);
+    }
+
+    @Override
+    public boolean unlock(final @NonNull Object key, final @NonNull Object value) {
+        return delegate.unlock(key, value);
+    }
+
+    @Override
+    public boolean isExists(final @NonNull Object key, final @Nullable Object field) {
+        return delegate.isExists(key, field);
+    }
+
+    @Override
+    public boolean expire(final @NonNull Object key, final long ttl, final @NonNull TimeUnit timeUnit) {
+        writes.add(cache -> cache.expire(key, ttl, timeUnit));
+        return true;
+    }
+
+    @Override
+    public Long ttl(final @NonNull Object key, final @NonNull TimeUnit timeUnit) {
+        return delegate.ttl(key, timeUnit);
+    }
+
+    @Override
+    public void set(final @NonNull Object key, final @Nullable Object field, final @Nullable Object value,
+                    final @Nullable Long ttl, final @NonNull TimeUnit timeUnit, final @Nullable Class<?> view) {
+        writes.add(cache -> cache.set(key, field, value, ttl, timeUnit, view));
+    }
+
+    @Override
+    public void set(final @NonNull Object key, final @Nullable Object field, final @Nullable Object value,
+                    final @Nullable Long ttl, final @NonNull TimeUnit timeUnit, final @Nullable Class<?> view,
+                    final @Nullable CacheValueCodec codec) {
+        writes.add(cache -> cache.set(key, field, value, ttl, timeUnit, view, codec));
+    }
+
+    @Override
+    public <T> T get(final @NonNull Object key, final @Nullable Object field, final @NonNull Type type,
+                     final @Nullable Class<?> view) {
+        return delegate.get(key, field, type, view);
+    }
+
+    @Override
+    public <T> T get(final @NonNull Object key, final @Nullable Object field, final @NonNull Type type,
+                     final @Nullable Class<?> view, final @Nullable CacheValueCodec codec) {
+        return delegate.get(key, field, type, view, codec);
+    }
+
+    @Override
+    @NonNull
+    public <T> List<T> multiGet(final @NonNull List<?> keys, final @Nullable List<?> fields, final @NonNull Type type,
+                                final @Nullable Class<?> view, final @Nullable CacheValueCodec codec) {
+        return delegate.multiGet(keys, fields, type, view, codec);
+    }
+
+    @Override
+    public void multiSet(final @NonNull List<?> keys, final @Nullable List<?> fields, final @NonNull List<?> values,
+                         final @Nullable Long ttl, final @NonNull TimeUnit timeUnit, final @Nullable Class<?> view,
+                         final @Nullable CacheValueCodec codec) {
+        writes.add(cache -> cache.multiSet(keys, fields, values, ttl, timeUnit, view, codec));
+    }
+
+    /**
+     * 缓冲的自增操作在提交前不会执行，因此总是返回 {@code null}。
+     */
+    @Override
+    public Long increment(final @NonNull Object key, final @Nullable Object field, final @NonNull Long value) {
+        writes.add(cache -> cache.increment(key, field, value));
+        return null;
+    }
+
+    /**
+     * 缓冲的自增操作在提交前不会执行，因此总是返回 {@code null}。
+     */
+    @Override
+    public Double increment(final @NonNull Object key, final @Nullable Object field, final @NonNull Double value) {
+        writes.add(cache -> cache.increment(key, field, value));
+        return null;
+    }
+
+    /**
+     * 缓冲的删除操作在提交前不会执行，因此总是返回 {@code null}。
+     */
+    @Override
+    public Boolean del(final @NonNull Object key, final @Nullable Object field) {
+        writes.add(cache -> cache.del(key, field));
+        return null;
+    }
+
+    @Override
+    public void pipelined(final @NonNull Runnable writes) {
+        writes.run();
+    }
+
+}
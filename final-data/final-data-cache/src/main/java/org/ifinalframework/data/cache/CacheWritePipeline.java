@@ -0,0 +1,115 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ifinalframework.data.cache;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import org.ifinalframework.aop.InvocationContext;
+import org.ifinalframework.cache.annotation.Cache;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 缓存写缓冲，启用后一次调用中的缓存写操作将在调用结束时通过 pipeline 统一提交。
+ *
+ * <pre class="code">
+ * final.cache.pipeline.enable=true
+ * final.cache.pipeline.async=false
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see CacheWriteBuffer
+ * @see AbsCacheOperationInterceptorHandlerSupport#setWritePipeline(CacheWritePipeline)
+ * @since 1.6.0
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "final.cache.pipeline", name = "enable", havingValue = "true")
+public class CacheWritePipeline implements DisposableBean {
+
+    private static final String ATTRIBUTE = "cache.write.buffer";
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    /**
+     * 异步提交写操作的执行器，同步提交时为 {@code null}
+     */
+    @Nullable
+    private final ExecutorService executor;
+
+    /**
+     * @param async 是否异步提交写操作，异步提交时写操作的异常仅记录日志
+     */
+    public CacheWritePipeline(final @Value("${final.cache.pipeline.async:false}") boolean async) {
+        this.executor = async ? Executors.newSingleThreadExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, "final-cache-write-buffer");
+            thread.setDaemon(true);
+            return thread;
+        }) : null;
+    }
+
+    /**
+     * 返回当前调用上下文中 {@code cache} 的写缓冲，首次创建时注册到 {@link InvocationContext#afterCompletion(Runnable)}。
+     *
+     * @param cache   缓存器
+     * @param context 调用上下文
+     * @return 写缓冲
+     */
+    @NonNull
+    public Cache buffer(final @NonNull Cache cache, final @NonNull InvocationContext context) {
+        if (cache instanceof CacheWriteBuffer) {
+            return cache;
+        }
+        Map<Cache, CacheWriteBuffer> buffers = context.getAttribute(ATTRIBUTE);
+        if (buffers == null) {
+            buffers = new IdentityHashMap<>(2);
+            context.addAttribute(ATTRIBUTE, buffers);
+        }
+        return buffers.computeIfAbsent(cache, it -> {
+            final CacheWriteBuffer buffer = new CacheWriteBuffer(it, executor);
+            context.afterCompletion(buffer::flush);
+            return buffer;
+        });
+    }
+
+    /**
+     * 停止接收新的异步提交，并等待已提交的写操作完成。
+     */
+    @Override
+    public void destroy() throws InterruptedException {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+            logger.warn("cache write buffer is not terminated in {}s, drop pending writes.", SHUTDOWN_TIMEOUT_SECONDS);
+            executor.shutdownNow();
+        }
+    }
+
+}
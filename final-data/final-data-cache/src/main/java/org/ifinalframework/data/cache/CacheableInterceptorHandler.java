@@ -19,24 +19,37 @@ package org.ifinalframework.data.cache;
 import org.springframework.core.annotation.AnnotationAttributes;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import org.ifinalframework.aop.InvocationContext;
 import org.ifinalframework.cache.annotation.Cache;
 import org.ifinalframework.cache.annotation.Cacheable;
+import org.ifinalframework.core.aop.JoinPoint;
 import org.ifinalframework.json.Json;
 
 import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Type;
 import java.util.Date;
+import java.util.Map;
 import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+import lombok.Setter;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @see Cacheable
  * @since 1.0.0
  */
@@ -48,11 +61,76 @@ public class CacheableInterceptorHandler extends AbsCacheOperationInterceptorHan
 
     private static final String FIELD = "field";
 
+    /**
+     * @see Cacheable#singleFlight()
+     */
+    private static final String SINGLE_FLIGHT = "singleFlight";
+
+    /**
+     * @see Cacheable#lease()
+     */
+    private static final String LEASE = "lease";
+
+    /**
+     * @see Cacheable#earlyRefresh()
+     */
+    private static final String EARLY_REFRESH = "earlyRefresh";
+
+    private static final String FLIGHT_ATTRIBUTE = "cacheable.flight";
+
+    private static final String LEASE_ATTRIBUTE = "cacheable.lease";
+
+    private static final String LOADING_ATTRIBUTE = "cacheable.loading";
+
+    /**
+     * 未设置 {@link Cacheable#lease()} 时，等待同一 JVM 内其它调用加载数据的最长时间。
+     */
+    private static final long DEFAULT_FLIGHT_TIMEOUT = 3000L;
+
+    private static final long MAX_LEASE_POLL_INTERVAL = 50L;
+
+    /**
+     * 本地记录的缓存过期时间的最大数量，超出时清空重新记录。
+     */
+    private static final int MAX_EXPIRIES = 4096;
+
+    /**
+     * 租约等待时轮询缓存的线程，请求线程只等待轮询的结果。
+     */
+    private static final ScheduledExecutorService POLLER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "final-cache-lease-poller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String node = UUID.randomUUID().toString();
+
+    private final Map<Flight, CompletableFuture<Object>> flights = new ConcurrentHashMap<>();
+
+    /**
+     * 方法最近的加载耗时（毫秒），用于概率提前刷新。
+     */
+    private final Map<Object, Long> loadTimes = new ConcurrentHashMap<>();
+
+    /**
+     * 缓存的过期时间（毫秒时间戳），写入时记录，避免每次命中都查询 {@code ttl}。
+     */
+    private final Map<Flight, Long> expiries = new ConcurrentHashMap<>();
+
+    /**
+     * 异步方法使用的非阻塞缓存器
+     *
+     * @see InvocationContext#async()
+     */
+    @Setter
+    @Nullable
+    private ReactiveCache reactiveCache;
+
     @Override
     public Object before(final @NonNull Cache cache, final @NonNull InvocationContext context,
                          final @NonNull AnnotationAttributes operation) {
 
-        final Logger logger = LoggerFactory.getLogger(context.target().getClass());
+        final Logger logger = getLogger(context.target().getClass());
         final EvaluationContext evaluationContext = createEvaluationContext(context, null, null);
         final Object key = generateKey(operation.getStringArray(KEY), operation.getString("delimiter"),
                 context.metadata(), evaluationContext);
@@ -63,16 +141,208 @@ public class CacheableInterceptorHandler extends AbsCacheOperationInterceptorHan
                 context.metadata(), evaluationContext);
         context.addAttribute(KEY, key);
         context.addAttribute(FIELD, field);
-        final Type genericReturnType = context.metadata().getGenericReturnType();
-        Object cacheValue;
-        if (logger.isInfoEnabled()) {
-            logger.info("==> cache get: key={},field={}", key, field);
+        final Type genericReturnType = context.resultType();
+        logger.info("==> cache get: key={},field={}", key, field);
+        if (context.async() && Objects.nonNull(reactiveCache)) {
+            // the invocation proceeds when the lookup completes empty.
+            context.addAttribute(LOADING_ATTRIBUTE, System.nanoTime());
+            return reactiveCache.get(key, field, genericReturnType, context.view(), getCodec(operation)).toFuture();
+        }
+        final Object cacheValue = cache.get(key, field, genericReturnType, context.view(), getCodec(operation));
+        if (logger.isDebugEnabled()) {
+            logger.debug("<== value: {}", Json.toJson(cacheValue));
+        }
+
+        final boolean singleFlight = operation.getBoolean(SINGLE_FLIGHT);
+        if (Objects.nonNull(cacheValue)) {
+            if (!isEarlyRefresh(cache, context, operation, new Flight(key, field))) {
+                return cacheValue;
+            }
+            // only one caller refreshes the value, the others are still served from the cache.
+            if (singleFlight && !lead(context, new Flight(key, field))) {
+                return cacheValue;
+            }
+            logger.info("==> cache early refresh: key={},field={}", key, field);
+            context.addAttribute(LOADING_ATTRIBUTE, System.nanoTime());
+            return null;
+        }
+
+        if (singleFlight) {
+            return singleFlight(cache, context, operation, key, field, genericReturnType, logger);
+        }
+        context.addAttribute(LOADING_ATTRIBUTE, System.nanoTime());
+        return null;
+    }
+
+    /**
+     * 合并并发的缓存未命中：同一个 {@link Flight} 只有一个调用执行目标方法，其它调用等待其结果。
+     *
+     * <p>加载的结果为 {@code null} 时（方法返回 {@code null} 或被其它处理器短路），等待的调用中只有一个重新加载，
+     * 其余的继续等待。</p>
+     *
+     * @return 其它调用加载的结果，返回 {@code null} 时执行目标方法。
+     */
+    @Nullable
+    private Object singleFlight(final Cache cache, final InvocationContext context, final AnnotationAttributes operation,
+                                final Object key, final @Nullable Object field, final Type type, final Logger logger) {
+
+        final Flight flight = new Flight(key, field);
+        final long lease = operation.getNumber(LEASE).longValue();
+        final long deadline = System.currentTimeMillis() + (lease > 0 ? lease : DEFAULT_FLIGHT_TIMEOUT);
+        while (!lead(context, flight)) {
+            final CompletableFuture<Object> future = flights.get(flight);
+            if (Objects.isNull(future)) {
+                continue;
+            }
+            final long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                // the leader may never land, e.g. another handler short-circuited the invocation.
+                flights.remove(flight, future);
+                context.addAttribute(LOADING_ATTRIBUTE, System.nanoTime());
+                return null;
+            }
+            logger.info("==> cache single flight wait: key={},field={}", key, field);
+            final Object value = await(future, remaining);
+            if (Objects.nonNull(value)) {
+                return value;
+            }
+            if (!future.isDone()) {
+                flights.remove(flight, future);
+            }
+        }
+
+        // the previous flight may have landed between the cache get and the lead.
+        Object value = cache.get(key, field, type, context.view(), getCodec(operation));
+        if (Objects.isNull(value) && lease > 0) {
+            value = lease(cache, context, operation, key, field, type, lease, logger);
         }
-        cacheValue = cache.get(key, field, genericReturnType, context.view());
-        if (logger.isInfoEnabled()) {
-            logger.info("<== value: {}", Json.toJson(cacheValue));
+        if (Objects.nonNull(value)) {
+            land(context, value);
+            return value;
+        }
+        context.addAttribute(LOADING_ATTRIBUTE, System.nanoTime());
+        return null;
+    }
+
+    /**
+     * 跨节点合并缓存未命中：获取到租约的节点加载数据，其它节点在租约时间内等待缓存的值。
+     *
+     * <p>缓存由 {@link #POLLER} 轮询，请求线程只等待轮询的结果。</p>
+     */
+    @Nullable
+    private Object lease(final Cache cache, final InvocationContext context, final AnnotationAttributes operation,
+                         final Object key, final @Nullable Object field, final Type type, final long lease,
+                         final Logger logger) {
+
+        final String delimiter = operation.getString("delimiter");
+        final String leaseKey = Objects.isNull(field)
+                ? key + delimiter + LEASE : key + delimiter + field + delimiter + LEASE;
+        if (cache.lock(leaseKey, node, lease, TimeUnit.MILLISECONDS)) {
+            context.addAttribute(LEASE_ATTRIBUTE, leaseKey);
+            return null;
+        }
+
+        logger.info("==> cache lease wait: key={},field={},lease={}", key, field, leaseKey);
+        final long interval = Math.max(1L, Math.min(MAX_LEASE_POLL_INTERVAL, lease / 10));
+        final long deadline = System.currentTimeMillis() + lease;
+        final Class<?> view = context.view();
+        final CompletableFuture<Object> polled = new CompletableFuture<>();
+        poll(polled, () -> cache.get(key, field, type, view, getCodec(operation)), interval, deadline);
+        final Object value = await(polled, lease);
+        polled.cancel(false);
+        return value;
+    }
+
+    private static void poll(final CompletableFuture<Object> polled, final Supplier<Object> getter,
+                             final long interval, final long deadline) {
+        POLLER.schedule(() -> {
+            if (polled.isDone()) {
+                return;
+            }
+            try {
+                final Object value = getter.get();
+                if (Objects.nonNull(value) || System.currentTimeMillis() >= deadline) {
+                    polled.complete(value);
+                    return;
+                }
+            } catch (RuntimeException e) {
+                polled.completeExceptionally(e);
+                return;
+            }
+            poll(polled, getter, interval, deadline);
+        }, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 概率提前刷新（XFetch）：{@code -delta * beta * ln(random) >= ttl} 时提前刷新，
+     * 其中 {@code delta} 为最近一次加载耗时，{@code ttl} 为缓存剩余有效时间。
+     *
+     * <p>剩余有效时间由本地记录的过期时间计算，只有没有记录时才查询一次 {@code ttl}。</p>
+     */
+    private boolean isEarlyRefresh(final Cache cache, final InvocationContext context,
+                                   final AnnotationAttributes operation, final Flight flight) {
+
+        final double beta = operation.getNumber(EARLY_REFRESH).doubleValue();
+        if (beta <= 0) {
+            return false;
+        }
+        final Long delta = loadTimes.get(context.metadata().getMethodKey());
+        if (Objects.isNull(delta)) {
+            return false;
+        }
+        final Long expiry = expiries.get(flight);
+        if (Objects.isNull(expiry)) {
+            final Long ttl = cache.ttl(flight.key(), TimeUnit.MILLISECONDS);
+            expire(flight, Objects.isNull(ttl) || ttl <= 0 ? Long.MAX_VALUE : System.currentTimeMillis() + ttl);
+            return false;
+        }
+        final long ttl = expiry - System.currentTimeMillis();
+        if (ttl <= 0) {
+            // the value was written again by another node.
+            expiries.remove(flight, expiry);
+            return false;
+        }
+        return -delta * beta * Math.log(ThreadLocalRandom.current().nextDouble()) >= ttl;
+    }
+
+    private void expire(final Flight flight, final long expiry) {
+        if (expiries.size() >= MAX_EXPIRIES) {
+            expiries.clear();
+        }
+        expiries.put(flight, expiry);
+    }
+
+    private boolean lead(final InvocationContext context, final Flight flight) {
+        final CompletableFuture<Object> future = new CompletableFuture<>();
+        if (Objects.nonNull(flights.putIfAbsent(flight, future))) {
+            return false;
+        }
+        context.addAttribute(FLIGHT_ATTRIBUTE, flight);
+        return true;
+    }
+
+    private void land(final InvocationContext context, final @Nullable Object value) {
+        final Flight flight = context.getAttribute(FLIGHT_ATTRIBUTE);
+        if (Objects.isNull(flight)) {
+            return;
+        }
+        context.attributes().remove(FLIGHT_ATTRIBUTE);
+        final CompletableFuture<Object> future = flights.remove(flight);
+        if (Objects.nonNull(future)) {
+            future.complete(value);
+        }
+    }
+
+    @Nullable
+    private static Object await(final CompletableFuture<Object> future, final long timeout) {
+        try {
+            return future.get(timeout, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
         }
-        return cacheValue;
     }
 
     @Override
@@ -84,11 +354,11 @@ public class CacheableInterceptorHandler extends AbsCacheOperationInterceptorHan
             return;
         }
 
-        final Logger logger = LoggerFactory.getLogger(context.target().getClass());
-        final EvaluationContext evaluationContext = createEvaluationContext(context, result, null);
-        if (!isConditionPassing(annotation.getString("condition"), context.metadata(), evaluationContext)) {
+        if (!isConditionPassing(context, annotation.getString("condition"), result, null)) {
             return;
         }
+        final Logger logger = getLogger(context.target().getClass());
+        final EvaluationContext evaluationContext = createEvaluationContext(context, result, null);
         final Object key = context.getAttribute(KEY);
         final Object field = context.getAttribute(FIELD);
         Long ttl;
@@ -106,11 +376,52 @@ public class CacheableInterceptorHandler extends AbsCacheOperationInterceptorHan
             timeUnit = annotation.getEnum("timeunit");
         }
 
-        if (logger.isInfoEnabled()) {
-            logger.info("==> cache set: key={},field={},ttl={},timeunit={}", key, field, ttl, timeUnit);
-            logger.info("==> cache value: {}", Json.toJson(result));
+        logger.info("==> cache set: key={},field={},ttl={},timeunit={}", key, field, ttl, timeUnit);
+        if (annotation.getNumber(EARLY_REFRESH).doubleValue() > 0) {
+            expire(new Flight(key, field), Objects.nonNull(ttl) && ttl > 0 && Objects.nonNull(timeUnit)
+                    ? System.currentTimeMillis() + timeUnit.toMillis(ttl) : Long.MAX_VALUE);
         }
-        cache.set(key, field, result, ttl, timeUnit, context.view());
+        if (logger.isDebugEnabled()) {
+            logger.debug("==> cache value: {}", Json.toJson(result));
+        }
+        if (context.async() && Objects.nonNull(reactiveCache)) {
+            reactiveCache.set(key, field, result, ttl, timeUnit, context.view(), getCodec(annotation))
+                    .subscribe(null, e -> logger.warn("==> cache set error: key={},field={}", key, field, e));
+            return;
+        }
+        // the lease holder writes directly, so that the waiters can see the value once the lease is released.
+        final Cache writer = context.getAttribute(LEASE_ATTRIBUTE) == null
+                ? writer(cache, context, JoinPoint.AFTER_RETURNING) : cache;
+        writer.set(key, field, result, ttl, timeUnit, context.view(), getCodec(annotation));
+
+    }
+
+    @Override
+    public void after(final @NonNull Cache cache, final @NonNull InvocationContext context,
+                      final @NonNull AnnotationAttributes annotation,
+                      final @Nullable Object result, final @Nullable Throwable throwable) {
+
+        final Long loading = context.getAttribute(LOADING_ATTRIBUTE);
+        if (Objects.nonNull(loading) && Objects.isNull(throwable)) {
+            final long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - loading);
+            loadTimes.put(context.metadata().getMethodKey(), elapsed);
+        }
+
+        land(context, Objects.isNull(throwable) ? result : null);
+
+        final String leaseKey = context.getAttribute(LEASE_ATTRIBUTE);
+        if (Objects.nonNull(leaseKey)) {
+            cache.unlock(leaseKey, node);
+        }
+    }
+
+    /**
+     * 同一个缓存区域的一次加载
+     *
+     * @param key   缓存 key
+     * @param field 缓存 field
+     */
+    private record Flight(Object key, @Nullable Object field) {
 
     }
 
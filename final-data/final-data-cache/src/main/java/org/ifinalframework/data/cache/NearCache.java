@@ -0,0 +1,414 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.cache;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.cache.annotation.Cache;
+import org.ifinalframework.cache.annotation.CacheValueCodec;
+import org.ifinalframework.data.redis.Redis;
+import org.ifinalframework.json.Json;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 二级缓存：在 {@link RedisCache} 之前加一层有界的本地缓存（L1）。
+ *
+ * <ul>
+ *     <li>{@link #get(Object, Object, Type, Class)} 优先读取本地缓存，未命中时再读取 Redis 并回填本地缓存；</li>
+ *     <li>{@link #set(Object, Object, Object, Long, TimeUnit, Class)}、{@link #del(Object, Object)}、
+ *     {@code increment} 及 {@link #expire(Object, long, TimeUnit)} 会失效本地缓存，并通过 Redis pub/sub 通知其它节点；</li>
+ *     <li>按缓存 key 的前缀统计命中、未命中及淘汰次数，前缀数量有上限，见 {@link #getStats()}。</li>
+ * </ul>
+ *
+ * <p>本地缓存中的对象在多次命中之间是共享的，调用方不应修改 {@code @Cacheable} 方法返回的对象。</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see NearCacheProperties
+ * @since 1.6.0
+ */
+@Slf4j
+public class NearCache implements Cache, MessageListener {
+
+    /**
+     * 不含前缀分隔符或超出 {@link NearCacheProperties#getMaximumStats()} 的 key 的统计前缀
+     */
+    public static final String OTHERS = "*";
+
+    /**
+     * 失效版本号的槽数，须为 2 的幂
+     */
+    private static final int STAMPS = 1024;
+
+    private final String node = UUID.randomUUID().toString();
+
+    private final Cache delegate;
+
+    private final NearCacheProperties properties;
+
+    private final com.github.benmanes.caffeine.cache.Cache<NearKey, NearValue> local;
+
+    /**
+     * 存在 hash field 本地缓存的 key，整个 key 失效时才需要遍历本地缓存。
+     */
+    private final Set<String> hashKeys = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 按 key 分槽的失效版本号，失效时递增 key 所在槽的版本号，用于丢弃失效前从 Redis 读取、失效后才回填的旧值，
+     * 其它 key 的回填不受影响。
+     */
+    private final AtomicLongArray stamps = new AtomicLongArray(STAMPS);
+
+    private final Map<String, NearCacheStats> stats = new ConcurrentHashMap<>();
+
+    public NearCache(final Cache delegate, final NearCacheProperties properties) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .removalListener((NearKey key, NearValue value, RemovalCause cause) -> {
+                    if (key != null && cause.wasEvicted()) {
+                        stats(key.key()).evict();
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public boolean lock(final @NonNull Object key, final @NonNull Object value, final @Nullable Long ttl,
+                        final @NonNull TimeUnit timeUnit) {
+        return delegate.lock(key, value, ttl, timeUnit);
+    }
+
+    @Override
+    public boolean lock(final @NonNull Object key, final @NonNull Object value, final @Nullable Long ttl,
+                        final @NonNull TimeUnit timeUnit, final long wait, final boolean watchdog) {
+        return delegate.lock(key, value, ttl, timeUnit, wait, watchdog);
+    }
+
+    @Override
+    public boolean unlock(final @NonNull Object key, final @NonNull Object value) {
+        return delegate.unlock(key, value);
+    }
+
+    @Override
+    public boolean isExists(final @NonNull Object key, final @Nullable Object field) {
+        return local.getIfPresent(NearKey.of(key, field)) != null || delegate.isExists(key, field);
+    }
+
+    @Override
+    public boolean expire(final @NonNull Object key, final long ttl, final @NonNull TimeUnit timeUnit) {
+        try {
+            return delegate.expire(key, ttl, timeUnit);
+        } finally {
+            invalidate(key, null);
+        }
+    }
+
+    @Override
+    public Long ttl(final @NonNull Object key, final @NonNull TimeUnit timeUnit) {
+        return delegate.ttl(key, timeUnit);
+    }
+
+    @Override
+    public void set(final @NonNull Object key, final @Nullable Object field, final @Nullable Object value,
+                    final @Nullable Long ttl, final @NonNull TimeUnit timeUnit, final @Nullable Class<?> view) {
+        set(key, field, value, ttl, timeUnit, view, null);
+    }
+
+    @Override
+    public void set(final @NonNull Object key, final @Nullable Object field, final @Nullable Object value,
+                    final @Nullable Long ttl, final @NonNull TimeUnit timeUnit, final @Nullable Class<?> view,
+                    final @Nullable CacheValueCodec codec) {
+        try {
+            delegate.set(key, field, value, ttl, timeUnit, view, codec);
+        } finally {
+            invalidate(key, field);
+        }
+    }
+
+    @Override
+    public <T> T get(final @NonNull Object key, final @Nullable Object field, final @NonNull Type type,
+                     final @Nullable Class<?> view) {
+        return get(key, field, type, view, null);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(final @NonNull Object key, final @Nullable Object field, final @NonNull Type type,
+                     final @Nullable Class<?> view, final @Nullable CacheValueCodec codec) {
+
+        final NearKey nearKey = NearKey.of(key, field);
+        final NearCacheStats stats = stats(nearKey.key());
+        final NearValue cached = local.getIfPresent(nearKey);
+        if (cached != null && cached.matches(type, view)) {
+            stats.hit();
+            return (T) cached.value();
+        }
+        stats.miss();
+
+        final long stamp = stamp(nearKey);
+        final T value = delegate.get(key, field, type, view, codec);
+        if (value != null) {
+            fill(nearKey, stamp, new NearValue(type, view, value));
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> multiGet(final @NonNull List<?> keys, final @Nullable List<?> fields, final @NonNull Type type,
+                                final @Nullable Class<?> view, final @Nullable CacheValueCodec codec) {
+
+        final List<T> values = new ArrayList<>(keys.size());
+        final List<Integer> misses = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            final NearKey nearKey = NearKey.of(keys.get(i), fields == null ? null : fields.get(i));
+            final NearCacheStats stats = stats(nearKey.key());
+            final NearValue cached = local.getIfPresent(nearKey);
+            if (cached != null && cached.matches(type, view)) {
+                stats.hit();
+                values.add((T) cached.value());
+            } else {
+                stats.miss();
+                values.add(null);
+                misses.add(i);
+            }
+        }
+        if (misses.isEmpty()) {
+            return values;
+        }
+
+        final List<Object> missKeys = new ArrayList<>(misses.size());
+        final List<Object> missFields = fields == null ? null : new ArrayList<>(misses.size());
+        for (Integer index : misses) {
+            missKeys.add(keys.get(index));
+            if (missFields != null) {
+                missFields.add(fields.get(index));
+            }
+        }
+        final NearKey[] nearKeys = new NearKey[misses.size()];
+        final long[] missStamps = new long[misses.size()];
+        for (int i = 0; i < nearKeys.length; i++) {
+            nearKeys[i] = NearKey.of(missKeys.get(i), missFields == null ? null : missFields.get(i));
+            missStamps[i] = stamp(nearKeys[i]);
+        }
+        final List<T> loaded = delegate.multiGet(missKeys, missFields, type, view, codec);
+        for (int i = 0; i < misses.size(); i++) {
+            final T value = loaded.get(i);
+            values.set(misses.get(i), value);
+            if (value != null) {
+                fill(nearKeys[i], missStamps[i], new NearValue(type, view, value));
+            }
+        }
+        return values;
+    }
+
+    @Override
+    public void multiSet(final @NonNull List<?> keys, final @Nullable List<?> fields, final @NonNull List<?> values,
+                         final @Nullable Long ttl, final @NonNull TimeUnit timeUnit, final @Nullable Class<?> view,
+                         final @Nullable CacheValueCodec codec) {
+        try {
+            delegate.multiSet(keys, fields, values, ttl, timeUnit, view, codec);
+        } finally {
+            for (int i = 0; i < keys.size(); i++) {
+                invalidate(keys.get(i), fields == null ? null : fields.get(i));
+            }
+        }
+    }
+
+    @Override
+    public Long increment(final @NonNull Object key, final @Nullable Object field, final @NonNull Long value) {
+        try {
+            return delegate.increment(key, field, value);
+        } finally {
+            invalidate(key, field);
+        }
+    }
+
+    @Override
+    public Double increment(final @NonNull Object key, final @Nullable Object field, final @NonNull Double value) {
+        try {
+            return delegate.increment(key, field, value);
+        } finally {
+            invalidate(key, field);
+        }
+    }
+
+    @Override
+    public Boolean del(final @NonNull Object key, final @Nullable Object field) {
+        try {
+            return delegate.del(key, field);
+        } finally {
+            invalidate(key, field);
+        }
+    }
+
+    @Override
+    public void pipelined(final @NonNull Runnable writes) {
+        delegate.pipelined(writes);
+    }
+
+    /**
+     * 接收其它节点发布的失效消息。
+     */
+    @Override
+    public void onMessage(final @NonNull Message message, final @Nullable byte[] pattern) {
+        final Invalidation invalidation = Json.toObject(new String(message.getBody(), StandardCharsets.UTF_8),
+                Invalidation.class);
+        if (invalidation == null || node.equals(invalidation.node())) {
+            return;
+        }
+        logger.debug("<== near cache invalidate: key={},field={},node={}", invalidation.key(), invalidation.field(),
+                invalidation.node());
+        evictLocal(invalidation.key(), invalidation.field());
+    }
+
+    /**
+     * 返回按缓存 key 前缀统计的本地缓存指标。
+     *
+     * @return 缓存 key 前缀 -> 指标
+     */
+    @NonNull
+    public Map<String, NearCacheStats> getStats() {
+        return Collections.unmodifiableMap(stats);
+    }
+
+    public long size() {
+        local.cleanUp();
+        return local.estimatedSize();
+    }
+
+    private void invalidate(final Object key, final @Nullable Object field) {
+        final NearKey nearKey = NearKey.of(key, field);
+        evictLocal(nearKey.key(), nearKey.field());
+        publish(nearKey);
+    }
+
+    private long stamp(final NearKey key) {
+        return stamps.get(slot(key.key()));
+    }
+
+    private static int slot(final String key) {
+        final int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STAMPS - 1);
+    }
+
+    /**
+     * 回填本地缓存，读取 Redis 期间 key 被失效时不回填，回填后才被失效时移除刚回填的值。
+     */
+    private void fill(final NearKey key, final long stamp, final NearValue value) {
+        final int slot = slot(key.key());
+        if (stamps.get(slot) != stamp) {
+            return;
+        }
+        if (key.field() != null) {
+            hashKeys.add(key.key());
+        }
+        local.put(key, value);
+        if (stamps.get(slot) != stamp) {
+            local.invalidate(key);
+        }
+    }
+
+    private void evictLocal(final String key, final @Nullable String field) {
+        stamps.incrementAndGet(slot(key));
+        local.invalidate(new NearKey(key, field));
+        if (field == null && hashKeys.remove(key)) {
+            local.asMap().keySet().removeIf(it -> it.key().equals(key));
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void publish(final NearKey key) {
+        final RedisTemplate template = Redis.template();
+        if (template == null) {
+            return;
+        }
+        try {
+            final byte[] channel = properties.getChannel().getBytes(StandardCharsets.UTF_8);
+            final byte[] message = Json.toJson(new Invalidation(node, key.key(), key.field()))
+                    .getBytes(StandardCharsets.UTF_8);
+            template.execute((RedisCallback<Long>) connection -> connection.publish(channel, message));
+        } catch (Exception e) {
+            logger.warn("==> near cache publish invalidation failed: key={},field={}", key.key(), key.field(), e);
+        }
+    }
+
+    private NearCacheStats stats(final String key) {
+        final int index = key.indexOf(properties.getPrefixDelimiter());
+        final String prefix = index > 0 ? key.substring(0, index) : OTHERS;
+        final NearCacheStats current = stats.get(prefix);
+        if (current != null) {
+            return current;
+        }
+        if (stats.size() - (stats.containsKey(OTHERS) ? 1 : 0) >= properties.getMaximumStats()) {
+            return stats.computeIfAbsent(OTHERS, k -> new NearCacheStats());
+        }
+        return stats.computeIfAbsent(prefix, k -> new NearCacheStats());
+    }
+
+    private record NearKey(String key, @Nullable String field) {
+
+        static NearKey of(final Object key, final @Nullable Object field) {
+            return new NearKey(key.toString(), field == null ? null : field.toString());
+        }
+
+    }
+
+    private record NearValue(Type type, @Nullable Class<?> view, Object value) {
+
+        boolean matches(final Type type, final @Nullable Class<?> view) {
+            return this.type.equals(type) && Objects.equals(this.view, view);
+        }
+
+    }
+
+    /**
+     * 本地缓存失效消息
+     *
+     * @param node  发布消息的节点
+     * @param key   缓存 key
+     * @param field 缓存 field，为 {@code null} 时失效整个 key
+     */
+    record Invalidation(String node, String key, @Nullable String field) {
+
+    }
+
+}
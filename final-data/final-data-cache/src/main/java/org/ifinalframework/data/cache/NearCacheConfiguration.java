@@ -0,0 +1,55 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 启用 {@code final.cache.near.enable=true} 时，注册 {@link NearCache} 及其失效消息的监听容器。
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see NearCache
+ * @since 1.6.0
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(NearCacheProperties.class)
+@ConditionalOnProperty(prefix = NearCacheProperties.PREFIX, name = "enable", havingValue = "true")
+public class NearCacheConfiguration {
+
+    @Bean
+    public NearCache nearCache(final RedisCache redisCache, final NearCacheProperties properties) {
+        return new NearCache(redisCache, properties);
+    }
+
+    @Bean
+    public RedisMessageListenerContainer nearCacheMessageListenerContainer(final RedisConnectionFactory connectionFactory,
+                                                                           final NearCache nearCache,
+                                                                           final NearCacheProperties properties) {
+        final RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(nearCache, new ChannelTopic(properties.getChannel()));
+        return container;
+    }
+
+}
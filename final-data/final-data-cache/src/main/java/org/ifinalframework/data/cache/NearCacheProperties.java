@@ -0,0 +1,72 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+import lombok.Data;
+
+/**
+ * 二级缓存（本地 L1 + Redis L2）配置。
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see NearCache
+ * @since 1.6.0
+ */
+@Data
+@ConfigurationProperties(prefix = NearCacheProperties.PREFIX)
+public class NearCacheProperties implements Serializable {
+
+    public static final String PREFIX = "final.cache.near";
+
+    private static final long serialVersionUID = -3521873906152337561L;
+
+    /**
+     * 是否启用本地缓存
+     */
+    private Boolean enable = false;
+
+    /**
+     * 本地缓存的最大条目数
+     */
+    private Long maximumSize = 10_000L;
+
+    /**
+     * 本地缓存的有效时间，即使失效消息丢失，本地缓存最多也只会脏这么久。
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * 本地缓存失效通知的 Redis channel
+     */
+    private String channel = "final:cache:near:invalidate";
+
+    /**
+     * 统计指标时，缓存 key 前缀的分隔符
+     */
+    private String prefixDelimiter = ":";
+
+    /**
+     * 统计指标的最大前缀数（不含 {@link NearCache#OTHERS}），超出的前缀及不含分隔符的 key 合并统计到 {@link NearCache#OTHERS}
+     */
+    private Integer maximumStats = 256;
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.cache;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.cache.annotation.Cache;
+import org.ifinalframework.cache.annotation.CacheValueCodec;
+
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 非阻塞的缓存器，用于返回 {@link java.util.concurrent.CompletionStage} 或 {@link Mono} 的方法，缓存命中时不阻塞调用线程。
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see Cache
+ * @see ReactiveRedisCache
+ * @since 1.6.0
+ */
+public interface ReactiveCache {
+
+    /**
+     * 获取缓存值
+     *
+     * @param key   缓存 key
+     * @param field 缓存 field
+     * @param type  值类型
+     * @param view  视图
+     * @param codec 值编解码器，为 {@code null} 时使用默认的 JSON 编解码器。
+     * @param <T>   值类型
+     * @return 缓存值，不存在时为空。
+     * @see Cache#get(Object, Object, Type, Class, CacheValueCodec)
+     */
+    <T> Mono<T> get(@NonNull Object key, @Nullable Object field, @NonNull Type type, @Nullable Class<?> view,
+                    @Nullable CacheValueCodec codec);
+
+    /**
+     * 设置缓存值
+     *
+     * @param key      缓存 key
+     * @param field    缓存 field
+     * @param value    缓存值
+     * @param ttl      有效时间
+     * @param timeUnit 有效时间单位
+     * @param view     视图
+     * @param codec    值编解码器
+     * @return 完成信号
+     * @see Cache#set(Object, Object, Object, Long, TimeUnit, Class, CacheValueCodec)
+     */
+    Mono<Void> set(@NonNull Object key, @Nullable Object field, @Nullable Object value, @Nullable Long ttl,
+                   @Nullable TimeUnit timeUnit, @Nullable Class<?> view, @Nullable CacheValueCodec codec);
+
+    /**
+     * 删除缓存
+     *
+     * @param key   缓存 key
+     * @param field 缓存 field
+     * @return 是否删除
+     * @see Cache#del(Object, Object)
+     */
+    Mono<Boolean> del(@NonNull Object key, @Nullable Object field);
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.cache;
+
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.cache.annotation.CacheValueCodec;
+import org.ifinalframework.data.cache.codec.JsonCacheValueCodec;
+import org.ifinalframework.data.redis.Redis;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 基于 {@link ReactiveRedisTemplate} 的 {@link ReactiveCache}，与 {@link RedisCache} 使用相同的 key 序列化及数据结构。
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see RedisCache
+ * @since 1.6.0
+ */
+@SuppressWarnings("rawtypes")
+public class ReactiveRedisCache implements ReactiveCache {
+
+    private static final Long ONE = 1L;
+
+    private static final RedisScript<Long> HSET_PEXPIRE = RedisScript.of("redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) "
+            + "return redis.call('PEXPIRE', KEYS[1], ARGV[3])", Long.class);
+
+    private final ReactiveRedisTemplate<byte[], byte[]> template;
+
+    public ReactiveRedisCache(final ReactiveRedisConnectionFactory connectionFactory) {
+        this.template = new ReactiveRedisTemplate<>(connectionFactory, RedisSerializationContext.byteArray());
+    }
+
+    @Override
+    public <T> Mono<T> get(final @NonNull Object key, final @Nullable Object field, final @NonNull Type type,
+                           final @Nullable Class<?> view, final @Nullable CacheValueCodec codec) {
+
+        final RedisTemplate redis = Redis.template();
+        final byte[] rawKey = rawKey(redis, key);
+        final Mono<byte[]> rawValue = field == null ? template.opsForValue().get(rawKey)
+                : template.<byte[], byte[]>opsForHash().get(rawKey, rawHashKey(redis, field));
+        return rawValue.mapNotNull(value -> codec(codec).decode(value, type, view));
+    }
+
+    @Override
+    public Mono<Void> set(final @NonNull Object key, final @Nullable Object field, final @Nullable Object value,
+                          final @Nullable Long ttl, final @Nullable TimeUnit timeUnit, final @Nullable Class<?> view,
+                          final @Nullable CacheValueCodec codec) {
+
+        final RedisTemplate redis = Redis.template();
+        final byte[] rawKey = rawKey(redis, key);
+        final byte[] rawValue = codec(codec).encode(value, view);
+        final boolean expire = ttl != null && ttl > 0 && timeUnit != null;
+        if (field == null) {
+            return (expire ? template.opsForValue().set(rawKey, rawValue, Duration.of(ttl, timeUnit.toChronoUnit()))
+                    : template.opsForValue().set(rawKey, rawValue)).then();
+        }
+        final byte[] rawField = rawHashKey(redis, field);
+        if (!expire) {
+            return template.<byte[], byte[]>opsForHash().put(rawKey, rawField, rawValue).then();
+        }
+        final byte[] rawTtl = String.valueOf(timeUnit.toMillis(ttl)).getBytes(StandardCharsets.UTF_8);
+        return template.execute(HSET_PEXPIRE, Collections.singletonList(rawKey), Arrays.asList(rawField, rawValue, rawTtl))
+                .then();
+    }
+
+    @Override
+    public Mono<Boolean> del(final @NonNull Object key, final @Nullable Object field) {
+
+        final RedisTemplate redis = Redis.template();
+        final byte[] rawKey = rawKey(redis, key);
+        return field == null ? template.delete(rawKey).map(ONE::equals)
+                : template.<byte[], byte[]>opsForHash().remove(rawKey, rawHashKey(redis, field)).map(ONE::equals);
+    }
+
+    private static byte[] rawKey(final RedisTemplate template, final Object key) {
+        return template.getKeySerializer().serialize(key);
+    }
+
+    private static byte[] rawHashKey(final RedisTemplate template, final Object field) {
+        return template.getHashKeySerializer().serialize(field);
+    }
+
+    private static CacheValueCodec codec(final @Nullable CacheValueCodec codec) {
+        return codec == null ? JsonCacheValueCodec.INSTANCE : codec;
+    }
+
+}
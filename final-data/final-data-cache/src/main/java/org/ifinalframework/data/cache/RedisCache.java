@@ -17,29 +17,53 @@
 package org.ifinalframework.data.cache;
 
 import org.springframework.context.annotation.Primary;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 
 import org.ifinalframework.cache.annotation.Cache;
+import org.ifinalframework.cache.annotation.CacheValueCodec;
+import org.ifinalframework.data.cache.codec.JsonCacheValueCodec;
 import org.ifinalframework.data.redis.Redis;
-import org.ifinalframework.json.Json;
 
 import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
+ * @see CacheValueCodec
  * @since 1.0.0
  */
-@SuppressWarnings("unchecked")
+@SuppressWarnings({"rawtypes", "unchecked"})
 @Primary
 @Component
 public class RedisCache implements Cache {
 
     private static final Long ONE = 1L;
 
+    /**
+     * <code>HSET</code> and <code>PEXPIRE</code> in one round trip.
+     */
+    private static final byte[] HSET_PEXPIRE = ("redis.call('HSET', KEYS[1], ARGV[1], ARGV[2]) "
+            + "return redis.call('PEXPIRE', KEYS[1], ARGV[3])").getBytes(StandardCharsets.UTF_8);
+
     @Override
     public boolean lock(final @NonNull Object key, final @NonNull Object value, final @Nullable Long ttl,
                         final @Nullable TimeUnit timeUnit) {
@@ -47,6 +71,13 @@ public class RedisCache implements Cache {
         return Redis.lock(key, value, ttl, timeUnit);
     }
 
+    @Override
+    public boolean lock(final @NonNull Object key, final @NonNull Object value, final @Nullable Long ttl,
+                        final @NonNull TimeUnit timeUnit, final long wait, final boolean watchdog) {
+
+        return Redis.lock(key, value, ttl, timeUnit, wait, watchdog);
+    }
+
     @Override
     public boolean unlock(final @NonNull Object key, final @NonNull Object value) {
 
@@ -65,36 +96,157 @@ public class RedisCache implements Cache {
         return Boolean.TRUE.equals(Redis.key().expire(key, ttl, timeUnit));
     }
 
+    @Override
+    public Long ttl(final @NonNull Object key, final @NonNull TimeUnit timeUnit) {
+
+        return Redis.key().getExpire(key, timeUnit);
+    }
+
     @Override
     public void set(final @NonNull Object key, final @Nullable Object field, final @Nullable Object value,
                     final @Nullable Long ttl,
                     final @Nullable TimeUnit timeUnit, final @Nullable Class<?> view) {
 
-        final Object cacheValue = view == null ? Json.toJson(value) : Json.toJson(value, view);
-        if (field == null) {
-            if (ttl != null && ttl > 0 && timeUnit != null) {
-                Redis.value().set(key, cacheValue, ttl, timeUnit);
+        set(key, field, value, ttl, timeUnit, view, null);
+    }
+
+    @Override
+    public void set(final @NonNull Object key, final @Nullable Object field, final @Nullable Object value,
+                    final @Nullable Long ttl, final @Nullable TimeUnit timeUnit, final @Nullable Class<?> view,
+                    final @Nullable CacheValueCodec codec) {
+
+        final RedisTemplate template = Redis.template();
+        final byte[] rawKey = rawKey(template, key);
+        final byte[] rawValue = codec(codec).encode(value, view);
+        final boolean expire = ttl != null && ttl > 0 && timeUnit != null;
+        template.execute((RedisCallback<Object>) connection -> {
+            if (field == null) {
+                if (expire) {
+                    connection.stringCommands().set(rawKey, rawValue, Expiration.from(ttl, timeUnit),
+                            RedisStringCommands.SetOption.upsert());
+                } else {
+                    connection.stringCommands().set(rawKey, rawValue);
+                }
             } else {
-                Redis.value().set(key, cacheValue);
-            }
-        } else {
-            Redis.hash().put(key, field, cacheValue);
-            if (ttl != null && ttl > 0 && timeUnit != null) {
-                Redis.key().expire(key, ttl, timeUnit);
+                hashSet(connection, rawKey, rawHashKey(template, field), rawValue, expire ? timeUnit.toMillis(ttl) : -1L);
             }
-        }
+            return null;
+        });
     }
 
     @Override
     public <T> T get(final @NonNull Object key, final @Nullable Object field, final @NonNull Type type,
                      final @Nullable Class<?> view) {
 
-        final Object cacheValue = field == null ? Redis.value().get(key) : Redis.hash().get(key, field);
-        if (cacheValue == null) {
+        return get(key, field, type, view, null);
+    }
+
+    @Override
+    public <T> T get(final @NonNull Object key, final @Nullable Object field, final @NonNull Type type,
+                     final @Nullable Class<?> view, final @Nullable CacheValueCodec codec) {
+
+        final RedisTemplate template = Redis.template();
+        final byte[] rawKey = rawKey(template, key);
+        final byte[] rawValue = (byte[]) template.execute((RedisCallback<byte[]>) connection -> field == null
+                ? connection.stringCommands().get(rawKey)
+                : connection.hashCommands().hGet(rawKey, rawHashKey(template, field)));
+        if (rawValue == null) {
             return null;
         }
-        final String json = cacheValue.toString();
-        return view == null ? Json.toObject(json, type) : Json.toObject(json, type, view);
+        return codec(codec).decode(rawValue, type, view);
+    }
+
+    @Override
+    public <T> List<T> multiGet(final @NonNull List<?> keys, final @Nullable List<?> fields, final @NonNull Type type,
+                                final @Nullable Class<?> view, final @Nullable CacheValueCodec codec) {
+
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final RedisTemplate template = Redis.template();
+        final List<byte[]> rawValues = fields == null ? multiGetValues(template, keys)
+                : multiGetHashValues(template, keys, fields);
+        final CacheValueCodec valueCodec = codec(codec);
+        final List<T> values = new ArrayList<>(keys.size());
+        for (byte[] rawValue : rawValues) {
+            values.add(rawValue == null ? null : valueCodec.decode(rawValue, type, view));
+        }
+        return values;
+    }
+
+    /**
+     * <a href="http://doc.redisfans.com/string/mget.html">MGET</a>
+     */
+    private List<byte[]> multiGetValues(final RedisTemplate template, final List<?> keys) {
+        final byte[][] rawKeys = new byte[keys.size()][];
+        for (int i = 0; i < rawKeys.length; i++) {
+            rawKeys[i] = rawKey(template, keys.get(i));
+        }
+        final List<byte[]> rawValues = (List<byte[]>) template.execute(
+                (RedisCallback<List<byte[]>>) connection -> connection.stringCommands().mGet(rawKeys));
+        return rawValues == null ? Collections.nCopies(keys.size(), null) : rawValues;
+    }
+
+    /**
+     * One <a href="http://doc.redisfans.com/hash/hmget.html">HMGET</a> per distinct key in a pipeline.
+     */
+    private List<byte[]> multiGetHashValues(final RedisTemplate template, final List<?> keys, final List<?> fields) {
+        final Map<Object, List<Integer>> indexes = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            indexes.computeIfAbsent(keys.get(i), k -> new ArrayList<>()).add(i);
+        }
+        final List<Object> results = template.executePipelined((RedisCallback<Object>) connection -> {
+            for (Map.Entry<Object, List<Integer>> entry : indexes.entrySet()) {
+                final byte[][] rawFields = new byte[entry.getValue().size()][];
+                for (int i = 0; i < rawFields.length; i++) {
+                    rawFields[i] = rawHashKey(template, fields.get(entry.getValue().get(i)));
+                }
+                connection.hashCommands().hMGet(rawKey(template, entry.getKey()), rawFields);
+            }
+            return null;
+        }, RedisSerializer.byteArray());
+
+        final byte[][] rawValues = new byte[keys.size()][];
+        int group = 0;
+        for (List<Integer> positions : indexes.values()) {
+            final List<byte[]> values = (List<byte[]>) results.get(group++);
+            for (int i = 0; i < positions.size(); i++) {
+                rawValues[positions.get(i)] = values.get(i);
+            }
+        }
+        return Arrays.asList(rawValues);
+    }
+
+    @Override
+    public void multiSet(final @NonNull List<?> keys, final @Nullable List<?> fields, final @NonNull List<?> values,
+                         final @Nullable Long ttl, final @Nullable TimeUnit timeUnit, final @Nullable Class<?> view,
+                         final @Nullable CacheValueCodec codec) {
+
+        if (keys.isEmpty()) {
+            return;
+        }
+        final RedisTemplate template = Redis.template();
+        final CacheValueCodec valueCodec = codec(codec);
+        final boolean expire = ttl != null && ttl > 0 && timeUnit != null;
+        template.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < keys.size(); i++) {
+                final byte[] rawKey = rawKey(template, keys.get(i));
+                final byte[] rawValue = valueCodec.encode(values.get(i), view);
+                final Object field = fields == null ? null : fields.get(i);
+                if (field == null) {
+                    if (expire) {
+                        connection.stringCommands().set(rawKey, rawValue, Expiration.from(ttl, timeUnit),
+                                RedisStringCommands.SetOption.upsert());
+                    } else {
+                        connection.stringCommands().set(rawKey, rawValue);
+                    }
+                } else {
+                    hashSet(connection, rawKey, rawHashKey(template, field), rawValue,
+                            expire ? timeUnit.toMillis(ttl) : -1L);
+                }
+            }
+            return null;
+        });
     }
 
     @Override
@@ -116,4 +268,38 @@ public class RedisCache implements Cache {
                 : ONE.equals(Redis.hash().delete(key, field));
     }
 
+    @Override
+    public void pipelined(final @NonNull Runnable writes) {
+
+        Redis.template().executePipelined(new SessionCallback<Object>() {
+            @Override
+            public Object execute(final @NonNull RedisOperations operations) {
+                writes.run();
+                return null;
+            }
+        });
+    }
+
+    private static void hashSet(final RedisConnection connection, final byte[] rawKey, final byte[] rawField,
+                                final byte[] rawValue, final long ttl) {
+        if (ttl > 0) {
+            connection.scriptingCommands().eval(HSET_PEXPIRE, ReturnType.INTEGER, 1, rawKey, rawField, rawValue,
+                    String.valueOf(ttl).getBytes(StandardCharsets.UTF_8));
+        } else {
+            connection.hashCommands().hSet(rawKey, rawField, rawValue);
+        }
+    }
+
+    private static byte[] rawKey(final RedisTemplate template, final Object key) {
+        return template.getKeySerializer().serialize(key);
+    }
+
+    private static byte[] rawHashKey(final RedisTemplate template, final Object field) {
+        return template.getHashKeySerializer().serialize(field);
+    }
+
+    private static CacheValueCodec codec(final @Nullable CacheValueCodec codec) {
+        return codec == null ? JsonCacheValueCodec.INSTANCE : codec;
+    }
+
 }
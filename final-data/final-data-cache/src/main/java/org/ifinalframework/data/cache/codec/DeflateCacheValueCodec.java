@@ -0,0 +1,112 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.cache.codec;
+
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.cache.annotation.CacheValueCodec;
+import org.ifinalframework.data.cache.CacheException;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * 编码后的字节超过阈值时使用 {@link Deflater} 压缩，压缩后的数据以 {@link #COMPRESSED} 开头，
+ * 解码时据此判断是否需要解压，因此可以读取未压缩的数据。
+ *
+ * <p>{@code 0xFF} 不会出现在 UTF-8 JSON、Smile 或 CBOR 数据的开头。</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class DeflateCacheValueCodec implements CacheValueCodec {
+
+    public static final int DEFAULT_THRESHOLD = 1024;
+
+    private static final byte COMPRESSED = (byte) 0xFF;
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private final CacheValueCodec delegate;
+
+    private final int threshold;
+
+    public DeflateCacheValueCodec() {
+        this(JsonCacheValueCodec.INSTANCE, DEFAULT_THRESHOLD);
+    }
+
+    public DeflateCacheValueCodec(final CacheValueCodec delegate, final int threshold) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public byte[] encode(final @Nullable Object value, final @Nullable Class<?> view) {
+        final byte[] bytes = delegate.encode(value, view);
+        if (bytes == null || bytes.length < threshold) {
+            return bytes;
+        }
+
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 2 + 1);
+            out.write(COMPRESSED);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    @Override
+    public <T> T decode(final byte[] bytes, final Type type, final @Nullable Class<?> view) {
+        if (bytes.length == 0 || bytes[0] != COMPRESSED) {
+            return delegate.decode(bytes, type, view);
+        }
+
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes, 1, bytes.length - 1);
+            final ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+            final byte[] buffer = new byte[BUFFER_SIZE];
+            while (!inflater.finished()) {
+                final int n = inflater.inflate(buffer);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new CacheException("truncated compressed cache value: " + Arrays.toString(
+                            Arrays.copyOf(bytes, Math.min(bytes.length, 16))));
+                }
+                out.write(buffer, 0, n);
+            }
+            return delegate.decode(out.toByteArray(), type, view);
+        } catch (DataFormatException e) {
+            throw new CacheException(e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.cache.codec;
+
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.cache.annotation.CacheValueCodec;
+import org.ifinalframework.data.cache.CacheException;
+import org.ifinalframework.json.jackson.ObjectMapperFactory;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * 使用 {@link ObjectMapper} 直接在字节上编解码缓存值，不再经过中间的 {@link String}。
+ *
+ * <p>默认使用 JSON，传入二进制格式的 {@link ObjectMapper} 即可使用 Smile 或 CBOR：</p>
+ * <pre class="code">
+ * public class SmileCacheValueCodec extends JacksonCacheValueCodec {
+ *     public SmileCacheValueCodec() {
+ *         super(new ObjectMapperFactory(new ObjectMapper(new SmileFactory())).create());
+ *     }
+ * }
+ * </pre>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class JacksonCacheValueCodec implements CacheValueCodec {
+
+    private final ObjectMapper objectMapper;
+
+    public JacksonCacheValueCodec() {
+        this(new ObjectMapperFactory().create());
+    }
+
+    public JacksonCacheValueCodec(final ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public byte[] encode(final @Nullable Object value, final @Nullable Class<?> view) {
+        try {
+            return view == null ? objectMapper.writeValueAsBytes(value)
+                    : objectMapper.writerWithView(view).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new CacheException(e);
+        }
+    }
+
+    @Override
+    public <T> T decode(final byte[] bytes, final Type type, final @Nullable Class<?> view) {
+        final JavaType javaType = objectMapper.getTypeFactory().constructType(type);
+        final ObjectReader reader = view == null ? objectMapper.readerFor(javaType)
+                : objectMapper.readerWithView(view).forType(javaType);
+        try {
+            return reader.readValue(bytes);
+        } catch (IOException e) {
+            throw new CacheException(e);
+        }
+    }
+
+}
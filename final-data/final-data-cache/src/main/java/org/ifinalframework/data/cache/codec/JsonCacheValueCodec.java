@@ -0,0 +1,50 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.cache.codec;
+
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.cache.annotation.CacheValueCodec;
+import org.ifinalframework.json.Json;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 使用 {@link Json} 将缓存值编码为 {@code UTF-8} 的 JSON 文本，与之前写入缓存的数据格式兼容，也是默认的编解码器。
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+public class JsonCacheValueCodec implements CacheValueCodec {
+
+    public static final JsonCacheValueCodec INSTANCE = new JsonCacheValueCodec();
+
+    @Override
+    public byte[] encode(final @Nullable Object value, final @Nullable Class<?> view) {
+        final String json = view == null ? Json.toJson(value) : Json.toJson(value, view);
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public <T> T decode(final byte[] bytes, final Type type, final @Nullable Class<?> view) {
+        final String json = new String(bytes, StandardCharsets.UTF_8);
+        return view == null ? Json.toObject(json, type) : Json.toObject(json, type, view);
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.cache;
+
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.lang.NonNull;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import org.ifinalframework.cache.annotation.Cache;
+import org.ifinalframework.cache.annotation.CacheLock;
+import org.ifinalframework.cache.annotation.CacheValue;
+import org.ifinalframework.cache.annotation.Cacheable;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * AsyncCacheableTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@ExtendWith(MockitoExtension.class)
+class AsyncCacheableTest {
+
+    private final Map<Object, Object> store = new ConcurrentHashMap<>();
+
+    @Mock
+    private Cache cache;
+
+    private AsyncService target;
+
+    private AsyncService proxy;
+
+    private MockCacheAdvisor advisor;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(cache.get(any(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> store.get(invocation.getArgument(0)));
+        lenient().doAnswer(invocation -> store.put(invocation.getArgument(0), invocation.getArgument(2)))
+                .when(cache).set(any(), any(), any(), any(), any(), any(), any());
+
+        target = new AsyncService();
+        final ProxyFactory factory = new ProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        advisor = new MockCacheAdvisor(cache);
+        factory.addAdvisor(advisor);
+        proxy = (AsyncService) factory.getProxy();
+    }
+
+    @Test
+    void future() throws Exception {
+        final CompletableFuture<Integer> loading = new CompletableFuture<>();
+        target.future = loading;
+
+        final CompletableFuture<Integer> miss = proxy.future(1);
+        // the value is cached when the future completes.
+        assertFalse(store.containsKey("future:1"));
+        loading.complete(1);
+        assertEquals(1, miss.get());
+        assertEquals(1, store.get("future:1"));
+
+        assertEquals(1, proxy.future(1).get());
+        assertEquals(1, target.invocations.get());
+    }
+
+    @Test
+    void proceedOffLookupThread() throws Exception {
+        final ExecutorService lookups = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "lookup"));
+        try {
+            final ReactiveCache reactiveCache = mock(ReactiveCache.class);
+            when(reactiveCache.get(any(), any(), any(), any(), any())).thenAnswer(invocation ->
+                    Mono.fromFuture(CompletableFuture.supplyAsync(() -> null, lookups)));
+            when(reactiveCache.set(any(), any(), any(), any(), any(), any(), any())).thenReturn(Mono.empty());
+            handler().setReactiveCache(reactiveCache);
+            lenient().when(cache.get(eq("injected"), any(), any(), any())).thenReturn("hello");
+
+            // the handlers after the lookup run on a miss, and the method does not run on the lookup thread.
+            assertEquals("hello", proxy.thread(1, null).get(5, TimeUnit.SECONDS));
+            assertNotEquals("lookup", target.thread);
+        } finally {
+            lookups.shutdownNow();
+        }
+    }
+
+    @Test
+    void unlockWhenMonoCancelled() {
+        when(cache.lock(any(), any(), any(), any(), anyLong(), anyBoolean())).thenReturn(true);
+
+        proxy.locked(3).subscribe().dispose();
+
+        verify(cache).unlock(eq("lock:3"), any());
+    }
+
+    @Test
+    void mono() {
+        assertEquals(2, proxy.mono(2).block());
+        assertEquals(2, store.get("mono:2"));
+
+        assertEquals(2, proxy.mono(2).block());
+        assertEquals(1, target.invocations.get());
+    }
+
+    private CacheableInterceptorHandler handler() {
+        return (CacheableInterceptorHandler) ReflectionTestUtils.getField(advisor, "cacheableInterceptorHandler");
+    }
+
+    static class AsyncService {
+
+        private final AtomicInteger invocations = new AtomicInteger();
+
+        private CompletableFuture<Integer> future;
+
+        private volatile String thread;
+
+        @Cacheable(key = {"future", "#{#key}"})
+        public CompletableFuture<Integer> future(final Integer key) {
+            invocations.incrementAndGet();
+            return future;
+        }
+
+        @Cacheable(key = {"mono", "#{#key}"})
+        public Mono<Integer> mono(final Integer key) {
+            invocations.incrementAndGet();
+            return Mono.just(key);
+        }
+
+        @CacheLock(key = {"lock", "#{#key}"})
+        public Mono<Integer> locked(final Integer key) {
+            return Mono.never();
+        }
+
+        @Cacheable(key = {"thread", "#{#key}"})
+        public CompletableFuture<String> thread(final Integer key, @CacheValue(key = "injected") final String value) {
+            thread = Thread.currentThread().getName();
+            return CompletableFuture.completedFuture(value);
+        }
+
+    }
+
+    private static final class MockCacheAdvisor extends CacheAnnotationPointAdvisor {
+
+        private final Cache cache;
+
+        private MockCacheAdvisor(final Cache cache) {
+            this.cache = cache;
+        }
+
+        @NonNull
+        @Override
+        protected Cache getExecutor(final AnnotationAttributes annotation) {
+            return cache;
+        }
+
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.cache;
+
+import org.springframework.core.annotation.AnnotationAttributes;
+
+import org.ifinalframework.aop.DefaultInvocationContext;
+import org.ifinalframework.aop.InvocationContext;
+import org.ifinalframework.cache.annotation.BatchCacheable;
+import org.ifinalframework.cache.annotation.Cache;
+import org.ifinalframework.context.expression.MethodMetadata;
+import org.ifinalframework.util.Reflections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * BatchCacheableInterceptorHandlerTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchCacheableInterceptorHandlerTest {
+
+    private final BatchCacheableInterceptorHandler handler = new BatchCacheableInterceptorHandler();
+
+    @Mock
+    private Cache cache;
+
+    @Test
+    void partialHit() {
+        final Method method = Reflections.findRequiredMethod(CacheServiceImpl.class, "selectByIds", List.class);
+        final AnnotationAttributes annotation = Reflections.getAnnotationAttributes(
+                method.getAnnotation(BatchCacheable.class));
+        final List<Integer> ids = Arrays.asList(1, 2, 3);
+        final InvocationContext context = new DefaultInvocationContext(
+                new MethodMetadata(method, CacheServiceImpl.class), new CacheServiceImpl(), new Object[]{ids});
+
+        when(cache.multiGet(eq(Arrays.asList("user:1", "user:2", "user:3")), isNull(), eq(Integer.class), isNull(),
+                isNull())).thenReturn(Arrays.asList(1, null, 3));
+
+        assertNull(handler.before(cache, context, annotation));
+        assertEquals(List.of(2), context.args()[0]);
+        assertTrue(handler.isConditionPassing(context, "#{#p0.size() == 1}", null, null));
+
+        final List<Integer> result = new CacheServiceImpl().selectByIds((List<Integer>) context.args()[0]);
+        handler.afterReturning(cache, context, annotation, result);
+        handler.after(cache, context, annotation, result, null);
+
+        verify(cache).multiSet(eq(List.of("user:2")), isNull(), eq(List.of(2)), eq(-1L), any(), isNull(), isNull());
+        assertEquals(List.of(1, 2, 3), context.getResult(result));
+        assertEquals(ids, context.args()[0]);
+        assertFalse(handler.isConditionPassing(context, "#{#p0.size() == 1}", null, null));
+    }
+
+    @Test
+    void allHit() {
+        final Method method = Reflections.findRequiredMethod(CacheServiceImpl.class, "selectByIds", List.class);
+        final AnnotationAttributes annotation = Reflections.getAnnotationAttributes(
+                method.getAnnotation(BatchCacheable.class));
+        final InvocationContext context = new DefaultInvocationContext(
+                new MethodMetadata(method, CacheServiceImpl.class), new CacheServiceImpl(),
+                new Object[]{Arrays.asList(1, 2)});
+
+        when(cache.multiGet(any(), isNull(), eq(Integer.class), isNull(), isNull())).thenReturn(Arrays.asList(1, 2));
+
+        assertEquals(List.of(1, 2), handler.before(cache, context, annotation));
+        assertNull(handler.createEvaluationContext(context, null, null).lookupVariable("item"));
+    }
+
+}
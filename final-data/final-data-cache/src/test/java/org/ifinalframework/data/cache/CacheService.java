@@ -18,6 +18,8 @@ package org.ifinalframework.data.cache;
 
 import org.ifinalframework.cache.annotation.Cacheable;
 
+import java.util.List;
+
 /**
  * @author iimik
  * @version 1.0.0
@@ -28,4 +30,6 @@ public interface CacheService {
     @Cacheable(key = "${key}")
     Integer cacheable(Integer key);
 
+    List<Integer> selectByIds(List<Integer> ids);
+
 }
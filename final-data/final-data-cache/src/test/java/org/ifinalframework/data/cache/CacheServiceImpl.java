@@ -16,8 +16,11 @@
 
 package org.ifinalframework.data.cache;
 
+import org.ifinalframework.cache.annotation.BatchCacheable;
 import org.ifinalframework.cache.annotation.Cacheable;
 
+import java.util.List;
+
 /**
  * @author iimik
  * @version 1.0.0
@@ -32,4 +35,11 @@ public class CacheServiceImpl implements CacheService {
         return key;
     }
 
+    @Override
+    @BatchCacheable(key = "user:#{#item}", id = "#{#item}")
+    public List<Integer> selectByIds(final List<Integer> ids) {
+
+        return ids;
+    }
+
 }
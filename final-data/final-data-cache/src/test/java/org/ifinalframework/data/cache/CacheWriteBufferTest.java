@@ -0,0 +1,122 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ifinalframework.data.cache;
+
+import org.ifinalframework.aop.DefaultInvocationContext;
+import org.ifinalframework.cache.annotation.Cache;
+import org.ifinalframework.context.expression.MethodMetadata;
+import org.ifinalframework.core.aop.JoinPoint;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CacheWriteBufferTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheWriteBufferTest {
+
+    @Mock
+    private Cache cache;
+
+    @Mock
+    private MethodMetadata metadata;
+
+    private DefaultInvocationContext context;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        when(metadata.getMethod()).thenReturn(Object.class.getMethod("toString"));
+        context = new DefaultInvocationContext(metadata, this, new Object[0]);
+    }
+
+    @Test
+    void flushOnComplete() {
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(cache).pipelined(any());
+
+        final CacheWritePipeline pipeline = new CacheWritePipeline(false);
+        final Cache buffer = pipeline.buffer(cache, context);
+        assertSame(buffer, pipeline.buffer(cache, context));
+
+        buffer.set("user:1", null, "haha", 10L, TimeUnit.SECONDS, null, null);
+        assertNull(buffer.del("user:2", null));
+        buffer.increment("user:count", null, 1L);
+        assertEquals(3, ((CacheWriteBuffer) buffer).size());
+
+        verify(cache, never()).set("user:1", null, "haha", 10L, TimeUnit.SECONDS, null, null);
+
+        context.complete();
+
+        final InOrder order = inOrder(cache);
+        order.verify(cache).pipelined(any());
+        order.verify(cache).set("user:1", null, "haha", 10L, TimeUnit.SECONDS, null, null);
+        order.verify(cache).del("user:2", null);
+        order.verify(cache).increment("user:count", null, 1L);
+
+        context.complete();
+        verify(cache, times(1)).pipelined(any());
+    }
+
+    @Test
+    void bufferAfterPointsOnly() {
+        final CacheDelInterceptorHandler handler = new CacheDelInterceptorHandler();
+        assertSame(cache, handler.writer(cache, context, JoinPoint.AFTER_RETURNING));
+
+        handler.setWritePipeline(new CacheWritePipeline(false));
+        assertSame(cache, handler.writer(cache, context, JoinPoint.BEFORE));
+        assertSame(cache, handler.writer(cache, context, JoinPoint.AFTER_THROWING));
+        assertInstanceOf(CacheWriteBuffer.class, handler.writer(cache, context, JoinPoint.AFTER_RETURNING));
+        assertSame(handler.writer(cache, context, JoinPoint.AFTER_RETURNING),
+                handler.writer(cache, context, JoinPoint.AFTER));
+    }
+
+    @Test
+    void flushAsyncBeforeDestroy() throws InterruptedException {
+        final CacheWritePipeline pipeline = new CacheWritePipeline(true);
+        pipeline.buffer(cache, context).del("user:1", null);
+
+        context.complete();
+        pipeline.destroy();
+
+        verify(cache).pipelined(any());
+    }
+
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.cache;
+
+import org.springframework.core.annotation.AnnotationAttributes;
+
+import org.ifinalframework.aop.DefaultInvocationContext;
+import org.ifinalframework.aop.InvocationContext;
+import org.ifinalframework.cache.annotation.Cache;
+import org.ifinalframework.cache.annotation.Cacheable;
+import org.ifinalframework.context.expression.MethodMetadata;
+import org.ifinalframework.util.Reflections;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * CacheableInterceptorHandlerTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheableInterceptorHandlerTest {
+
+    private static final int THREADS = 8;
+
+    private final CacheableInterceptorHandler handler = new CacheableInterceptorHandler();
+
+    private final Map<Object, Object> store = new ConcurrentHashMap<>();
+
+    @Mock
+    private Cache cache;
+
+    @Test
+    void singleFlight() throws Exception {
+        when(cache.get(any(), any(), any(), any(), any())).thenAnswer(invocation -> store.get(invocation.getArgument(0)));
+        doAnswer(invocation -> store.put(invocation.getArgument(0), invocation.getArgument(2)))
+                .when(cache).set(any(), any(), any(), any(), any(), any(), any());
+
+        final Method method = Reflections.findRequiredMethod(CacheServiceImpl.class, "cacheable", Integer.class);
+        final MethodMetadata metadata = new MethodMetadata(method, CacheServiceImpl.class);
+        final AnnotationAttributes annotation = Reflections.getAnnotationAttributes(method.getAnnotation(Cacheable.class));
+        annotation.put("key", new String[]{"user", "#{#key}"});
+        annotation.put("singleFlight", true);
+
+        final AtomicInteger invocations = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    final InvocationContext context = new DefaultInvocationContext(metadata, new CacheServiceImpl(),
+                            new Object[]{1});
+                    final Object value = handler.before(cache, context, annotation);
+                    if (value != null) {
+                        return value;
+                    }
+                    invocations.incrementAndGet();
+                    Thread.sleep(200);
+                    handler.afterReturning(cache, context, annotation, 1);
+                    handler.after(cache, context, annotation, 1, null);
+                    return 1;
+                }));
+            }
+            start.countDown();
+            for (Future<Object> future : futures) {
+                assertEquals(1, future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, invocations.get());
+        assertEquals(1, store.get("user:1"));
+    }
+
+    @Test
+    void singleFlightRetriesNullOneAtATime() throws Exception {
+        when(cache.get(any(), any(), any(), any(), any())).thenReturn(null);
+
+        final Method method = Reflections.findRequiredMethod(CacheServiceImpl.class, "cacheable", Integer.class);
+        final MethodMetadata metadata = new MethodMetadata(method, CacheServiceImpl.class);
+        final AnnotationAttributes annotation = Reflections.getAnnotationAttributes(method.getAnnotation(Cacheable.class));
+        annotation.put("key", new String[]{"user", "#{#key}"});
+        annotation.put("singleFlight", true);
+
+        final AtomicInteger loading = new AtomicInteger();
+        final AtomicInteger maxLoading = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            final List<Future<Object>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    final InvocationContext context = new DefaultInvocationContext(metadata, new CacheServiceImpl(),
+                            new Object[]{1});
+                    final Object value = handler.before(cache, context, annotation);
+                    if (value != null) {
+                        return value;
+                    }
+                    maxLoading.accumulateAndGet(loading.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    loading.decrementAndGet();
+                    handler.afterReturning(cache, context, annotation, null);
+                    handler.after(cache, context, annotation, null, null);
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<Object> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, maxLoading.get());
+    }
+
+    @Test
+    void conditionIsEvaluatedPerInvocation() {
+        final Method method = Reflections.findRequiredMethod(CacheServiceImpl.class, "cacheable", Integer.class);
+        final MethodMetadata metadata = new MethodMetadata(method, CacheServiceImpl.class);
+        final AnnotationAttributes annotation = Reflections.getAnnotationAttributes(method.getAnnotation(Cacheable.class));
+        annotation.put("condition", "#{#key > 1}");
+
+        for (int key = 1; key <= 2; key++) {
+            final InvocationContext context = new DefaultInvocationContext(metadata, new CacheServiceImpl(),
+                    new Object[]{key});
+            context.addAttribute("key", "user:" + key);
+            handler.afterReturning(cache, context, annotation, key);
+        }
+
+        verify(cache, never()).set(eq("user:1"), any(), any(), any(), any(), any(), any());
+        verify(cache).set(eq("user:2"), any(), any(), any(), any(), any(), any());
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.cache;
+
+import org.springframework.data.redis.connection.DefaultMessage;
+
+import org.ifinalframework.cache.annotation.Cache;
+import org.ifinalframework.json.Json;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * NearCacheTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@ExtendWith(MockitoExtension.class)
+class NearCacheTest {
+
+    @Mock
+    private Cache delegate;
+
+    private NearCache nearCache;
+
+    @BeforeEach
+    void setUp() {
+        nearCache = new NearCache(delegate, new NearCacheProperties());
+    }
+
+    @Test
+    void get() {
+        when(delegate.get("user:1", null, String.class, null, null)).thenReturn("haha");
+
+        assertEquals("haha", nearCache.get("user:1", null, String.class, null));
+        assertEquals("haha", nearCache.get("user:1", null, String.class, null));
+
+        verify(delegate, times(1)).get("user:1", null, String.class, null, null);
+        assertEquals(1, nearCache.getStats().get("user").getHits());
+        assertEquals(1, nearCache.getStats().get("user").getMisses());
+    }
+
+    @Test
+    void del() {
+        when(delegate.get("user:1", "name", String.class, null, null)).thenReturn("haha");
+
+        nearCache.get("user:1", "name", String.class, null);
+        nearCache.del("user:1", null);
+        nearCache.get("user:1", "name", String.class, null);
+
+        verify(delegate, times(2)).get("user:1", "name", String.class, null, null);
+    }
+
+    @Test
+    void set() {
+        when(delegate.get("user:1", null, String.class, null, null)).thenReturn("haha");
+
+        nearCache.get("user:1", null, String.class, null);
+        nearCache.set("user:1", null, "hehe", null, TimeUnit.MILLISECONDS, null);
+        nearCache.get("user:1", null, String.class, null);
+
+        verify(delegate, times(2)).get("user:1", null, String.class, null, null);
+    }
+
+    @Test
+    void onMessage() {
+        when(delegate.get("user:1", null, String.class, null, null)).thenReturn("haha");
+
+        nearCache.get("user:1", null, String.class, null);
+        assertEquals(1, nearCache.size());
+
+        final String body = Json.toJson(new NearCache.Invalidation("other", "user:1", null));
+        nearCache.onMessage(new DefaultMessage(new byte[0], body.getBytes(StandardCharsets.UTF_8)), null);
+        assertEquals(0, nearCache.size());
+    }
+
+    @Test
+    void fillWhenOtherKeyInvalidated() {
+        when(delegate.get("user:1", null, String.class, null, null)).thenAnswer(invocation -> {
+            nearCache.del("order:2", null);
+            return "haha";
+        });
+
+        nearCache.get("user:1", null, String.class, null);
+        nearCache.get("user:1", null, String.class, null);
+
+        verify(delegate, times(1)).get("user:1", null, String.class, null, null);
+    }
+
+    @Test
+    void skipFillWhenKeyInvalidated() {
+        when(delegate.get("user:1", null, String.class, null, null)).thenAnswer(invocation -> {
+            nearCache.del("user:1", null);
+            return "haha";
+        });
+
+        nearCache.get("user:1", null, String.class, null);
+        nearCache.get("user:1", null, String.class, null);
+
+        verify(delegate, times(2)).get("user:1", null, String.class, null, null);
+    }
+
+    @Test
+    void statsAreBounded() {
+        final NearCacheProperties properties = new NearCacheProperties();
+        properties.setMaximumStats(2);
+        nearCache = new NearCache(delegate, properties);
+
+        nearCache.get("user:1", null, String.class, null);
+        nearCache.get("order:1", null, String.class, null);
+        nearCache.get("item:1", null, String.class, null);
+        nearCache.get("no-prefix-1", null, String.class, null);
+        nearCache.get("no-prefix-2", null, String.class, null);
+
+        // user, order and others
+        assertEquals(3, nearCache.getStats().size());
+        assertEquals(1, nearCache.getStats().get("user").getMisses());
+        assertEquals(3, nearCache.getStats().get(NearCache.OTHERS).getMisses());
+    }
+
+}
@@ -0,0 +1,56 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.cache.codec;
+
+import org.ifinalframework.json.TypeReference;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * DeflateCacheValueCodecTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class DeflateCacheValueCodecTest {
+
+    private final DeflateCacheValueCodec codec = new DeflateCacheValueCodec(new JacksonCacheValueCodec(), 64);
+
+    @Test
+    void small() {
+        final byte[] bytes = codec.encode("haha", null);
+        assertEquals("haha", codec.decode(bytes, String.class, null));
+        assertEquals('"', bytes[0]);
+    }
+
+    @Test
+    void large() {
+        final List<String> value = Collections.nCopies(100, "haha");
+        final byte[] bytes = codec.encode(value, null);
+        assertTrue(bytes.length < new JacksonCacheValueCodec().encode(value, null).length);
+        assertEquals(value, codec.decode(bytes, new TypeReference<List<String>>() {
+        }.getType(), null));
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ifinalframework.data.cache.interceptor;
+
+import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+import org.ifinalframework.util.Reflections;
+
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import lombok.Data;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * DefaultCacheExpressionEvaluatorTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class DefaultCacheExpressionEvaluatorTest {
+
+    private final DefaultCacheExpressionEvaluator evaluator = new DefaultCacheExpressionEvaluator();
+
+    @Test
+    void key() throws Exception {
+        final Method method = Reflections.findRequiredMethod(DefaultCacheExpressionEvaluatorTest.class, "find",
+                User.class, Map.class);
+        final AnnotatedElementKey methodKey = new AnnotatedElementKey(method, DefaultCacheExpressionEvaluatorTest.class);
+
+        final EvaluationContext context = context(method, new User(1L, new User(2L, null)), Map.of("name", "haha"));
+        for (int i = 0; i < 200; i++) {
+            assertEquals("user:1", evaluator.key("user:#{#user.id}", methodKey, context));
+            assertEquals("user:2:haha", evaluator.key("user:#{#user.parent.id}:#{#map.name}", methodKey, context));
+            assertEquals(1L, evaluator.key("#{#user.id}", methodKey, context));
+            assertEquals("user:2", evaluator.key("user:#{#user.id + 1}", methodKey, context));
+        }
+
+        final EvaluationContext nullParent = context(method, new User(1L, null), Map.of());
+        assertThrows(SpelEvaluationException.class,
+                () -> evaluator.key("user:#{#user.parent.id}", methodKey, nullParent));
+    }
+
+    @Test
+    void mapWithoutMapAccessor() {
+        final Method method = Reflections.findRequiredMethod(DefaultCacheExpressionEvaluatorTest.class, "find",
+                User.class, Map.class);
+        final AnnotatedElementKey methodKey = new AnnotatedElementKey(method, DefaultCacheExpressionEvaluatorTest.class);
+
+        final StandardEvaluationContext context = new StandardEvaluationContext();
+        context.setVariable("map", Map.of("name", "haha"));
+        assertThrows(SpelEvaluationException.class, () -> evaluator.key("user:#{#map.name}", methodKey, context));
+    }
+
+    @Test
+    void getterIsInvokedOnceWhenThrows() {
+        final Method method = Reflections.findRequiredMethod(DefaultCacheExpressionEvaluatorTest.class, "find",
+                User.class, Map.class);
+        final AnnotatedElementKey methodKey = new AnnotatedElementKey(method, DefaultCacheExpressionEvaluatorTest.class);
+
+        final User user = new User(1L, null);
+        final EvaluationContext context = context(method, user, Map.of());
+        assertThrows(SpelEvaluationException.class, () -> evaluator.key("user:#{#user.broken}", methodKey, context));
+        assertEquals(1, user.reads);
+    }
+
+    private EvaluationContext context(final Method method, final Object... args) {
+        return evaluator.createEvaluationContext(method, args, this, DefaultCacheExpressionEvaluatorTest.class, method,
+                null, null);
+    }
+
+    String find(final User user, final Map<String, Object> map) {
+        return null;
+    }
+
+    @Data
+    public static class User {
+
+        private Long id;
+
+        private User parent;
+
+        private int reads;
+
+        public User(final Long id, final User parent) {
+            this.id = id;
+            this.parent = parent;
+        }
+
+        public String getBroken() {
+            reads++;
+            throw new IllegalStateException("broken");
+        }
+
+    }
+
+}
@@ -18,6 +18,7 @@ package org.ifinalframework.data.query;
 
 import org.springframework.core.ResolvableType;
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
 import org.ifinalframework.core.IRecord;
 import org.ifinalframework.core.IUser;
@@ -34,6 +35,7 @@ import java.io.Serializable;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -41,14 +43,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public class AbsQEntity<I extends Serializable, T> implements QEntity<I, T> {
@@ -69,6 +73,18 @@ public class AbsQEntity<I extends Serializable, T> implements QEntity<I, T> {
     private QProperty<?> versionProperty;
     private QProperty<?> tenantProperty;
 
+    private List<QProperty<?>> allProperties = Collections.emptyList();
+
+    private List<QProperty<?>> readableProperties = Collections.emptyList();
+
+    private List<QProperty<?>> writeableProperties = Collections.emptyList();
+
+    private List<QProperty<?>> modifiableProperties = Collections.emptyList();
+
+    private final Map<Class<?>, List<QProperty<?>>> readableViewProperties = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, List<QProperty<?>>> writeableViewProperties = new ConcurrentHashMap<>();
+
     public AbsQEntity(final Class<T> type) {
         this(type, TableUtils.getTable(type));
     }
@@ -78,6 +94,7 @@ public class AbsQEntity<I extends Serializable, T> implements QEntity<I, T> {
         this.type = type;
         this.table = table;
         this.initProperties();
+        this.initPropertyLists();
     }
 
     protected void initProperties() {
@@ -159,6 +176,22 @@ public class AbsQEntity<I extends Serializable, T> implements QEntity<I, T> {
         this.properties.sort(Comparator.comparing(QProperty::getOrder));
     }
 
+    /**
+     * precompute the unmodifiable property lists, so the sql providers do not build streams on each call.
+     *
+     * @since 1.6.0
+     */
+    private void initPropertyLists() {
+        this.allProperties = List.copyOf(this.properties);
+        this.readableProperties = filter(allProperties, QProperty::isReadable);
+        this.writeableProperties = filter(allProperties, QProperty::isWriteable);
+        this.modifiableProperties = filter(allProperties, QProperty::isModifiable);
+    }
+
+    private static List<QProperty<?>> filter(List<QProperty<?>> properties, Predicate<QProperty<?>> predicate) {
+        return properties.stream().filter(predicate).toList();
+    }
+
     private void addProperty(final QProperty<?> property) {
 
         this.properties.add(property);
@@ -225,4 +258,40 @@ public class AbsQEntity<I extends Serializable, T> implements QEntity<I, T> {
         return properties.stream();
     }
 
+    @Override
+    public List<QProperty<?>> getProperties() {
+        return this.allProperties;
+    }
+
+    @Override
+    public List<QProperty<?>> getReadableProperties() {
+        return this.readableProperties;
+    }
+
+    @Override
+    public List<QProperty<?>> getReadableProperties(@Nullable Class<?> view) {
+        if (Objects.isNull(view)) {
+            return this.readableProperties;
+        }
+        return readableViewProperties.computeIfAbsent(view, key -> filter(readableProperties, it -> it.hasView(key)));
+    }
+
+    @Override
+    public List<QProperty<?>> getWriteableProperties() {
+        return this.writeableProperties;
+    }
+
+    @Override
+    public List<QProperty<?>> getWriteableProperties(@Nullable Class<?> view) {
+        if (Objects.isNull(view)) {
+            return this.writeableProperties;
+        }
+        return writeableViewProperties.computeIfAbsent(view, key -> filter(writeableProperties, it -> it.hasView(key)));
+    }
+
+    @Override
+    public List<QProperty<?>> getModifiableProperties() {
+        return this.modifiableProperties;
+    }
+
 }
@@ -46,6 +46,8 @@ public class QPropertyImpl<T, E extends QEntity<?, ?>> implements QProperty<T> {
 
     private final String column;
 
+    private final boolean nested;
+
     private final String insert;
     private final String update;
 
@@ -71,6 +73,7 @@ public class QPropertyImpl<T, E extends QEntity<?, ?>> implements QProperty<T> {
         this.path = builder.path;
         this.name = builder.name;
         this.column = builder.column;
+        this.nested = builder.path.contains(".");
         this.insert = builder.insert;
         this.update = builder.update;
 
@@ -114,6 +117,11 @@ public class QPropertyImpl<T, E extends QEntity<?, ?>> implements QProperty<T> {
         return this.path;
     }
 
+    @Override
+    public boolean isNested() {
+        return this.nested;
+    }
+
     @Override
     public String getTable() {
         return this.entity.getTable();
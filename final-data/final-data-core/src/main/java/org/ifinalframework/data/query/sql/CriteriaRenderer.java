@@ -0,0 +1,44 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.query.sql;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.data.query.Criteria;
+import org.ifinalframework.data.query.PageQuery;
+
+/**
+ * 渲染 {@link PageQuery#getCriteria() 动态查询条件} 的 {@code where} 片段。
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see DefaultQueryProvider
+ * @since 1.6.0
+ */
+@FunctionalInterface
+public interface CriteriaRenderer {
+
+    /**
+     * render the dynamic criteria into a {@code where} fragment such as {@code AND name = #{__criterion_0}}.
+     *
+     * @param criteria the dynamic criteria of the query
+     * @return the {@code where} fragment, or {@code null} to fall back to the {@code <if>} XML.
+     */
+    @Nullable
+    String render(@NonNull Criteria criteria);
+
+}
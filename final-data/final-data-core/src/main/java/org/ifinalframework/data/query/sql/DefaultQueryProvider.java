@@ -17,6 +17,7 @@ package org.ifinalframework.data.query.sql;
 
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.core.annotation.AnnotationAttributes;
+import org.springframework.lang.Nullable;
 
 import org.ifinalframework.core.Groupable;
 import org.ifinalframework.core.IEntity;
@@ -47,6 +48,7 @@ import java.lang.reflect.Field;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -54,7 +56,7 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @see Orderable
  * @see Groupable
  * @see Limitable
@@ -70,6 +72,11 @@ public final class DefaultQueryProvider extends AbsQueryProvider {
             CriterionAttributes.ATTRIBUTE_NAME_VALUE
     ).collect(Collectors.toSet());
 
+    /**
+     * the {@code where} plans of the annotated criteria, keyed by the query class, entity class and expression.
+     */
+    private static final Map<PlanKey, WherePlan> PLANS = new ConcurrentHashMap<>(256);
+
     private final QEntityFactory entityFactory = DefaultQEntityFactory.INSTANCE;
 
     private final Object query;
@@ -78,31 +85,72 @@ public final class DefaultQueryProvider extends AbsQueryProvider {
 
 
     public DefaultQueryProvider(final String expression, final Class<? extends IEntity> entity, final Object query) {
+        this(expression, entity, query, null);
+    }
+
+    /**
+     * create a query provider which renders the dynamic {@link PageQuery#getCriteria() criteria} by the renderer
+     * first, and falls back to the {@code <if>} XML when the renderer returns {@code null}.
+     *
+     * @param expression the parameter name of the query
+     * @param entity     entity class
+     * @param query      query
+     * @param renderer   the renderer of the dynamic criteria
+     * @since 1.6.0
+     */
+    public DefaultQueryProvider(final String expression, final Class<? extends IEntity> entity, final Object query,
+                                @Nullable final CriteriaRenderer renderer) {
 
         this.query = query;
 
-        final StringBuilder whereBuilder = new StringBuilder();
-        whereBuilder.append("<where>");
-        final QEntity<?, ?> properties = entityFactory.create(entity);
+        final WherePlan plan = getPlan(expression, entity, query.getClass());
 
-        if (TenantUtils.isTenant(entity)) {
-            whereBuilder.append("<if test=\"properties.hasTenantProperty() and tenant != null\">")
-                    .append("${properties.tenantProperty.column} = #{tenant} ")
-                    .append("</if>");
+        if (query instanceof PageQuery pageQuery && !pageQuery.getCriteria().isEmpty()) {
+            final StringBuilder whereBuilder = new StringBuilder();
+            whereBuilder.append("<where>").append(plan.tenant());
+            final String rendered = Objects.isNull(renderer) ? null : renderer.render(pageQuery.getCriteria());
+            if (Objects.isNull(rendered)) {
+                appendCriteria(whereBuilder, pageQuery.getCriteria(), AndOr.AND, "query.criteria");
+            } else {
+                whereBuilder.append(rendered);
+            }
+            whereBuilder.append(plan.criteria()).append("</where>");
+            this.where = whereBuilder.toString();
+        } else {
+            this.where = plan.where();
         }
 
-        if (query instanceof PageQuery pageQuery) {
-            appendCriteria(whereBuilder, pageQuery.getCriteria(), AndOr.AND, "query.criteria");
+    }
+
+    /**
+     * return the cached {@code where} plan, the dynamic {@link PageQuery#getCriteria() criteria} are rendered between
+     * the {@link WherePlan#tenant()} and the {@link WherePlan#criteria()} per query.
+     *
+     * @since 1.6.0
+     */
+    private WherePlan getPlan(final String expression, final Class<? extends IEntity> entity, final Class<?> queryClass) {
+        final PlanKey key = new PlanKey(queryClass, entity, expression);
+        final WherePlan plan = PLANS.get(key);
+        if (plan != null) {
+            return plan;
         }
+        return PLANS.computeIfAbsent(key, k -> createPlan(expression, entity, queryClass));
+    }
 
-        final Class<?> queryClass = query.getClass();
-        appendCriteria(whereBuilder, expression, properties, queryClass,
-                AnnotatedElementUtils.isAnnotated(queryClass, Or.class) ? AndOr.OR : AndOr.AND);
+    private WherePlan createPlan(final String expression, final Class<? extends IEntity> entity, final Class<?> queryClass) {
 
-        whereBuilder.append("</where>");
+        final String tenant = TenantUtils.isTenant(entity)
+                ? "<if test=\"properties.hasTenantProperty() and tenant != null\">"
+                + "${properties.tenantProperty.column} = #{tenant} "
+                + "</if>"
+                : "";
 
-        this.where = whereBuilder.toString();
+        final StringBuilder criteria = new StringBuilder();
+        final QEntity<?, ?> properties = entityFactory.create(entity);
+        appendCriteria(criteria, expression, properties, queryClass,
+                AnnotatedElementUtils.isAnnotated(queryClass, Or.class) ? AndOr.OR : AndOr.AND);
 
+        return new WherePlan(tenant, criteria.toString(), "<where>" + tenant + criteria + "</where>");
     }
 
 
@@ -251,6 +299,21 @@ public final class DefaultQueryProvider extends AbsQueryProvider {
         return this.where;
     }
 
+    private record PlanKey(Class<?> query, Class<?> entity, String expression) {
+
+    }
+
+    /**
+     * the immutable {@code where} of the annotated criteria of a query class.
+     *
+     * @param tenant   the tenant condition
+     * @param criteria the annotated criteria
+     * @param where    the {@code where} without dynamic criteria
+     */
+    private record WherePlan(String tenant, String criteria, String where) {
+
+    }
+
 
 }
 
@@ -15,8 +15,12 @@
 
 package org.ifinalframework.data.repository;
 
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.core.ResolvableType;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
 
 import org.ifinalframework.core.IEntity;
 import org.ifinalframework.core.IQuery;
@@ -24,15 +28,26 @@ import org.ifinalframework.core.IRepository;
 import org.ifinalframework.core.IUpdate;
 import org.ifinalframework.core.Pageable;
 import org.ifinalframework.core.ParamsBuilder;
+import org.ifinalframework.data.query.Criteria;
+import org.ifinalframework.data.query.Criterion;
+import org.ifinalframework.data.query.CriterionTarget;
+import org.ifinalframework.data.query.DefaultQEntityFactory;
+import org.ifinalframework.data.query.Direction;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.query.QEntity;
+import org.ifinalframework.data.query.QProperty;
 import org.ifinalframework.data.query.Update;
 import org.ifinalframework.util.Asserts;
 
 import java.io.Serializable;
+import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The superinterface of {@code CURD}.
@@ -351,9 +366,7 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
     }
 
     default int update(@NonNull Collection<T> entities) {
-        return entities.stream()
-                .mapToInt(this::update)
-                .sum();
+        return update(null, null, entities);
     }
 
     default int update(String table, T... entities) {
@@ -377,9 +390,7 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
     }
 
     default int update(@NonNull Collection<T> entities, boolean selective) {
-        return entities.stream()
-                .mapToInt(it -> update(it, selective))
-                .sum();
+        return update(null, null, entities, selective);
     }
 
     default int update(String table, Class<?> view, Collection<T> entities) {
@@ -391,9 +402,27 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
     }
 
     default int update(String table, Class<?> view, Collection<T> entities, boolean selective) {
+        return Arrays.stream(updateBatch(table, view, entities, selective)).sum();
+    }
+
+    /**
+     * 批量更新实体并返回每个实体影响的行数，每个实体的更新语句与 {@link #update(String, Class, IEntity, boolean)} 相同，
+     * 包括 {@code @Version} 的处理。
+     *
+     * <p>默认逐条更新，子类可以使用 {@code JDBC batch} 在一次往返中执行。</p>
+     *
+     * @param table     表名
+     * @param view      视图
+     * @param entities  实体集
+     * @param selective 有选择的，值为{@code true}时，不更新值为 {@code null}的属性。
+     * @return 每个实体更新后影响的行数，顺序与 {@code entities} 一致
+     * @since 1.6.0
+     */
+    default int[] updateBatch(@Nullable String table, @Nullable Class<?> view, @NonNull Collection<T> entities,
+                              boolean selective) {
         return entities.stream()
                 .mapToInt(it -> update(table, view, it, selective))
-                .sum();
+                .toArray();
     }
 
     // -----------------Update---------
@@ -600,6 +629,40 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
         return select(builder.table(table).view(view).ids(ids).query(query).build());
     }
 
+    default Stream<T> selectStream(@Nullable IQuery query) {
+        return selectStream(null, null, query);
+    }
+
+    default Stream<T> selectStream(@Nullable String table, @Nullable IQuery query) {
+        return selectStream(table, null, query);
+    }
+
+    default Stream<T> selectStream(@Nullable Class<?> view, @Nullable IQuery query) {
+        return selectStream(null, view, query);
+    }
+
+    default Stream<T> selectStream(@Nullable String table, @Nullable Class<?> view, @Nullable IQuery query) {
+        return selectStream(table, view, query, null);
+    }
+
+    /**
+     * 以 {@link Stream} 的方式返回符合查询条件的数据，使用完毕后需要关闭 {@link Stream}。
+     *
+     * <p>默认查询全部数据后返回，子类可以使用游标逐行读取，如 {@code AbsMapper} 使用 {@code Cursor} 实现，
+     * 此时需要在事务中使用。</p>
+     *
+     * @param table     表名
+     * @param view      视图
+     * @param query     查询条件
+     * @param fetchSize 每次从数据库读取的行数，为 {@code null} 时使用驱动的默认值
+     * @return stream
+     * @since 1.6.0
+     */
+    default Stream<T> selectStream(@Nullable String table, @Nullable Class<?> view, @Nullable IQuery query,
+                                   @Nullable Integer fetchSize) {
+        return select(table, view, query).stream();
+    }
+
     /*==============================================================================================*/
     /*========================================= SELECT ONE =========================================*/
     /*==============================================================================================*/
@@ -685,7 +748,91 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
             if (!listener.onListening(offset, param, list)) {
                 break;
             }
-        } while (Asserts.isEmpty(list) || list.size() < query.getSize());
+        } while (Asserts.nonEmpty(list) && list.size() >= query.getSize());
+        listener.onFinish(param);
+    }
+
+    default <P> void scanByKey(@NonNull PageQuery query, @NonNull Listener<P, List<T>> listener) {
+        scanByKey(null, null, query, listener);
+    }
+
+    default <P> void scanByKey(@Nullable String table, @Nullable Class<?> view, @NonNull PageQuery query,
+                               @NonNull Listener<P, List<T>> listener) {
+        final Class<?> entityClass = ResolvableType.forInstance(this).as(Repository.class).resolveGeneric(1);
+        final QEntity<?, ?> entity = DefaultQEntityFactory.INSTANCE.create(Objects.requireNonNull(entityClass));
+        scanByKey(table, view, query, entity.getIdProperty(), listener);
+    }
+
+    /**
+     * 使用 {@code keyset} 方式扫描数据，每批数据使用 {@code WHERE key > #{last} ORDER BY key LIMIT #{size}} 查询，
+     * 其中 {@code last} 为上一批数据最后一条记录的 {@code key}，避免了 {@code LIMIT offset,size} 的深分页问题。
+     *
+     * <p>{@code key} 需要唯一且不为 {@code null}，扫描使用 {@code query} 的副本，忽略其 {@code page} 和 {@code orders}，
+     * 不会修改 {@code query}。</p>
+     *
+     * @param table    表名
+     * @param view     视图
+     * @param query    查询条件，{@code size} 为每批数据的条数
+     * @param key      扫描的属性，如 {@link QEntity#getIdProperty()}
+     * @param listener 监听器
+     * @since 1.6.0
+     */
+    default <P> void scanByKey(@Nullable String table, @Nullable Class<?> view, @NonNull PageQuery query,
+                               @NonNull QProperty<?> key, @NonNull Listener<P, List<T>> listener) {
+        if (Asserts.isNull(query.getSize())) {
+            throw new IllegalArgumentException("query size is null");
+        }
+        Asserts.requiredNonNull(listener, "listener is null");
+
+        final int size = query.getSize();
+
+        // 扫描使用查询的副本，不修改调用方的 query
+        final PageQuery scan = copyOf(query);
+        scan.setPage(null);
+        scan.setOrders(Collections.singletonList(key.getColumn() + " " + Direction.ASC.name()));
+        scan.setOffset(null);
+        scan.setLimit((long) size);
+
+        final Criteria criteria = scan.getCriteria();
+        final int seekIndex = criteria.size();
+
+        final P param = listener.onInit();
+        listener.onStart(param);
+
+        int index = 0;
+        List<T> list;
+
+        do {
+            list = select(table, view, scan);
+            index++;
+            if (!listener.onListening(index, param, list) || Asserts.isEmpty(list)) {
+                break;
+            }
+
+            final Object last = PropertyAccessorFactory.forBeanPropertyAccess(list.get(list.size() - 1))
+                    .getPropertyValue(key.getPath());
+            final Criterion seek = CriterionTarget.from(key.getColumn()).gt(last);
+            if (criteria.size() > seekIndex) {
+                criteria.set(seekIndex, seek);
+            } else {
+                criteria.add(seek);
+            }
+        } while (list.size() >= size);
+
+        listener.onFinish(param);
+    }
+
+    /**
+     * 复制查询条件，{@link PageQuery#getCriteria()} 复制为新的集合，其他属性浅复制。
+     */
+    private static PageQuery copyOf(PageQuery query) {
+        final PageQuery copy = BeanUtils.instantiateClass(query.getClass());
+        ReflectionUtils.doWithFields(query.getClass(), field -> {
+            ReflectionUtils.makeAccessible(field);
+            field.set(copy, field.get(query));
+        }, field -> !Modifier.isStatic(field.getModifiers()) && !Modifier.isFinal(field.getModifiers()));
+        copy.getCriteria().addAll(query.getCriteria());
+        return copy;
     }
 
     /*==============================================================================================*/
@@ -764,7 +911,7 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
     }
 
     default boolean isExists(@Nullable String table, @NonNull I id) {
-        return selectOne(table, id) != null;
+        return isExists(table, id, null);
     }
 
     default boolean isExists(@NonNull IQuery query) {
@@ -772,7 +919,20 @@ public interface Repository<I extends Serializable, T extends IEntity<I>> extend
     }
 
     default boolean isExists(@Nullable String table, @NonNull IQuery query) {
-        return selectOne(table, query) != null;
+        return isExists(table, null, query);
+    }
+
+    /**
+     * 返回是否存在符合 {@link I} 或 {@link IQuery} 的数据
+     *
+     * @param table 表名
+     * @param id    I
+     * @param query query
+     * @return 是否存在符合 {@link I} 或 {@link IQuery} 的数据
+     * @since 1.6.0
+     */
+    default boolean isExists(@Nullable String table, @Nullable I id, @Nullable IQuery query) {
+        return selectOne(table, null, id, query) != null;
     }
 
     /*================================================================================================================*/
@@ -16,13 +16,17 @@
 package org.ifinalframework.data.service;
 
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
 import org.ifinalframework.core.IEntity;
+import org.ifinalframework.core.IQuery;
 import org.ifinalframework.data.repository.Repository;
 
 import java.io.Serializable;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * @author iimik
@@ -53,6 +57,12 @@ public interface AbsService<I extends Serializable, T extends IEntity<I>>
         return getRepository().update(params);
     }
 
+    @Override
+    default int[] updateBatch(@Nullable String table, @Nullable Class<?> view, @NonNull Collection<T> entities,
+                              boolean selective) {
+        return getRepository().updateBatch(table, view, entities, selective);
+    }
+
     @Override
     default int delete(@NonNull Map<String, Object> params) {
         return getRepository().delete(params);
@@ -63,6 +73,12 @@ public interface AbsService<I extends Serializable, T extends IEntity<I>>
         return getRepository().select(params);
     }
 
+    @Override
+    default Stream<T> selectStream(@Nullable String table, @Nullable Class<?> view, @Nullable IQuery query,
+                                   @Nullable Integer fetchSize) {
+        return getRepository().selectStream(table, view, query, fetchSize);
+    }
+
     @Override
     default T selectOne(@NonNull Map<String, Object> params) {
         return getRepository().selectOne(params);
@@ -78,6 +94,11 @@ public interface AbsService<I extends Serializable, T extends IEntity<I>>
         return getRepository().selectCount(params);
     }
 
+    @Override
+    default boolean isExists(@Nullable String table, @Nullable I id, @Nullable IQuery query) {
+        return getRepository().isExists(table, id, query);
+    }
+
     @Override
     default void truncate(@NonNull Map<String, Object> params) {
         getRepository().truncate(params);
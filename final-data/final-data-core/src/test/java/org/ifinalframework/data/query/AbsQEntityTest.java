@@ -15,10 +15,17 @@
 
 package org.ifinalframework.data.query;
 
+import org.ifinalframework.core.IView;
 import org.ifinalframework.data.annotation.AbsRecord;
 
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 /**
  * AbsQEntityTest.
  *
@@ -33,4 +40,22 @@ class AbsQEntityTest {
         AbsQEntity<Long, AbsRecord> entity = new AbsQEntity<>(AbsRecord.class);
     }
 
+    @Test
+    void propertyLists() {
+        AbsQEntity<Long, AbsRecord> entity = new AbsQEntity<>(AbsRecord.class);
+
+        assertEquals(entity.stream().toList(), entity.getProperties());
+        assertEquals(entity.stream().filter(QProperty::isReadable).toList(), entity.getReadableProperties());
+        assertEquals(entity.stream().filter(QProperty::isWriteable).toList(), entity.getWriteableProperties());
+        assertEquals(entity.stream().filter(QProperty::isModifiable).toList(), entity.getModifiableProperties());
+        assertEquals(entity.stream().filter(QProperty::isWriteable).filter(it -> it.hasView(IView.class)).toList(),
+                entity.getWriteableProperties(IView.class));
+        assertThrows(UnsupportedOperationException.class, () -> entity.getProperties().clear());
+        assertSame(entity.getReadableProperties(IView.class), entity.getReadableProperties(IView.class));
+        assertSame(entity.getReadableProperties(), entity.getReadableProperties(null));
+
+        assertTrue(entity.getRequiredProperty("creator.id").isNested());
+        assertFalse(entity.getRequiredProperty("id").isNested());
+    }
+
 }
\ No newline at end of file
@@ -22,6 +22,7 @@ import org.springframework.stereotype.Component;
 
 import org.ifinalframework.data.mybatis.mapping.DefaultResultMapFactory;
 import org.ifinalframework.data.mybatis.mapping.ResultMapFactory;
+import org.ifinalframework.data.mybatis.mapping.ResultRowMapper;
 
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSessionFactory;
@@ -32,8 +33,10 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * SmartInitializingSingletonSqlSessionFactory.
  *
+ * <p>所有单例初始化完成后，为开启了 {@link ResultRowMapper} 的 {@link Configuration} 编译已注册的 {@code ResultMap}。</p>
+ *
  * @author iimik
- * @version 1.5.1
+ * @version 1.6.0
  * @since 1.5.1
  */
 @Slf4j
@@ -51,7 +54,10 @@ public class SmartInitializingSingletonSqlSessionFactory implements SmartInitial
                     logger.info("find SqlSessionFactory: {}", sqlSessionFactory);
 
                     final Configuration configuration = sqlSessionFactory.getConfiguration();
-
+                    if (ResultRowMapper.isEnabled(configuration)) {
+                        final int count = ResultRowMapper.compileAll(configuration);
+                        logger.info("compiled {} result row mappers of {}", count, sqlSessionFactory);
+                    }
                 });
     }
 }
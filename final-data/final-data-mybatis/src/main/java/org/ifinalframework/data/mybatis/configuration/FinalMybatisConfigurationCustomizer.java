@@ -18,10 +18,12 @@ package org.ifinalframework.data.mybatis.configuration;
 import org.springframework.beans.factory.BeanFactory;
 import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.context.EnvironmentAware;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.boot.autoconfigure.AutoConfigurationPackages;
 import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
 import org.springframework.core.annotation.Order;
+import org.springframework.core.env.Environment;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.stereotype.Component;
@@ -29,6 +31,7 @@ import org.springframework.stereotype.Component;
 import org.ifinalframework.core.IEntity;
 import org.ifinalframework.core.lang.Transient;
 import org.ifinalframework.data.mybatis.handler.EnumTypeHandler;
+import org.ifinalframework.data.mybatis.mapping.ResultRowMapper;
 import org.ifinalframework.data.mybatis.reflection.FinalObjectWrapperFactory;
 import org.ifinalframework.data.mybatis.reflection.factory.ObjectFactoryWrapper;
 
@@ -45,7 +48,7 @@ import lombok.extern.slf4j.Slf4j;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @see org.mybatis.spring.boot.autoconfigure.MybatisAutoConfiguration
  * @since 1.0.0
  */
@@ -53,11 +56,19 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 @Order(100)
 public class FinalMybatisConfigurationCustomizer implements ConfigurationCustomizer, BeanFactoryAware,
-        InitializingBean {
+        EnvironmentAware, InitializingBean {
+
+    /**
+     * 是否开启 {@link ResultRowMapper}，默认关闭。
+     */
+    public static final String RESULT_ROW_MAPPER_ENABLED = "final.mybatis.result-row-mapper.enabled";
 
     @Setter
     private BeanFactory beanFactory;
 
+    @Setter
+    private Environment environment;
+
     @Setter
     private List<String> packages;
 
@@ -78,6 +89,10 @@ public class FinalMybatisConfigurationCustomizer implements ConfigurationCustomi
         configuration.getTypeHandlerRegistry().setDefaultEnumTypeHandler(EnumTypeHandler.class);
         configuration.setObjectWrapperFactory(new FinalObjectWrapperFactory());
         configuration.setObjectFactory(new ObjectFactoryWrapper(configuration.getObjectFactory()));
+        if (environment != null && environment.getProperty(RESULT_ROW_MAPPER_ENABLED, Boolean.class, false)) {
+            logger.info("enable result row mapper");
+            ResultRowMapper.enable(configuration);
+        }
         Properties properties = configuration.getVariables();
         properties.setProperty("mapUnderscoreToCamelCase", "true");
 
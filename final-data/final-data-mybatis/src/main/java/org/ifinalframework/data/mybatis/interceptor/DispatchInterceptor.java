@@ -22,11 +22,22 @@ import org.springframework.util.ClassUtils;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.ReflectionUtils;
 
+import org.ifinalframework.core.IEntity;
+import org.ifinalframework.core.IQuery;
+import org.ifinalframework.core.ParamsBuilder;
+import org.ifinalframework.data.mybatis.mapper.AbsMapper;
+import org.ifinalframework.data.mybatis.spi.EntityClassParameterConsumer;
 import org.ifinalframework.data.mybatis.spi.ParameterConsumer;
+import org.ifinalframework.data.mybatis.sql.provider.InsertSqlProvider;
+import org.ifinalframework.data.query.DefaultQEntityFactory;
+import org.ifinalframework.data.query.QProperty;
 
 import org.apache.ibatis.binding.MapperMethod;
 import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
@@ -34,22 +45,41 @@ import org.apache.ibatis.plugin.Interceptor;
 import org.apache.ibatis.plugin.Intercepts;
 import org.apache.ibatis.plugin.Invocation;
 import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
 
 import java.lang.reflect.Method;
 import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * DispatchInterceptor.
  *
  * @author iimik
- * @version 1.5.0
+ * @version 1.6.0
  * @since 1.5.0
  */
 @Intercepts({
@@ -59,6 +89,8 @@ import lombok.extern.slf4j.Slf4j;
                 args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class}),
         @Signature(type = Executor.class, method = "query",
                 args = {MappedStatement.class, Object.class, RowBounds.class, ResultHandler.class, CacheKey.class, BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor",
+                args = {MappedStatement.class, Object.class, RowBounds.class}),
         @Signature(type = StatementHandler.class, method = "prepare",
                 args = {Connection.class, Integer.class})
 })
@@ -67,8 +99,88 @@ import lombok.extern.slf4j.Slf4j;
 @Component
 public class DispatchInterceptor implements Interceptor {
 
+    /**
+     * the parameter name of the {@code int[]} which receives the affected rows of each entity.
+     *
+     * @see AbsMapper#updateBatch(String, Class, Collection, boolean)
+     * @since 1.6.0
+     */
+    public static final String BATCH_COUNTS_PARAMETER_NAME = "counts";
+
+    /**
+     * the parameter name of the {@link Statement#setFetchSize(int) fetch size}.
+     *
+     * @see AbsMapper#selectCursor(String, Class, IQuery, Integer)
+     * @since 1.6.0
+     */
+    public static final String FETCH_SIZE_PARAMETER_NAME = "fetchSize";
+
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+
+    /**
+     * the default max rows of a multi-row insert statement.
+     *
+     * @since 1.6.0
+     */
+    public static final int DEFAULT_INSERT_CHUNK_ROWS = 1000;
+
+    /**
+     * the default max estimated bytes of a multi-row insert statement, which is less than the default
+     * {@code max_allowed_packet} (4MB) of MySQL 5.7.
+     *
+     * @since 1.6.0
+     */
+    public static final long DEFAULT_INSERT_CHUNK_BYTES = 2L * 1024 * 1024;
+
+    /**
+     * the max parameters of a prepared statement of the most drivers.
+     */
+    private static final int MAX_STATEMENT_PARAMETERS = 65535;
+
+    /**
+     * the rows which are measured before the rows of an insert are split into chunks.
+     */
+    private static final int INSERT_CHUNK_SAMPLES = 8;
+
+    private static final String UPDATE_BATCH_METHOD_NAME = "updateBatch";
+
+    private static final Set<String> INSERT_METHOD_NAMES = new HashSet<>(Arrays.asList("insert", "replace", "save"));
+
     private final List<ParameterConsumer<?>> parameterConsumers;
 
+    /**
+     * the metadata of each {@link MappedStatement}, which is resolved at the first call.
+     *
+     * @since 1.6.0
+     */
+    private final Map<MappedStatement, StatementMetadata> statements = new ConcurrentHashMap<>(256);
+
+    /**
+     * the max rows of a JDBC batch before flush.
+     *
+     * @since 1.6.0
+     */
+    @Setter
+    private int batchSize = DEFAULT_BATCH_SIZE;
+
+    /**
+     * the max rows of each chunk of {@link AbsMapper#insert(Map)}, {@link AbsMapper#replace(Map)} and
+     * {@link AbsMapper#save(Map)}.
+     *
+     * @since 1.6.0
+     */
+    @Setter
+    private int insertChunkRows = DEFAULT_INSERT_CHUNK_ROWS;
+
+    /**
+     * the max estimated bytes of each chunk of {@link AbsMapper#insert(Map)}, {@link AbsMapper#replace(Map)} and
+     * {@link AbsMapper#save(Map)}.
+     *
+     * @since 1.6.0
+     */
+    @Setter
+    private long insertChunkBytes = DEFAULT_INSERT_CHUNK_BYTES;
+
     public DispatchInterceptor(ObjectProvider<ParameterConsumer<?>> parameterConsumers) {
         this.parameterConsumers = parameterConsumers.orderedStream().collect(Collectors.toList());
     }
@@ -81,23 +193,34 @@ public class DispatchInterceptor implements Interceptor {
         final Object[] args = invocation.getArgs();
 
 
-        if (methodName.equals("update") || methodName.equals("query")) {
+        if (methodName.equals("update") || methodName.equals("query") || methodName.equals("queryCursor")) {
             final MappedStatement mappedStatement = (MappedStatement) args[0];
             Object parameters = args[1];
 
-            final String id = mappedStatement.getId();
-            final String mapperClassName = id.substring(0, id.lastIndexOf("."));
-            final String mapperMethodName = id.substring(id.lastIndexOf(".") + 1);
+            final StatementMetadata metadata = statements.computeIfAbsent(mappedStatement, this::resolve);
 
-            if (parameters instanceof Map && !(parameters instanceof MapperMethod)) {
+            // the mutable maps, such as the params of AbsMapper, are consumed in place, the others and the params of
+            // the statements with generated keys, which are assigned to a ParamMap only, are copied.
+            if (parameters instanceof Map && !(parameters instanceof MapperMethod.ParamMap)
+                    && (metadata.isGeneratedKeys() || !(parameters instanceof HashMap))) {
                 MapperMethod.ParamMap<Object> paramMap = new MapperMethod.ParamMap<>();
                 paramMap.putAll((Map<? extends String, ?>) parameters);
                 parameters = paramMap;
                 args[1] = parameters;
             }
 
-            applyParameterConsumer(parameters, mapperClassName, mapperMethodName);
-            logger.info("{}#{},parameters={}", mapperClassName, mapperMethodName, parameters);
+            applyParameterConsumer(parameters, metadata);
+            if (logger.isDebugEnabled()) {
+                logger.debug("{}#{},parameters={}", metadata.getMapperClass().getName(),
+                        metadata.getMapperMethodName(), parameters);
+            }
+            if (methodName.equals("update") && UPDATE_BATCH_METHOD_NAME.equals(metadata.getMapperMethodName())) {
+                return doUpdateBatch(invocation);
+            }
+            if (methodName.equals("update") && INSERT_METHOD_NAMES.contains(metadata.getMapperMethodName())
+                    && AbsMapper.class.isAssignableFrom(metadata.getMapperClass())) {
+                return doInsert(invocation);
+            }
             return doQuery(invocation);
         } else if (methodName.equals("prepare")) {
             return doPrepare(invocation);
@@ -108,23 +231,36 @@ public class DispatchInterceptor implements Interceptor {
 
     }
 
-    private void applyParameterConsumer(Object parameter, String mapperClassName, String mapperMethodName) {
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void applyParameterConsumer(Object parameter, StatementMetadata metadata) {
         if (CollectionUtils.isEmpty(parameterConsumers)) {
             return;
         }
 
-        final Class<?> mapperClass = ClassUtils.resolveClassName(mapperClassName, getClass().getClassLoader());
-        final Method mapperMethod = ReflectionUtils.findMethod(mapperClass, mapperMethodName, null);
-
-
         for (final ParameterConsumer parameterConsumer : parameterConsumers) {
             if (parameterConsumer.supports(parameter)) {
-                parameterConsumer.accept(parameter, mapperClass, mapperMethod);
+                parameterConsumer.accept(parameter, metadata.getMapperClass(), metadata.getMapperMethod());
             }
         }
 
     }
 
+    private StatementMetadata resolve(MappedStatement mappedStatement) {
+        final String id = mappedStatement.getId();
+        final String mapperClassName = id.substring(0, id.lastIndexOf("."));
+        final String mapperMethodName = id.substring(id.lastIndexOf(".") + 1);
+
+        final Class<?> mapperClass = ClassUtils.resolveClassName(mapperClassName, getClass().getClassLoader());
+        // the statement is built from the abstract method, the default methods may have the same name.
+        final Method mapperMethod = Arrays.stream(ReflectionUtils.getAllDeclaredMethods(mapperClass))
+                .filter(it -> it.getName().equals(mapperMethodName) && !it.isDefault())
+                .findFirst()
+                .orElseGet(() -> ReflectionUtils.findMethod(mapperClass, mapperMethodName, null));
+
+        return new StatementMetadata(mapperClass, mapperMethodName, mapperMethod,
+                !(mappedStatement.getKeyGenerator() instanceof NoKeyGenerator));
+    }
+
     /**
      * @see org.apache.ibatis.executor.Executor#query(MappedStatement, Object, RowBounds, ResultHandler)
      * @see org.apache.ibatis.executor.Executor#query(MappedStatement, Object, RowBounds, ResultHandler, CacheKey, BoundSql)
@@ -135,19 +271,294 @@ public class DispatchInterceptor implements Interceptor {
     }
 
     /**
-     * @see org.apache.ibatis.executor.Executor#update(MappedStatement, Object)
+     * Execute the {@code list} of {@link AbsMapper#updateBatch(Map)} row by row with a {@link BatchExecutor} which shares
+     * the transaction of the current executor. The parameters of each row are the same as a single update, so the
+     * consecutive rows which have the same sql are added into the same statement.
+     *
+     * @see AbsMapper#updateBatch(String, Class, Collection, boolean)
+     * @since 1.6.0
      */
-    private Object doUpdate(Invocation invocation) throws Throwable {
+    @SuppressWarnings("unchecked")
+    private Object doUpdateBatch(Invocation invocation) throws Throwable {
         final Object[] args = invocation.getArgs();
-        MappedStatement mappedStatement = (MappedStatement) args[0];
-        Object parameter = args[1];
-        return invocation.proceed();
+        final MappedStatement mappedStatement = (MappedStatement) args[0];
+        final Map<String, Object> parameters = (Map<String, Object>) args[1];
+        final Collection<IEntity<?>> entities = (Collection<IEntity<?>>) parameters.get(ParamsBuilder.LIST_PARAM_NAME);
+        final int[] counts = parameters.containsKey(BATCH_COUNTS_PARAMETER_NAME)
+                ? (int[]) parameters.get(BATCH_COUNTS_PARAMETER_NAME) : new int[entities.size()];
+
+        final Executor executor = (Executor) invocation.getTarget();
+        executor.clearLocalCache();
+        final Executor batchExecutor = new BatchExecutor(mappedStatement.getConfiguration(),
+                new SharedTransaction(executor.getTransaction()));
+
+        try {
+            int rows = 0;
+            int offset = 0;
+            for (IEntity<?> entity : entities) {
+                final MapperMethod.ParamMap<Object> row = new MapperMethod.ParamMap<>();
+                row.putAll(parameters);
+                row.remove(ParamsBuilder.LIST_PARAM_NAME);
+                row.remove(BATCH_COUNTS_PARAMETER_NAME);
+                row.put(ParamsBuilder.ENTITY_PARAM_NAME, entity);
+                row.put(ParamsBuilder.IDS_PARAM_NAME, Collections.singletonList(Objects.requireNonNull(entity.getId())));
+                row.put(ParamsBuilder.UPDATE_PARAM_NAME, null);
+                row.put(ParamsBuilder.QUERY_PARAM_NAME, null);
+                batchExecutor.update(mappedStatement, row);
+                if (++rows % batchSize == 0) {
+                    offset = flushStatements(batchExecutor, counts, offset);
+                }
+            }
+            flushStatements(batchExecutor, counts, offset);
+        } finally {
+            // discard the statements which are not flushed, the shared transaction is not closed.
+            batchExecutor.close(false);
+            executor.clearLocalCache();
+            // the second level cache of the CachingExecutor is bypassed by the batch executor
+            if (Objects.nonNull(mappedStatement.getCache()) && mappedStatement.isFlushCacheRequired()) {
+                mappedStatement.getCache().clear();
+            }
+        }
+
+        return Arrays.stream(counts).sum();
+    }
+
+    /**
+     * return the affected rows of an update count of a batch, the {@link Statement#SUCCESS_NO_INFO} which is returned
+     * by the drivers such as MySQL with {@code rewriteBatchedStatements=true} is counted as one row.
+     *
+     * @since 1.6.0
+     */
+    private static int affectedRows(int count) {
+        if (count == Statement.SUCCESS_NO_INFO) {
+            return 1;
+        }
+        return Math.max(count, 0);
+    }
+
+    /**
+     * Split the {@code list} of {@link AbsMapper#insert(Map)}, {@link AbsMapper#replace(Map)} and
+     * {@link AbsMapper#save(Map)} into chunks by {@link #insertChunkRows rows}, {@link #insertChunkBytes estimated bytes}
+     * and the max parameters of a statement. Each chunk is executed as a multi-row statement on the same connection, so
+     * the generated keys of each chunk are written back onto the entities by the {@link MappedStatement#getKeyGenerator()}.
+     *
+     * <p>The chunks are executed one after another on the connection of the session, they are not pipelined.
+     * When there are more than one chunk and the connection is in auto-commit mode, the chunks are executed in one
+     * local transaction and the auto-commit mode is restored afterwards.</p>
+     *
+     * @see InsertSqlProvider
+     * @since 1.6.0
+     */
+    @SuppressWarnings("unchecked")
+    private Object doInsert(Invocation invocation) throws Throwable {
+        final Object[] args = invocation.getArgs();
+        final MappedStatement mappedStatement = (MappedStatement) args[0];
+        final Map<String, Object> parameters = (Map<String, Object>) args[1];
+        final Object list = parameters.containsKey(ParamsBuilder.LIST_PARAM_NAME)
+                ? parameters.get(ParamsBuilder.LIST_PARAM_NAME) : null;
+        if (!(list instanceof Collection) || ((Collection<?>) list).size() <= 1) {
+            return invocation.proceed();
+        }
+
+        final List<List<Object>> chunks = chunk(mappedStatement.getConfiguration(), parameters, (Collection<Object>) list);
+        if (chunks.size() == 1) {
+            return invocation.proceed();
+        }
+
+        final Executor executor = (Executor) invocation.getTarget();
+        final Connection connection = executor.getTransaction().getConnection();
+        final boolean autoCommit = connection.getAutoCommit();
+        if (autoCommit) {
+            connection.setAutoCommit(false);
+        }
+
+        try {
+            int rows = 0;
+            for (List<Object> chunk : chunks) {
+                final MapperMethod.ParamMap<Object> chunkParameters = new MapperMethod.ParamMap<>();
+                chunkParameters.putAll(parameters);
+                chunkParameters.put(ParamsBuilder.LIST_PARAM_NAME, chunk);
+                rows += executor.update(mappedStatement, chunkParameters);
+            }
+            if (autoCommit) {
+                connection.commit();
+            }
+            logger.debug("{} rows were inserted in {} chunks", rows, chunks.size());
+            return rows;
+        } catch (Throwable e) {
+            if (autoCommit) {
+                try {
+                    connection.rollback();
+                } catch (SQLException ex) {
+                    e.addSuppressed(ex);
+                }
+            }
+            throw e;
+        } finally {
+            if (autoCommit) {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    private List<List<Object>> chunk(Configuration configuration, Map<String, Object> parameters, Collection<Object> list) {
+        final Class<?> entityClass = parameters.containsKey(EntityClassParameterConsumer.ENTITY_CLASS_PARAM_NAME)
+                ? (Class<?>) parameters.get(EntityClassParameterConsumer.ENTITY_CLASS_PARAM_NAME) : null;
+        final List<String> properties = Objects.isNull(entityClass) ? Collections.emptyList()
+                : DefaultQEntityFactory.INSTANCE.create(entityClass).stream()
+                .filter(QProperty::isWriteable)
+                .map(QProperty::getPath)
+                .collect(Collectors.toList());
+
+        final int maxRows = Math.max(1, Math.min(insertChunkRows,
+                MAX_STATEMENT_PARAMETERS / Math.max(1, properties.size())));
+
+        if (list.size() <= maxRows && fitsInOneChunk(configuration, list, properties)) {
+            return Collections.singletonList(list instanceof List ? (List<Object>) list : new ArrayList<>(list));
+        }
+
+        final List<List<Object>> chunks = new ArrayList<>();
+        List<Object> chunk = new ArrayList<>(Math.min(maxRows, list.size()));
+        long bytes = 0;
+        for (Object item : list) {
+            final long rowBytes = estimateBytes(configuration, item, properties);
+            if (!chunk.isEmpty() && (chunk.size() >= maxRows || bytes + rowBytes > insertChunkBytes)) {
+                chunks.add(chunk);
+                chunk = new ArrayList<>(Math.min(maxRows, list.size()));
+                bytes = 0;
+            }
+            chunk.add(item);
+            bytes += rowBytes;
+        }
+        chunks.add(chunk);
+        return chunks;
+    }
+
+    /**
+     * return {@code true} when the rows surely fit in one chunk: the max estimated bytes of a few sampled rows times
+     * the row count is less than half of {@link #insertChunkBytes}, so the rows are measured one by one only when the
+     * limit could be exceeded.
+     */
+    private boolean fitsInOneChunk(Configuration configuration, Collection<Object> list, List<String> properties) {
+        final int step = Math.max(1, list.size() / INSERT_CHUNK_SAMPLES);
+        long sample = 0;
+        int index = 0;
+        for (Object item : list) {
+            if (index++ % step == 0) {
+                sample = Math.max(sample, estimateBytes(configuration, item, properties));
+            }
+        }
+        return sample * list.size() * 2 <= insertChunkBytes;
+    }
+
+    /**
+     * estimate the bytes of the {@code VALUES} of the item in the sql.
+     */
+    private static long estimateBytes(Configuration configuration, Object item, List<String> properties) {
+        final MetaObject metaObject = configuration.newMetaObject(item);
+        long bytes = 2;
+        for (String property : properties) {
+            final Object value = metaObject.hasGetter(property) ? metaObject.getValue(property) : null;
+            bytes += 2;
+            if (value == null) {
+                bytes += 4;
+            } else if (value instanceof CharSequence) {
+                // utf8mb4 and escape
+                bytes += ((CharSequence) value).length() * 4L + 2;
+            } else if (value instanceof byte[]) {
+                bytes += ((byte[]) value).length * 2L + 3;
+            } else if (value instanceof Number || value instanceof Boolean || value instanceof Enum
+                    || value instanceof Temporal || value instanceof Date) {
+                bytes += 32;
+            } else {
+                // json
+                bytes += String.valueOf(value).length() * 4L + 2;
+            }
+        }
+        return bytes;
+    }
+
+    private int flushStatements(Executor executor, int[] counts, int offset) throws SQLException {
+        for (BatchResult result : executor.flushStatements()) {
+            for (int count : result.getUpdateCounts()) {
+                counts[offset++] = affectedRows(count);
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * A {@link Transaction} which shares the connection of the session, the commit, rollback and close of the session
+     * are left to the session itself.
+     *
+     * @since 1.6.0
+     */
+    @RequiredArgsConstructor
+    private static final class SharedTransaction implements Transaction {
+
+        private final Transaction transaction;
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return transaction.getConnection();
+        }
+
+        @Override
+        public void commit() {
+            // committed by the session
+        }
+
+        @Override
+        public void rollback() {
+            // rolled back by the session
+        }
+
+        @Override
+        public void close() {
+            // closed by the session
+        }
+
+        @Override
+        public Integer getTimeout() throws SQLException {
+            return transaction.getTimeout();
+        }
+
+    }
+
+    /**
+     * The resolved mapper class and method of a {@link MappedStatement}.
+     *
+     * @since 1.6.0
+     */
+    @Getter
+    @RequiredArgsConstructor
+    private static final class StatementMetadata {
+
+        private final Class<?> mapperClass;
+
+        private final String mapperMethodName;
+
+        private final Method mapperMethod;
+
+        /**
+         * whether the statement assigns the generated keys to the parameter.
+         */
+        private final boolean generatedKeys;
+
     }
 
     /**
      * @see StatementHandler#prepare(Connection, Integer)
      */
     private Object doPrepare(Invocation invocation) throws Throwable {
-        return invocation.proceed();
+        final Statement statement = (Statement) invocation.proceed();
+        final Object parameter = ((StatementHandler) invocation.getTarget()).getParameterHandler().getParameterObject();
+        if (parameter instanceof Map && ((Map<?, ?>) parameter).containsKey(FETCH_SIZE_PARAMETER_NAME)) {
+            final Integer fetchSize = (Integer) ((Map<?, ?>) parameter).get(FETCH_SIZE_PARAMETER_NAME);
+            if (Objects.nonNull(fetchSize)) {
+                statement.setFetchSize(fetchSize);
+            }
+        }
+        return statement;
     }
 }
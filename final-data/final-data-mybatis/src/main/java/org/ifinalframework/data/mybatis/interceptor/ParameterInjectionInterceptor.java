@@ -48,6 +48,8 @@ import java.util.Map;
         @Signature(type = Executor.class, method = "query", args = {MappedStatement.class, Object.class,
                 RowBounds.class, ResultHandler.class, CacheKey.class,
                 BoundSql.class}),
+        @Signature(type = Executor.class, method = "queryCursor", args = {MappedStatement.class, Object.class,
+                RowBounds.class}),
 })
 @Order
 @Component
@@ -17,10 +17,12 @@ package org.ifinalframework.data.mybatis.javassist;
 
 import javassist.ClassPool;
 import javassist.CtClass;
+import javassist.CtField;
 import javassist.CtMethod;
 import javassist.bytecode.ClassFile;
 
 import org.ifinalframework.auto.service.annotation.AutoService;
+import org.ifinalframework.data.mybatis.mapping.ResultRowMapper;
 import org.ifinalframework.javassist.JavaAssistProcessor;
 
 import org.apache.ibatis.executor.loader.ResultLoaderMap;
@@ -28,16 +30,23 @@ import org.apache.ibatis.executor.resultset.DefaultResultSetHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
 import org.apache.ibatis.executor.resultset.ResultSetWrapper;
 import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * DefaultResultSetHandlerJavaAssistProcessor.
  *
+ * <p>关联属性的 {@link ResultMap} 由 {@link ResultRowMapper#composite(Configuration, ResultMapping)} 缓存，
+ * 开启 {@link ResultRowMapper#isEnabled(Configuration)} 后，属性映射由编译后的 {@link ResultRowMapper} 完成，
+ * 其解析的列下标保存在每个 {@link DefaultResultSetHandler} 实例中，随语句结束释放。</p>
+ *
  * @author iimik
- * @version 1.5.1
+ * @version 1.6.0
  * @see DefaultResultSetHandler
+ * @see ResultRowMapper
  * @since 1.5.1
  */
 @Slf4j
@@ -52,6 +61,7 @@ public class DefaultResultSetHandlerJavaAssistProcessor implements JavaAssistPro
         if (ctClass.isFrozen()) {
             return;
         }
+        addFieldResultRowMapperIndexes(ctClass);
         modifyMethodApplyPropertyMappings(ctClass);
         if (ClassFile.MAJOR_VERSION > ClassFile.JAVA_8) {
             final Class<?> newClass = ctClass.toClass(ResultSetHandler.class);
@@ -61,6 +71,14 @@ public class DefaultResultSetHandlerJavaAssistProcessor implements JavaAssistPro
         logger.debug("finish modify class: DefaultResultSetHandler");
     }
 
+    /**
+     * the column indexes of the {@link ResultRowMapper}s of the current statement.
+     */
+    private void addFieldResultRowMapperIndexes(CtClass ctClass) throws Throwable {
+        ctClass.addField(CtField.make("private final java.util.Map resultRowMapperIndexes;", ctClass),
+                "new java.util.HashMap()");
+    }
+
     /**
      * @see DefaultResultSetHandler#applyPropertyMappings(ResultSetWrapper, ResultMap, MetaObject, ResultLoaderMap, String)
      */
@@ -68,7 +86,14 @@ public class DefaultResultSetHandlerJavaAssistProcessor implements JavaAssistPro
         final CtMethod method = ctClass.getDeclaredMethod("applyPropertyMappings");
         method.setBody(
                 """
-                    {       
+                    {
+                        if (org.ifinalframework.data.mybatis.mapping.ResultRowMapper.isEnabled(this.configuration)) {
+                            final org.ifinalframework.data.mybatis.mapping.ResultRowMapper rowMapper
+                                = org.ifinalframework.data.mybatis.mapping.ResultRowMapper.of(this.configuration, $2);
+                            if (rowMapper != null) {
+                                return rowMapper.apply($1, $3, $5, this.resultRowMapperIndexes);
+                            }
+                        }
                         final java.util.List mappedColumnNames = $1.getMappedColumnNames($2, $5);
                         boolean foundValues = false;
                         final java.util.List propertyMappings = $2.getPropertyResultMappings();
@@ -85,11 +110,8 @@ public class DefaultResultSetHandlerJavaAssistProcessor implements JavaAssistPro
                                     || propertyMapping.getResultSet() != null) {
                                 Object value = null;
                                 if (propertyMapping.isCompositeResult()) {
-                                    final java.util.List resultMappings = propertyMapping.getComposites();
-                                    final org.apache.ibatis.mapping.ResultMap resultMap2 = new org.apache.ibatis.mapping.ResultMap$Builder(
-                                            this.configuration, propertyMapping.getJavaType().getSimpleName(),
-                                            propertyMapping.getJavaType(), resultMappings, java.lang.Boolean.FALSE
-                                    ).build();
+                                    final org.apache.ibatis.mapping.ResultMap resultMap2
+                                        = org.ifinalframework.data.mybatis.mapping.ResultRowMapper.composite(this.configuration, propertyMapping);
                                     value = getRowValue($1, resultMap2, propertyMapping.getColumnPrefix());
                                 } else {
                                     value = getPropertyMappingValue($1.getResultSet(), $3, propertyMapping, $4, $5);
@@ -16,10 +16,16 @@
 package org.ifinalframework.data.mybatis.mapper;
 
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
 
 import org.ifinalframework.core.IEntity;
+import org.ifinalframework.core.IQuery;
+import org.ifinalframework.core.ParamsBuilder;
+import org.ifinalframework.data.mybatis.interceptor.DispatchInterceptor;
+import org.ifinalframework.data.mybatis.scripting.CachedXMLLanguageDriver;
 import org.ifinalframework.data.mybatis.sql.provider.DeleteSqlProvider;
 import org.ifinalframework.data.mybatis.sql.provider.InsertSqlProvider;
+import org.ifinalframework.data.mybatis.sql.provider.IsExistsSqlProvider;
 import org.ifinalframework.data.mybatis.sql.provider.SelectCountSqlProvider;
 import org.ifinalframework.data.mybatis.sql.provider.SelectSqlProvider;
 import org.ifinalframework.data.mybatis.sql.provider.TruncateSqlProvider;
@@ -28,14 +34,21 @@ import org.ifinalframework.data.repository.Repository;
 
 import org.apache.ibatis.annotations.DeleteProvider;
 import org.apache.ibatis.annotations.InsertProvider;
+import org.apache.ibatis.annotations.Lang;
 import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.SelectProvider;
 import org.apache.ibatis.annotations.UpdateProvider;
 import org.apache.ibatis.builder.annotation.ProviderContext;
+import org.apache.ibatis.cursor.Cursor;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * @author iimik
@@ -45,6 +58,8 @@ import java.util.Map;
  * @see SelectSqlProvider
  * @see SelectCountSqlProvider
  * @see DeleteSqlProvider
+ * @see IsExistsSqlProvider
+ * @see CachedXMLLanguageDriver
  * @since 1.0.0
  */
 @SuppressWarnings("all")
@@ -57,6 +72,7 @@ public interface AbsMapper<I extends Serializable, T extends IEntity<I>> extends
      */
     @Override
     @Options(useGeneratedKeys = true, keyProperty = "list.id", keyColumn = "id")
+    @Lang(CachedXMLLanguageDriver.class)
     @InsertProvider(InsertSqlProvider.class)
     int insert(@NonNull Map<String, Object> params);
 
@@ -66,6 +82,7 @@ public interface AbsMapper<I extends Serializable, T extends IEntity<I>> extends
      */
     @Override
     @Options(useGeneratedKeys = true, keyProperty = "list.id", keyColumn = "id")
+    @Lang(CachedXMLLanguageDriver.class)
     @InsertProvider(InsertSqlProvider.class)
     int replace(@NonNull Map<String, Object> params);
 
@@ -74,34 +91,140 @@ public interface AbsMapper<I extends Serializable, T extends IEntity<I>> extends
      */
     @Override
     @Options(useGeneratedKeys = true, keyProperty = "list.id", keyColumn = "id")
+    @Lang(CachedXMLLanguageDriver.class)
     @InsertProvider(InsertSqlProvider.class)
     int save(@NonNull Map<String, Object> params);
 
     @Override
+    @Lang(CachedXMLLanguageDriver.class)
     @UpdateProvider(UpdateSqlProvider.class)
     int update(@NonNull Map<String, Object> params);
 
+    /**
+     * Update the entities with JDBC batch, the statement of each entity is the same as {@link #update(Map)}.
+     *
+     * @see #updateBatch(Map)
+     * @see DispatchInterceptor
+     * @since 1.6.0
+     */
     @Override
+    default int[] updateBatch(String table, Class<?> view, Collection<T> entities, boolean selective) {
+        final int[] counts = new int[entities.size()];
+        if (entities.isEmpty()) {
+            return counts;
+        }
+        final Map<String, Object> params = ParamsBuilder.<I, T>builder()
+                .table(table).view(view).selective(selective).list(entities).build();
+        params.put(DispatchInterceptor.BATCH_COUNTS_PARAMETER_NAME, counts);
+        updateBatch(params);
+        return counts;
+    }
+
+    /**
+     * The {@code list} of the params is executed by {@link DispatchInterceptor} row by row in a JDBC batch.
+     *
+     * @see UpdateSqlProvider#updateBatch(ProviderContext, Map)
+     * @since 1.6.0
+     */
+    @Lang(CachedXMLLanguageDriver.class)
+    @UpdateProvider(UpdateSqlProvider.class)
+    int updateBatch(@NonNull Map<String, Object> params);
+
+    @Override
+    @Lang(CachedXMLLanguageDriver.class)
     @DeleteProvider(DeleteSqlProvider.class)
     int delete(@NonNull Map<String, Object> params);
 
     @Override
+    @Lang(CachedXMLLanguageDriver.class)
     @SelectProvider(SelectSqlProvider.class)
     List<T> select(@NonNull Map<String, Object> params);
 
     @Override
+    @Lang(CachedXMLLanguageDriver.class)
     @SelectProvider(SelectSqlProvider.class)
     T selectOne(@NonNull Map<String, Object> params);
 
     @Override
+    @Lang(CachedXMLLanguageDriver.class)
     @SelectProvider(SelectSqlProvider.class)
     List<I> selectIds(@NonNull Map<String, Object> params);
 
+    /**
+     * The stream must be consumed in a transaction and closed after used, which closes the {@link Cursor}.
+     *
+     * @see #selectCursor(String, Class, IQuery, Integer)
+     * @since 1.6.0
+     */
+    @Override
+    default Stream<T> selectStream(String table, Class<?> view, IQuery query, Integer fetchSize) {
+        final Cursor<T> cursor = selectCursor(table, view, query, fetchSize);
+        return StreamSupport.stream(cursor.spliterator(), false)
+                .onClose(() -> {
+                    try {
+                        cursor.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    default Cursor<T> selectCursor(@Nullable IQuery query) {
+        return selectCursor(null, null, query, null);
+    }
+
+    /**
+     * Select with a {@link Cursor} which fetches the rows lazily, the sql is the same as {@link #select(Map)}.
+     * The cursor must be used in a transaction, otherwise it is closed with the {@link org.apache.ibatis.session.SqlSession}.
+     *
+     * @param table     table
+     * @param view      view
+     * @param query     query
+     * @param fetchSize the {@link java.sql.Statement#setFetchSize(int) fetch size} of the statement,
+     *                  use {@link Integer#MIN_VALUE} to stream the result of MySQL.
+     * @return the cursor of the entities.
+     * @since 1.6.0
+     */
+    default Cursor<T> selectCursor(@Nullable String table, @Nullable Class<?> view, @Nullable IQuery query,
+                                   @Nullable Integer fetchSize) {
+        final Map<String, Object> params = ParamsBuilder.<I, T>builder().table(table).view(view).query(query).build();
+        params.put(DispatchInterceptor.FETCH_SIZE_PARAMETER_NAME, fetchSize);
+        return selectCursor(params);
+    }
+
+    /**
+     * @see SelectSqlProvider#selectCursor(ProviderContext, Map)
+     * @since 1.6.0
+     */
+    @Lang(CachedXMLLanguageDriver.class)
+    @SelectProvider(SelectSqlProvider.class)
+    Cursor<T> selectCursor(@NonNull Map<String, Object> params);
+
     @Override
+    @Lang(CachedXMLLanguageDriver.class)
     @SelectProvider(SelectCountSqlProvider.class)
     long selectCount(@NonNull Map<String, Object> params);
 
+    /**
+     * @see #isExists(Map)
+     * @since 1.6.0
+     */
+    @Override
+    default boolean isExists(String table, I id, IQuery query) {
+        return Boolean.TRUE.equals(isExists(ParamsBuilder.builder().table(table).id(id).query(query).build()));
+    }
+
+    /**
+     * @return {@code true} if exists, otherwise {@code null}.
+     * @see IsExistsSqlProvider#isExists(ProviderContext, Map)
+     * @since 1.6.0
+     */
+    @Lang(CachedXMLLanguageDriver.class)
+    @SelectProvider(IsExistsSqlProvider.class)
+    Boolean isExists(@NonNull Map<String, Object> params);
+
     @Override
+    @Lang(CachedXMLLanguageDriver.class)
     @UpdateProvider(TruncateSqlProvider.class)
     void truncate(@NonNull Map<String, Object> params);
 
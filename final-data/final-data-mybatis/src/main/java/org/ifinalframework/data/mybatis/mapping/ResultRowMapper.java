@@ -0,0 +1,413 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.mapping;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.apache.ibatis.executor.resultset.ResultSetWrapper;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.TypeHandler;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 实体结果行映射器，替代 {@code DefaultResultSetHandler#applyPropertyMappings} 中基于 {@link MetaObject} 反射的属性赋值。
+ *
+ * <p>已注册的 {@link ResultMap} 在启动时由 {@link #compileAll(Configuration)} 统一编译，之后注册的 {@link ResultMap}
+ * 在首次使用时编译一次：属性的 {@code setter} 被解析为 {@link MethodHandle}，
+ * 关联属性（{@link ResultMapping#isCompositeResult()}）的子映射被展开，列下标在每个 {@link ResultSetWrapper} 上只解析一次，
+ * 并保存在当前语句的 {@code DefaultResultSetHandler} 中，之后每行只需 {@link TypeHandler#getResult(ResultSet, int)}
+ * 和直接的 {@code setter} 调用。</p>
+ *
+ * <p>包含嵌套查询、嵌套结果集或无法直接调用 {@code setter} 的 {@link ResultMap} 不会被编译，仍由 MyBatis 处理。</p>
+ *
+ * <p>默认关闭，通过 {@link #enable(Configuration)} 或配置 {@code final.mybatis.result-row-mapper.enabled=true}
+ * 为 {@link Configuration} 开启。</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see DefaultResultMapFactory
+ * @see org.ifinalframework.data.mybatis.javassist.DefaultResultSetHandlerJavaAssistProcessor
+ * @since 1.6.0
+ */
+@Slf4j
+public final class ResultRowMapper {
+
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    private static final Map<ResultMap, Optional<ResultRowMapper>> MAPPERS = new ConcurrentHashMap<>();
+
+    private static final Map<ResultMapping, ResultMap> COMPOSITES = new ConcurrentHashMap<>();
+
+    private static final Set<Configuration> ENABLED = ConcurrentHashMap.newKeySet();
+
+    private final Configuration configuration;
+
+    private final PropertySlot[] properties;
+
+    private final CompositeSlot[] composites;
+
+    private ResultRowMapper(Configuration configuration, PropertySlot[] properties, CompositeSlot[] composites) {
+        this.configuration = configuration;
+        this.properties = properties;
+        this.composites = composites;
+    }
+
+    /**
+     * enable the compiled mappers for the configuration.
+     *
+     * @param configuration configuration
+     */
+    public static void enable(@NonNull Configuration configuration) {
+        ENABLED.add(configuration);
+    }
+
+    /**
+     * disable the compiled mappers for the configuration.
+     *
+     * @param configuration configuration
+     */
+    public static void disable(@NonNull Configuration configuration) {
+        ENABLED.remove(configuration);
+    }
+
+    /**
+     * return {@code true} if the compiled mappers are enabled for the configuration.
+     *
+     * @param configuration configuration
+     * @return {@code true} if enabled.
+     */
+    public static boolean isEnabled(@NonNull Configuration configuration) {
+        return ENABLED.contains(configuration);
+    }
+
+    /**
+     * compile the mappers of all result maps registered in the configuration.
+     *
+     * @param configuration configuration
+     * @return the count of the compiled mappers.
+     */
+    public static int compileAll(@NonNull Configuration configuration) {
+        final Set<ResultMap> resultMaps = Collections.newSetFromMap(new IdentityHashMap<>());
+        // StrictMap 中存在短 id 的 Ambiguity 值，不能直接以 ResultMap 遍历
+        for (Object resultMap : configuration.getResultMaps()) {
+            if (resultMap instanceof ResultMap) {
+                resultMaps.add((ResultMap) resultMap);
+            }
+        }
+
+        int count = 0;
+        for (ResultMap resultMap : resultMaps) {
+            if (of(configuration, resultMap) != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * return the compiled mapper of the result map, or {@code null} when it could not be compiled.
+     *
+     * @param configuration configuration
+     * @param resultMap     result map
+     * @return the compiled mapper.
+     */
+    @Nullable
+    public static ResultRowMapper of(@NonNull Configuration configuration, @NonNull ResultMap resultMap) {
+        return MAPPERS.computeIfAbsent(resultMap, key -> Optional.ofNullable(compile(configuration, key))).orElse(null);
+    }
+
+    /**
+     * return the {@link ResultMap} of a composite result mapping, which was built for every row before.
+     *
+     * @param configuration configuration
+     * @param resultMapping composite result mapping
+     * @return the result map of the composites.
+     */
+    @NonNull
+    public static ResultMap composite(@NonNull Configuration configuration, @NonNull ResultMapping resultMapping) {
+        return COMPOSITES.computeIfAbsent(resultMapping, key -> new ResultMap.Builder(configuration,
+                key.getJavaType().getSimpleName(), key.getJavaType(), key.getComposites(), Boolean.FALSE).build());
+    }
+
+    /**
+     * apply the property mappings of the row to the target of {@code metaObject}.
+     *
+     * @param rsw          result set wrapper
+     * @param metaObject   meta object of the row value
+     * @param columnPrefix column prefix
+     * @param indexes      the resolved column indexes of the current statement, which are keyed by the mapper.
+     * @return {@code true} if any value was found.
+     * @throws SQLException sql exception
+     */
+    public boolean apply(ResultSetWrapper rsw, MetaObject metaObject, String columnPrefix,
+                         Map<Object, Object> indexes) throws SQLException {
+        final ColumnIndexes columnIndexes = resolve(rsw, columnPrefix, indexes);
+        final ResultSet rs = rsw.getResultSet();
+        final Object target = metaObject.getOriginalObject();
+        final boolean callSettersOnNulls = configuration.isCallSettersOnNulls();
+
+        boolean foundValues = applyProperties(rs, target, properties, columnIndexes.properties, callSettersOnNulls);
+
+        for (int i = 0; i < composites.length; i++) {
+            final CompositeSlot composite = composites[i];
+            Object value = configuration.getObjectFactory().create(composite.type);
+            if (!applyProperties(rs, value, composite.properties, columnIndexes.composites[i], callSettersOnNulls)
+                    && !configuration.isReturnInstanceForEmptyRow()) {
+                value = null;
+            }
+
+            if (value != null) {
+                foundValues = true;
+            }
+
+            if (value != null || callSettersOnNulls) {
+                composite.set(target, value);
+            }
+        }
+
+        return foundValues;
+    }
+
+    private static boolean applyProperties(ResultSet rs, Object target, PropertySlot[] slots, int[] indexes,
+                                           boolean callSettersOnNulls) throws SQLException {
+        boolean foundValues = false;
+        for (int i = 0; i < slots.length; i++) {
+            final int index = indexes[i];
+            if (index < 1) {
+                continue;
+            }
+            final PropertySlot slot = slots[i];
+            final Object value = slot.typeHandler.getResult(rs, index);
+            if (value != null) {
+                foundValues = true;
+            }
+            if (value != null || callSettersOnNulls && !slot.primitive) {
+                slot.set(target, value);
+            }
+        }
+        return foundValues;
+    }
+
+    private ColumnIndexes resolve(ResultSetWrapper rsw, String columnPrefix, Map<Object, Object> indexes) {
+        final ColumnIndexes current = (ColumnIndexes) indexes.get(this);
+        if (current != null && current.rsw == rsw && Objects.equals(current.columnPrefix, columnPrefix)) {
+            return current;
+        }
+
+        final List<String> columnNames = rsw.getColumnNames();
+        final Map<String, Integer> columns = new HashMap<>(columnNames.size() * 2);
+        for (int i = 0; i < columnNames.size(); i++) {
+            columns.putIfAbsent(columnNames.get(i).toUpperCase(Locale.ENGLISH), i + 1);
+        }
+
+        final int[] propertyIndexes = indexes(columns, properties, columnPrefix);
+        final int[][] compositeIndexes = new int[composites.length][];
+        for (int i = 0; i < composites.length; i++) {
+            compositeIndexes[i] = indexes(columns, composites[i].properties, composites[i].columnPrefix);
+        }
+
+        final ColumnIndexes resolved = new ColumnIndexes(rsw, columnPrefix, propertyIndexes, compositeIndexes);
+        indexes.put(this, resolved);
+        return resolved;
+    }
+
+    private static int[] indexes(Map<String, Integer> columns, PropertySlot[] slots, String columnPrefix) {
+        final int[] indexes = new int[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            final String column = columnPrefix == null || columnPrefix.isEmpty() ? slots[i].column : columnPrefix + slots[i].column;
+            indexes[i] = columns.getOrDefault(column.toUpperCase(Locale.ENGLISH), -1);
+        }
+        return indexes;
+    }
+
+    @Nullable
+    private static ResultRowMapper compile(Configuration configuration, ResultMap resultMap) {
+        try {
+            final List<ResultMapping> resultMappings = resultMap.getPropertyResultMappings();
+            final List<PropertySlot> properties = new ArrayList<>(resultMappings.size());
+            final List<CompositeSlot> composites = new ArrayList<>();
+
+            for (ResultMapping resultMapping : resultMappings) {
+                if (resultMapping.getProperty() == null) {
+                    continue;
+                }
+
+                if (resultMapping.isCompositeResult()) {
+                    final Class<?> type = resultMapping.getJavaType();
+                    if (configuration.getTypeHandlerRegistry().hasTypeHandler(type)) {
+                        return null;
+                    }
+                    final Class<?> instanceType = configuration.getObjectFactory().create(type).getClass();
+                    final PropertySlot[] slots = new PropertySlot[resultMapping.getComposites().size()];
+                    for (int i = 0; i < slots.length; i++) {
+                        slots[i] = property(instanceType, resultMapping.getComposites().get(i));
+                        if (slots[i] == null) {
+                            return null;
+                        }
+                    }
+                    final Method writeMethod = writeMethod(resultMap.getType(), resultMapping.getProperty());
+                    if (writeMethod == null) {
+                        return null;
+                    }
+                    composites.add(new CompositeSlot(type, resultMapping.getColumnPrefix(), setter(writeMethod), slots));
+                } else {
+                    final PropertySlot slot = property(resultMap.getType(), resultMapping);
+                    if (slot == null) {
+                        return null;
+                    }
+                    properties.add(slot);
+                }
+            }
+
+            return new ResultRowMapper(configuration, properties.toArray(new PropertySlot[0]),
+                    composites.toArray(new CompositeSlot[0]));
+        } catch (Exception e) {
+            logger.warn("could not compile result row mapper of {}, fallback to MyBatis: {}", resultMap.getId(), e.getMessage());
+            return null;
+        }
+    }
+
+    @Nullable
+    private static PropertySlot property(Class<?> type, ResultMapping resultMapping) throws IllegalAccessException {
+        if (resultMapping.getNestedQueryId() != null || resultMapping.getNestedResultMapId() != null
+                || resultMapping.getResultSet() != null || resultMapping.getColumn() == null
+                || resultMapping.getTypeHandler() == null) {
+            return null;
+        }
+
+        final Method writeMethod = writeMethod(type, resultMapping.getProperty());
+        if (writeMethod == null) {
+            return null;
+        }
+
+        return new PropertySlot(resultMapping.getColumn(), resultMapping.getTypeHandler(), setter(writeMethod),
+                writeMethod.getParameterTypes()[0].isPrimitive());
+    }
+
+    @Nullable
+    private static Method writeMethod(Class<?> type, String property) {
+        final PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, property);
+        return descriptor == null ? null : descriptor.getWriteMethod();
+    }
+
+    private static MethodHandle setter(Method writeMethod) throws IllegalAccessException {
+        writeMethod.trySetAccessible();
+        return MethodHandles.lookup().unreflect(writeMethod).asType(SETTER_TYPE);
+    }
+
+    private static final class PropertySlot {
+
+        private final String column;
+
+        private final TypeHandler<?> typeHandler;
+
+        private final MethodHandle setter;
+
+        private final boolean primitive;
+
+        private PropertySlot(String column, TypeHandler<?> typeHandler, MethodHandle setter, boolean primitive) {
+            this.column = column;
+            this.typeHandler = typeHandler;
+            this.setter = setter;
+            this.primitive = primitive;
+        }
+
+        private void set(Object target, Object value) {
+            try {
+                setter.invokeExact(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+    private static final class CompositeSlot {
+
+        private final Class<?> type;
+
+        private final String columnPrefix;
+
+        private final MethodHandle setter;
+
+        private final PropertySlot[] properties;
+
+        private CompositeSlot(Class<?> type, String columnPrefix, MethodHandle setter, PropertySlot[] properties) {
+            this.type = type;
+            this.columnPrefix = columnPrefix;
+            this.setter = setter;
+            this.properties = properties;
+        }
+
+        private void set(Object target, Object value) {
+            try {
+                setter.invokeExact(target, value);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+    }
+
+    private static final class ColumnIndexes {
+
+        private final ResultSetWrapper rsw;
+
+        private final String columnPrefix;
+
+        private final int[] properties;
+
+        private final int[][] composites;
+
+        private ColumnIndexes(ResultSetWrapper rsw, String columnPrefix, int[] properties, int[][] composites) {
+            this.rsw = rsw;
+            this.columnPrefix = columnPrefix;
+            this.properties = properties;
+            this.composites = composites;
+        }
+
+    }
+
+}
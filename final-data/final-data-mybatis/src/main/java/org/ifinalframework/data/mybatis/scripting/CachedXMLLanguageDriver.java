@@ -0,0 +1,86 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.scripting;
+
+import org.ifinalframework.data.mybatis.sql.ScriptTemplateCache;
+
+import org.apache.ibatis.builder.annotation.ProviderSqlSource;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
+import org.apache.ibatis.session.Configuration;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A {@link XMLLanguageDriver} which reuses the parsed {@link SqlSource} of the same script.
+ *
+ * <p>{@link ProviderSqlSource} calls {@link #createSqlSource(Configuration, String, Class)} on every execution,
+ * which parses the script again. The parsed {@link SqlSource} is stateless, so it is cached by the script text and
+ * the parameter type, then a cached {@link ScriptTemplateCache template} only needs to bind the parameters.</p>
+ *
+ * <p>MyBatis creates one driver instance per {@link Configuration}, so the cache is per configuration. It is bounded by
+ * {@link #MAX_CACHE_SIZE}, scripts are parsed without caching once the cache is full.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.apache.ibatis.annotations.Lang
+ * @see ScriptTemplateCache
+ * @since 1.6.0
+ */
+public class CachedXMLLanguageDriver extends XMLLanguageDriver {
+
+    public static final int MAX_CACHE_SIZE = 2048;
+
+    private final Map<SqlSourceKey, SqlSource> sqlSources = new ConcurrentHashMap<>(256);
+
+    @Override
+    public SqlSource createSqlSource(Configuration configuration, String script, Class<?> parameterType) {
+        final SqlSourceKey key = new SqlSourceKey(script, parameterType);
+        final SqlSource sqlSource = sqlSources.get(key);
+        if (sqlSource != null) {
+            return sqlSource;
+        }
+
+        if (sqlSources.size() >= MAX_CACHE_SIZE) {
+            return super.createSqlSource(configuration, script, parameterType);
+        }
+
+        return sqlSources.computeIfAbsent(key, k -> super.createSqlSource(configuration, script, parameterType));
+    }
+
+    public int size() {
+        return sqlSources.size();
+    }
+
+    public void clear() {
+        sqlSources.clear();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class SqlSourceKey {
+
+        private final String script;
+
+        private final Class<?> parameterType;
+
+    }
+
+}
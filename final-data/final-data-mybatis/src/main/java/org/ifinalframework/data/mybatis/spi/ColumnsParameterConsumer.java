@@ -25,12 +25,15 @@ import org.ifinalframework.util.Asserts;
 import org.ifinalframework.velocity.Velocities;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -45,6 +48,13 @@ public class ColumnsParameterConsumer implements MapParameterConsumer {
     private static final String DEFAULT_READER = "${column}";
     private static final String COLUMNS = "columns";
 
+    /**
+     * the columns only depend on the entity and the view, so they are rendered once.
+     *
+     * @since 1.6.0
+     */
+    private final Map<ColumnsKey, List<String>> columns = new ConcurrentHashMap<>();
+
     @Override
     public void accept(Map<String, Object> parameter, Class<?> mapper, Method method) {
         final String methodName = method.getName();
@@ -70,18 +80,30 @@ public class ColumnsParameterConsumer implements MapParameterConsumer {
     }
 
     private List<String> buildColumns(QEntity<?, ?> entity, Class<?> view) {
-        return entity.stream()
-                .filter(QProperty::isReadable)
-                .filter(it -> it.hasView(view))
-                .map(property -> {
-                    final Metadata metadata = new Metadata();
-                    metadata.setProperty(property.getName());
-                    metadata.setColumn(property.getColumn());
-                    metadata.setValue(property.getName());
-                    metadata.setJavaType(property.getType());
-                    metadata.setTypeHandler(property.getTypeHandler());
-                    final String reader = Asserts.isBlank(property.getReader()) ? DEFAULT_READER : property.getReader();
-                    return Velocities.getValue(reader, metadata);
-                }).collect(Collectors.toList());
+        return columns.computeIfAbsent(new ColumnsKey(entity.getType(), view), key -> {
+            final List<QProperty<?>> properties = entity.getReadableProperties(view);
+            final List<String> list = new ArrayList<>(properties.size());
+            for (QProperty<?> property : properties) {
+                final Metadata metadata = new Metadata();
+                metadata.setProperty(property.getName());
+                metadata.setColumn(property.getColumn());
+                metadata.setValue(property.getName());
+                metadata.setJavaType(property.getType());
+                metadata.setTypeHandler(property.getTypeHandler());
+                final String reader = Asserts.isBlank(property.getReader()) ? DEFAULT_READER : property.getReader();
+                list.add(Velocities.getValue(reader, metadata));
+            }
+            return Collections.unmodifiableList(list);
+        });
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static final class ColumnsKey {
+
+        private final Class<?> entity;
+
+        private final Class<?> view;
+
     }
 }
@@ -16,20 +16,26 @@
 package org.ifinalframework.data.mybatis.sql;
 
 import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
 
 import org.ifinalframework.core.IEntity;
 import org.ifinalframework.core.IQuery;
 import org.ifinalframework.data.mybatis.mapper.AbsMapper;
 import org.ifinalframework.data.mybatis.sql.provider.ScriptSqlProvider;
+import org.ifinalframework.data.query.AndOr;
+import org.ifinalframework.data.query.Criteria;
+import org.ifinalframework.data.query.PageQuery;
 import org.ifinalframework.data.query.QueryProvider;
 import org.ifinalframework.data.query.sql.DefaultQueryProvider;
 import org.ifinalframework.data.repository.Repository;
 
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @see AbsMapper
  * @since 1.0.0
  */
@@ -43,6 +49,79 @@ public interface AbsMapperSqlProvider extends ScriptSqlProvider {
         return new DefaultQueryProvider(expression, (Class<? extends IEntity>) entity, query);
     }
 
+    /**
+     * return the query provider which renders the dynamic {@link PageQuery#getCriteria() criteria}
+     * by {@link #renderCriteria(Criteria, Map)}.
+     *
+     * @param expression the parameter name of the query
+     * @param entity     entity class
+     * @param query      query
+     * @param parameters mapper method parameters which the rendered values are put into
+     * @return the query provider.
+     * @since 1.6.0
+     */
+    default QueryProvider query(String expression, Class<?> entity, Object query, Map<String, Object> parameters) {
+        return new DefaultQueryProvider(expression, (Class<? extends IEntity>) entity, query,
+                criteria -> renderCriteria(criteria, parameters));
+    }
+
+    /**
+     * render the dynamic criteria by {@link CriteriaSqlRenderer} into a {@code where} fragment with the
+     * {@code #{__criterion_N}} placeholders, and put the values into the parameters, so the script has no
+     * {@code <if>} of the criteria to evaluate.
+     *
+     * @param criteria   the dynamic criteria of the query
+     * @param parameters mapper method parameters
+     * @return the {@code where} fragment, or {@code null} to fall back to the {@code <if>} XML when the criteria
+     * has any custom expression.
+     * @see CriteriaSqlRenderer#supports(Criteria)
+     * @since 1.6.0
+     */
+    @Nullable
+    default String renderCriteria(Criteria criteria, Map<String, Object> parameters) {
+        // the conditions of the top level are always joined by AND in the XML.
+        if (criteria.getAndOr() != AndOr.AND || !CriteriaSqlRenderer.supports(criteria)) {
+            return null;
+        }
+        final CriteriaSqlRenderer.CriteriaSql sql = new CriteriaSqlRenderer().render(criteria);
+        if (sql.isEmpty()) {
+            return "";
+        }
+        parameters.putAll(sql.getParameters());
+        return "<![CDATA[ AND " + sql.getScript() + " ]]>";
+    }
+
+    /**
+     * return the shape of the {@code where} clause which {@link #appendQuery(StringBuilder, Class, Object)} renders
+     * for the query, or {@code null} when it depends on the dynamic {@link PageQuery#getCriteria() criteria}.
+     *
+     * @param query query
+     * @return the query shape.
+     * @since 1.6.0
+     */
+    @Nullable
+    default Object getQueryShape(@Nullable Object query) {
+        if (!(query instanceof IQuery)) {
+            return Void.class;
+        }
+        if (query instanceof PageQuery pageQuery && !pageQuery.getCriteria().isEmpty()) {
+            return null;
+        }
+        return query.getClass();
+    }
+
+    /**
+     * return {@code true} if the parameters contains a non-null value of the name.
+     *
+     * @param parameters parameters
+     * @param name       parameter name
+     * @return {@code true} if the parameters contains a non-null value of the name.
+     * @since 1.6.0
+     */
+    default boolean hasParameter(Map<String, Object> parameters, String name) {
+        return parameters.containsKey(name) && Objects.nonNull(parameters.get(name));
+    }
+
     default void appendOrders(StringBuilder sql) {
         sql.append("<if test=\"orders != null\">")
                 .append("     <foreach collection=\"orders\" item=\"item\" open=\"ORDER BY\" separator=\",\">${item}</foreach>")
@@ -66,6 +145,22 @@ public interface AbsMapperSqlProvider extends ScriptSqlProvider {
                 .append("</trim>");
     }
 
+    /**
+     * append the {@code where} clause of the query, the dynamic {@link PageQuery#getCriteria() criteria} are
+     * rendered by {@link #renderCriteria(Criteria, Map)} if supported.
+     *
+     * @param sql        script
+     * @param entity     entity class
+     * @param query      query
+     * @param parameters mapper method parameters
+     * @since 1.6.0
+     */
+    default void appendQuery(StringBuilder sql, Class<?> entity, Object query, Map<String, Object> parameters) {
+        if (query instanceof IQuery) {
+            Optional.ofNullable(query("query", entity, query, parameters).where()).ifPresent(sql::append);
+        }
+    }
+
     default void appendQuery(StringBuilder sql, Class<?> entity, Object query) {
 
         QueryProvider provider = null;
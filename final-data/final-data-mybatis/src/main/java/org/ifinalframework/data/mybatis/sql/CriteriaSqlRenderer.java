@@ -0,0 +1,423 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.sql;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.data.query.AndOr;
+import org.ifinalframework.data.query.BetweenValue;
+import org.ifinalframework.data.query.Criteria;
+import org.ifinalframework.data.query.Criterion;
+import org.ifinalframework.data.query.CriterionAttributes;
+import org.ifinalframework.data.query.CriterionExpression;
+import org.ifinalframework.velocity.Velocities;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.TypeHandler;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Render a {@link Criteria} tree into a parameterized SQL with the ordered {@link ParameterMapping}s directly,
+ * without the {@code <if>}/{@code <foreach>} XML and the OGNL evaluation of MyBatis dynamic SQL.
+ *
+ * <p>The {@code <if test>} of a {@link CriterionExpression} is evaluated in Java when rendering, so the SQL only
+ * contains the conditions of the current values. Only the expressions of {@link CriterionExpression} such as
+ * {@link CriterionExpression#EQUAL} and {@link CriterionExpression#IN} are supported, use {@link #supports(Criteria)}
+ * to fall back to the XML for custom expressions.</p>
+ *
+ * <pre class="code">
+ * CriteriaSql sql = new CriteriaSqlRenderer(configuration).render(criteria);
+ * BoundSql boundSql = sql.getBoundSql();
+ * </pre>
+ *
+ * <p>The {@link CriteriaSql#getScript()} is used by the mapper scripts instead of the {@code <if>} XML of the
+ * {@link org.ifinalframework.data.query.PageQuery#getCriteria() query criteria}, which only needs the
+ * {@link CriteriaSql#getParameters() parameters} but not the {@link Configuration}.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see org.ifinalframework.data.query.sql.DefaultQueryProvider
+ * @see AbsMapperSqlProvider#renderCriteria(Criteria, Map)
+ * @since 1.6.0
+ */
+public class CriteriaSqlRenderer {
+
+    /**
+     * the prefix of the generated parameter names.
+     */
+    public static final String PARAMETER_PREFIX = "__criterion_";
+
+    private static final Map<String, Operator> OPERATORS = new HashMap<>(32);
+
+    static {
+        OPERATORS.put(CriterionExpression.IS_NULL, Operator.IS_NULL);
+        OPERATORS.put(CriterionExpression.IS_NOT_NULL, Operator.IS_NOT_NULL);
+        OPERATORS.put(CriterionExpression.EQUAL, Operator.EQUAL);
+        OPERATORS.put(CriterionExpression.NOT_EQUAL, Operator.NOT_EQUAL);
+        OPERATORS.put(CriterionExpression.GREAT_THAN, Operator.GREAT_THAN);
+        OPERATORS.put(CriterionExpression.GREAT_THAN_EQUAL, Operator.GREAT_THAN_EQUAL);
+        OPERATORS.put(CriterionExpression.LESS_THAN, Operator.LESS_THAN);
+        OPERATORS.put(CriterionExpression.LESS_THAN_EQUAL, Operator.LESS_THAN_EQUAL);
+        OPERATORS.put(CriterionExpression.BETWEEN, Operator.BETWEEN);
+        OPERATORS.put(CriterionExpression.NOT_BETWEEN, Operator.NOT_BETWEEN);
+        OPERATORS.put(CriterionExpression.LIKE, Operator.LIKE);
+        OPERATORS.put(CriterionExpression.NOT_LIKE, Operator.NOT_LIKE);
+        OPERATORS.put(CriterionExpression.STARTS_WITH, Operator.STARTS_WITH);
+        OPERATORS.put(CriterionExpression.NOT_STARTS_WITH, Operator.NOT_STARTS_WITH);
+        OPERATORS.put(CriterionExpression.ENDS_WITH, Operator.ENDS_WITH);
+        OPERATORS.put(CriterionExpression.NOT_ENDS_WITH, Operator.NOT_ENDS_WITH);
+        OPERATORS.put(CriterionExpression.CONTAINS, Operator.CONTAINS);
+        OPERATORS.put(CriterionExpression.NOT_CONTAINS, Operator.NOT_CONTAINS);
+        OPERATORS.put(CriterionExpression.IN, Operator.IN);
+        OPERATORS.put(CriterionExpression.NOT_IN, Operator.NOT_IN);
+    }
+
+    @Nullable
+    private final Configuration configuration;
+
+    /**
+     * create a renderer which renders the {@link CriteriaSql#getScript() script} only.
+     */
+    public CriteriaSqlRenderer() {
+        this(null);
+    }
+
+    public CriteriaSqlRenderer(final @Nullable Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * return {@code true} if all the criterion expressions of the criteria can be rendered directly.
+     *
+     * @param criteria criteria
+     * @return {@code true} if all the criterion expressions of the criteria can be rendered directly.
+     */
+    public static boolean supports(final Criteria criteria) {
+        for (Criterion criterion : criteria) {
+            if (criterion instanceof Criteria nested) {
+                if (!supports(nested)) {
+                    return false;
+                }
+            } else if (!(criterion instanceof CriterionAttributes attributes)
+                    || !OPERATORS.containsKey(attributes.getExpression())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * render the conditions of the criteria, joined by the {@link Criteria#getAndOr()} of each level.
+     *
+     * @param criteria criteria
+     * @return the rendered sql, empty if all the conditions are skipped.
+     * @throws UnsupportedOperationException if the criteria contains a custom expression.
+     */
+    @NonNull
+    public CriteriaSql render(final @NonNull Criteria criteria) {
+        final StringBuilder sql = new StringBuilder();
+        final List<Placeholder> placeholders = new ArrayList<>();
+        final Map<String, Object> parameters = new HashMap<>();
+        appendCriteria(sql, criteria, placeholders, parameters);
+        return new CriteriaSql(configuration, sql.toString(), Collections.unmodifiableList(placeholders),
+                Collections.unmodifiableMap(parameters));
+    }
+
+    private void appendCriteria(final StringBuilder sql, final Criteria criteria,
+                                final List<Placeholder> placeholders, final Map<String, Object> parameters) {
+
+        for (Criterion criterion : criteria) {
+            final int start = sql.length();
+            if (start > 0 && sql.charAt(start - 1) != '(') {
+                sql.append(' ').append(criteria.getAndOr()).append(' ');
+            }
+            final int conditionStart = sql.length();
+            if (criterion instanceof Criteria nested) {
+                sql.append('(');
+                appendCriteria(sql, nested, placeholders, parameters);
+                if (sql.length() == conditionStart + 1) {
+                    // all the conditions of the nested criteria are skipped.
+                    sql.setLength(start);
+                    continue;
+                }
+                sql.append(')');
+            } else if (criterion instanceof CriterionAttributes attributes) {
+                if (!appendCriterion(sql, attributes, placeholders, parameters)) {
+                    sql.setLength(start);
+                }
+            } else {
+                throw new UnsupportedOperationException("unsupported criterion: " + criterion);
+            }
+        }
+    }
+
+    private boolean appendCriterion(final StringBuilder sql, final CriterionAttributes criterion,
+                                    final List<Placeholder> placeholders,
+                                    final Map<String, Object> parameters) {
+
+        final Operator operator = OPERATORS.get(criterion.getExpression());
+        if (Objects.isNull(operator)) {
+            throw new UnsupportedOperationException("unsupported criterion expression: " + criterion.getExpression());
+        }
+
+        final Object value = criterion.getValue();
+        if (!operator.test(value)) {
+            return false;
+        }
+
+        sql.append(getColumn(criterion)).append(' ').append(operator.keyword);
+        switch (operator) {
+            case IS_NULL, IS_NOT_NULL -> {
+                // no parameter
+            }
+            case BETWEEN, NOT_BETWEEN -> {
+                final BetweenValue<?> between = (BetweenValue<?>) value;
+                sql.append(' ');
+                appendParameter(sql, criterion, between.getMin(), placeholders, parameters);
+                sql.append(" AND ");
+                appendParameter(sql, criterion, between.getMax(), placeholders, parameters);
+            }
+            case IN, NOT_IN -> {
+                sql.append(" (");
+                boolean first = true;
+                for (Object item : toCollection(value)) {
+                    if (!first) {
+                        sql.append(',');
+                    }
+                    appendParameter(sql, criterion, item, placeholders, parameters);
+                    first = false;
+                }
+                sql.append(')');
+            }
+            default -> {
+                sql.append(' ').append(operator.prefix);
+                appendParameter(sql, criterion, value, placeholders, parameters);
+                sql.append(operator.suffix);
+            }
+        }
+        return true;
+    }
+
+    private void appendParameter(final StringBuilder sql, final CriterionAttributes criterion, final Object value,
+                                 final List<Placeholder> placeholders, final Map<String, Object> parameters) {
+
+        final String property = PARAMETER_PREFIX + placeholders.size();
+        final Class<?> javaType = criterion.containsKey(CriterionAttributes.ATTRIBUTE_NAME_JAVA_TYPE)
+                ? criterion.getJavaType() : null;
+        final Class<?> typeHandler = criterion.containsKey(CriterionAttributes.ATTRIBUTE_NAME_TYPE_HANDLER)
+                ? criterion.getTypeHandler() : null;
+        placeholders.add(new Placeholder(sql.length(), property, javaType, typeHandler));
+        parameters.put(property, value);
+        sql.append('?');
+    }
+
+    private String getColumn(final CriterionAttributes criterion) {
+        final String column = criterion.getColumn();
+        if (column.contains("${") || column.contains("#{")) {
+            return Velocities.getValue(column, criterion);
+        }
+        return column;
+    }
+
+    private static Collection<?> toCollection(final Object value) {
+        if (value instanceof Collection<?> collection) {
+            return collection;
+        }
+        final int length = Array.getLength(value);
+        final List<Object> items = new ArrayList<>(length);
+        for (int i = 0; i < length; i++) {
+            items.add(Array.get(value, i));
+        }
+        return items;
+    }
+
+    /**
+     * the operators of {@link CriterionExpression}, the {@code test} is the {@code <if test>} of the expression.
+     */
+    @RequiredArgsConstructor
+    private enum Operator {
+        IS_NULL("IS NULL", Test.NONE),
+        IS_NOT_NULL("IS NOT NULL", Test.NONE),
+        EQUAL("=", Test.VALUE),
+        NOT_EQUAL("!=", Test.VALUE),
+        GREAT_THAN(">", Test.VALUE),
+        GREAT_THAN_EQUAL(">=", Test.VALUE),
+        LESS_THAN("<", Test.VALUE),
+        LESS_THAN_EQUAL("<=", Test.VALUE),
+        BETWEEN("BETWEEN", Test.BETWEEN),
+        NOT_BETWEEN("NOT BETWEEN", Test.BETWEEN),
+        LIKE("LIKE", Test.LIKE),
+        NOT_LIKE("NOT LIKE", Test.LIKE),
+        STARTS_WITH("LIKE", Test.LIKE, "CONCAT(", ",'%')"),
+        NOT_STARTS_WITH("NOT LIKE", Test.LIKE, "CONCAT(", ",'%')"),
+        ENDS_WITH("LIKE", Test.LIKE, "CONCAT('%',", ")"),
+        NOT_ENDS_WITH("NOT LIKE", Test.LIKE, "CONCAT('%',", ")"),
+        CONTAINS("LIKE", Test.LIKE, "CONCAT('%',", ",'%')"),
+        NOT_CONTAINS("NOT LIKE", Test.LIKE, "CONCAT('%',", ",'%')"),
+        IN("IN", Test.COLLECTION),
+        NOT_IN("NOT IN", Test.COLLECTION);
+
+        private final String keyword;
+
+        private final Test test;
+
+        private final String prefix;
+
+        private final String suffix;
+
+        Operator(final String keyword, final Test test) {
+            this(keyword, test, "", "");
+        }
+
+        boolean test(final Object value) {
+            return switch (test) {
+                case NONE -> true;
+                case VALUE -> Objects.nonNull(value);
+                case LIKE -> Objects.nonNull(value) && !"".equals(value);
+                case COLLECTION -> value instanceof Collection<?> collection ? !collection.isEmpty()
+                        : Objects.nonNull(value) && value.getClass().isArray() && Array.getLength(value) > 0;
+                case BETWEEN -> value instanceof BetweenValue<?> between
+                        && Objects.nonNull(between.getMin()) && Objects.nonNull(between.getMax());
+            };
+        }
+    }
+
+    /**
+     * @see CriterionExpression#TEST_VALUE
+     * @see CriterionExpression#TEST_LIKE
+     * @see CriterionExpression#TEST_COLLECTION
+     * @see CriterionExpression#TEST_BETWEEN
+     */
+    private enum Test {
+        NONE, VALUE, LIKE, COLLECTION, BETWEEN
+    }
+
+    /**
+     * the {@code ?} of the sql.
+     *
+     * @param index       the index of the {@code ?} in the sql
+     * @param property    the parameter name
+     * @param javaType    the declared {@code javaType} of the criterion
+     * @param typeHandler the declared {@code typeHandler} of the criterion
+     */
+    private record Placeholder(int index, String property, @Nullable Class<?> javaType,
+                               @Nullable Class<?> typeHandler) {
+    }
+
+    /**
+     * The rendered sql of a {@link Criteria}.
+     */
+    @RequiredArgsConstructor
+    public static final class CriteriaSql {
+
+        @Nullable
+        private final Configuration configuration;
+
+        /**
+         * the sql with {@code ?} placeholders.
+         */
+        @Getter
+        private final String sql;
+
+        private final List<Placeholder> placeholders;
+
+        /**
+         * the values of the {@link #getParameterMappings()}, keyed by the property of the parameter mapping.
+         */
+        @Getter
+        private final Map<String, Object> parameters;
+
+        public boolean isEmpty() {
+            return sql.isEmpty();
+        }
+
+        /**
+         * return the sql with the {@code #{__criterion_N}} placeholders of the {@link #getParameters() parameters},
+         * which can be embedded into a mapper script.
+         *
+         * @return the sql with the {@code #{__criterion_N}} placeholders.
+         */
+        public String getScript() {
+            final StringBuilder script = new StringBuilder(sql.length() + placeholders.size() * 16);
+            int from = 0;
+            for (Placeholder placeholder : placeholders) {
+                script.append(sql, from, placeholder.index()).append("#{").append(placeholder.property());
+                if (Objects.nonNull(placeholder.javaType())) {
+                    script.append(",javaType=").append(placeholder.javaType().getName());
+                }
+                if (Objects.nonNull(placeholder.typeHandler())) {
+                    script.append(",typeHandler=").append(placeholder.typeHandler().getName());
+                }
+                script.append('}');
+                from = placeholder.index() + 1;
+            }
+            return script.append(sql, from, sql.length()).toString();
+        }
+
+        /**
+         * return the parameter mappings of the {@code ?} placeholders, the {@code javaType} is the class of the value
+         * if the criterion does not declare it.
+         *
+         * @return the parameter mappings of the {@code ?} placeholders.
+         * @throws NullPointerException if the renderer has no {@link Configuration}.
+         */
+        @SuppressWarnings("unchecked")
+        public List<ParameterMapping> getParameterMappings() {
+            Objects.requireNonNull(configuration, "the configuration is required to build the parameter mappings");
+            final List<ParameterMapping> parameterMappings = new ArrayList<>(placeholders.size());
+            for (Placeholder placeholder : placeholders) {
+                final Object value = parameters.get(placeholder.property());
+                final Class<?> javaType = Objects.nonNull(placeholder.javaType()) ? placeholder.javaType()
+                        : Objects.isNull(value) ? Object.class : value.getClass();
+                final ParameterMapping.Builder builder = new ParameterMapping.Builder(configuration,
+                        placeholder.property(), javaType);
+                if (Objects.nonNull(placeholder.typeHandler())) {
+                    builder.typeHandler(configuration.getTypeHandlerRegistry().getInstance(javaType,
+                            (Class<? extends TypeHandler<?>>) placeholder.typeHandler()));
+                }
+                parameterMappings.add(builder.build());
+            }
+            return Collections.unmodifiableList(parameterMappings);
+        }
+
+        public SqlSource getSqlSource() {
+            return new StaticSqlSource(configuration, sql, getParameterMappings());
+        }
+
+        public BoundSql getBoundSql() {
+            return getSqlSource().getBoundSql(parameters);
+        }
+
+    }
+
+}
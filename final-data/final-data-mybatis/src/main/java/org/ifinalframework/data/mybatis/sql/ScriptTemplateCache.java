@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.sql;
+
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.data.mybatis.sql.provider.ScriptSqlProvider;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * A cache of the {@code <script>} built by {@link ScriptSqlProvider}.
+ *
+ * <p>The script of an {@link org.ifinalframework.data.mybatis.mapper.AbsMapper} method only depends on the mapper,
+ * the method, the view, the selective flag, the database id and a few shape parameters (such as {@code ids != null}
+ * or the query class), so it is built once per {@link Key} and reused. The returned instance is always the same
+ * {@link String}, which lets the {@link org.ifinalframework.data.mybatis.scripting.CachedXMLLanguageDriver}
+ * reuse the parsed {@link org.apache.ibatis.mapping.SqlSource} too.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see ScriptSqlProvider#getScriptShape(org.apache.ibatis.builder.annotation.ProviderContext, Map)
+ * @since 1.6.0
+ */
+public final class ScriptTemplateCache {
+
+    private static final Map<Key, String> SCRIPTS = new ConcurrentHashMap<>(256);
+
+    private ScriptTemplateCache() {
+    }
+
+    @NonNull
+    public static String get(@NonNull Key key, @NonNull Supplier<String> script) {
+        final String cached = SCRIPTS.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return SCRIPTS.computeIfAbsent(key, k -> script.get());
+    }
+
+    public static int size() {
+        return SCRIPTS.size();
+    }
+
+    public static void clear() {
+        SCRIPTS.clear();
+    }
+
+    /**
+     * The cache key of a script template.
+     */
+    @Getter
+    @ToString
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    public static final class Key {
+
+        private final Class<?> mapperType;
+
+        private final Method mapperMethod;
+
+        @Nullable
+        private final Class<?> view;
+
+        private final boolean selective;
+
+        @Nullable
+        private final String databaseId;
+
+        /**
+         * the parameters which change the script, see {@link ScriptSqlProvider#getScriptShape}.
+         */
+        private final Object shape;
+
+    }
+
+}
@@ -21,8 +21,10 @@ import org.ifinalframework.data.mybatis.sql.AbsMapperSqlProvider;
 
 import org.apache.ibatis.builder.annotation.ProviderContext;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * <pre class="code">
@@ -37,7 +39,7 @@ import java.util.Map;
  * </pre>
  *
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @see AbsMapper#delete(String, Collection, IQuery)
  * @since 1.0.0
  */
@@ -51,6 +53,16 @@ public class DeleteSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
         return provide(context, parameters);
     }
 
+    @Override
+    public Object getScriptShape(final ProviderContext context, final Map<String, Object> parameters) {
+        final Object queryShape = getQueryShape(hasParameter(parameters, QUERY_PARAMETER_NAME)
+                ? parameters.get(QUERY_PARAMETER_NAME) : null);
+        if (Objects.isNull(queryShape)) {
+            return null;
+        }
+        return Arrays.asList(hasParameter(parameters, "ids"), queryShape);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void doProvide(final StringBuilder sql, final ProviderContext context,
@@ -66,7 +78,7 @@ public class DeleteSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
         if (ids != null) {
             sql.append(whereIdsNotNull());
         } else {
-            appendQuery(sql, entity, query);
+            appendQuery(sql, entity, query, parameters);
         }
 
     }
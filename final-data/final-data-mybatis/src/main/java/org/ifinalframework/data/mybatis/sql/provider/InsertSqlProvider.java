@@ -33,9 +33,10 @@ import org.apache.ibatis.builder.annotation.ProviderContext;
 
 import java.lang.reflect.Method;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.StringJoiner;
 
 /**
  * @author iimik
@@ -97,6 +98,16 @@ public class InsertSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
         return provide(context, parameters);
     }
 
+    @Override
+    public void prepare(final ProviderContext context, final Map<String, Object> parameters) {
+        parameters.put("entity", DefaultQEntityFactory.INSTANCE.create(getEntityClass(context.getMapperType())));
+    }
+
+    @Override
+    public Object getScriptShape(final ProviderContext context, final Map<String, Object> parameters) {
+        return Collections.singletonList(hasParameter(parameters, "ignore") && Boolean.TRUE.equals(parameters.get("ignore")));
+    }
+
     @Override
     public void doProvide(final StringBuilder sql, final ProviderContext context,
                           final Map<String, Object> parameters) {
@@ -106,11 +117,7 @@ public class InsertSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
 
         final Class<?> view = parameters.containsKey("view") ? (Class<?>) parameters.get("view") : null;
 
-        final Class<?> entityClazz = getEntityClass(context.getMapperType());
-
-
-        final QEntity<?, ?> entity = DefaultQEntityFactory.INSTANCE.create(entityClazz);
-        parameters.put("entity", entity);
+        final QEntity<?, ?> entity = (QEntity<?, ?>) parameters.get("entity");
 
         appendInsertOrReplaceOrSave(sql, insertPrefix);
         appendColumns(sql, entity);
@@ -181,14 +188,13 @@ public class InsertSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
         // <if test="entity.property.hasView(view)">
         //      entity.property.column,
         // </if>
-        entity.stream()
-                .filter(QProperty::isWriteable)
-                .forEach(property ->
-                        sql.append("<if test=\"entity.getRequiredProperty('")
-                                .append(property.getPath())
-                                .append("').hasView(view)\">")
-                                .append(property.getColumn())
-                                .append(",</if>"));
+        for (QProperty<?> property : entity.getWriteableProperties()) {
+            sql.append("<if test=\"entity.getRequiredProperty('")
+                    .append(property.getPath())
+                    .append("').hasView(view)\">")
+                    .append(property.getColumn())
+                    .append(",</if>");
+        }
         // </trim>
         sql.append(TRIM_END);
     }
@@ -213,26 +219,17 @@ public class InsertSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
 
         sql.append("<trim prefix=\"(\" suffix=\")\" suffixOverrides=\",\">");
 
-        entity.stream()
-                .filter(QProperty::isWriteable)
-                .forEach(property -> {
-                    sql.append("<if test=\"entity.getRequiredProperty('")
-                            .append(property.getPath())
-                            .append("').hasView(view)\">");
-
-                    if (property.getPath().contains(".")) {
-                        String test = ScriptMapperHelper.formatTest("item", property.getPath(), false);
-                        final String writer = Asserts.isBlank(property.getInsert()) ? DEFAULT_WRITER : property.getInsert();
-                        sql.append(Velocities.eval(writer, buildPropertyMetadata(property, test)));
+        for (QProperty<?> property : entity.getWriteableProperties()) {
+            sql.append("<if test=\"entity.getRequiredProperty('")
+                    .append(property.getPath())
+                    .append("').hasView(view)\">");
 
-                    } else {
-                        String test = ScriptMapperHelper.formatTest("item", property.getPath(), true);
-                        final String writer = Asserts.isBlank(property.getInsert()) ? DEFAULT_WRITER : property.getInsert();
-                        sql.append(Velocities.eval(writer, buildPropertyMetadata(property, test)));
-                    }
+            final String test = ScriptMapperHelper.formatTest("item", property.getPath(), !property.isNested());
+            final String writer = Asserts.isBlank(property.getInsert()) ? DEFAULT_WRITER : property.getInsert();
+            sql.append(Velocities.eval(writer, buildPropertyMetadata(property, test)));
 
-                    sql.append(",").append("</if>");
-                });
+            sql.append(",").append("</if>");
+        }
 
         sql.append(TRIM_END);
 
@@ -263,24 +260,21 @@ public class InsertSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
     private void appendOnDuplicateKeyUpdate(final StringBuilder sql, final QEntity<?, ?> properties,
                                             final Class<?> view) {
 
-        final String onDuplicateKeyUpdate = properties.stream()
-                .filter(property -> (property.isWriteable() && property.hasView(view))
-                        || property.isVersionProperty()
-                        || property.isAnnotationPresent(LastModified.class))
-                .map(property -> {
-                    String column = property.getColumn();
-                    if (property.isVersionProperty()) {
-                        return String.format("%s = %s + 1", column, column);
-                    } else if (property.isAnnotationPresent(LastModified.class)) {
-                        return String.format("%s = NOW()", column);
-                    } else {
-                        return String.format("%s = values(%s)", column, column);
-                    }
-                }).collect(Collectors.joining(","));
+        final StringJoiner onDuplicateKeyUpdate = new StringJoiner(",");
+        for (QProperty<?> property : properties.getProperties()) {
+            final String column = property.getColumn();
+            if (property.isVersionProperty()) {
+                onDuplicateKeyUpdate.add(String.format("%s = %s + 1", column, column));
+            } else if (property.isAnnotationPresent(LastModified.class)) {
+                onDuplicateKeyUpdate.add(String.format("%s = NOW()", column));
+            } else if (property.isWriteable() && property.hasView(view)) {
+                onDuplicateKeyUpdate.add(String.format("%s = values(%s)", column, column));
+            }
+        }
 
         sql.append("<trim prefix=\"ON DUPLICATE KEY UPDATE\">");
 
-        sql.append(ScriptMapperHelper.cdata(onDuplicateKeyUpdate));
+        sql.append(ScriptMapperHelper.cdata(onDuplicateKeyUpdate.toString()));
 
         sql.append(TRIM_END);
     }
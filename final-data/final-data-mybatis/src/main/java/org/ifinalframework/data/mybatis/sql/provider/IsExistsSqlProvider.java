@@ -0,0 +1,76 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.sql.provider;
+
+import org.ifinalframework.core.IQuery;
+import org.ifinalframework.data.mybatis.mapper.AbsMapper;
+import org.ifinalframework.data.mybatis.sql.AbsMapperSqlProvider;
+
+import org.apache.ibatis.builder.annotation.ProviderContext;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Provide the sql of {@code SELECT 1 FROM table WHERE ... LIMIT 1} to check the record is exists, which
+ * doesn't select and map the columns of the entity.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see AbsMapper#isExists(String, Serializable, IQuery)
+ * @since 1.6.0
+ */
+public class IsExistsSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvider {
+
+    private static final String ID = "id";
+
+    private static final String QUERY = "query";
+
+    @SuppressWarnings("unused")
+    public String isExists(final ProviderContext context, final Map<String, Object> parameters) {
+
+        return provide(context, parameters);
+    }
+
+    @Override
+    public Object getScriptShape(final ProviderContext context, final Map<String, Object> parameters) {
+        final Object queryShape = getQueryShape(hasParameter(parameters, QUERY) ? parameters.get(QUERY) : null);
+        if (Objects.isNull(queryShape)) {
+            return null;
+        }
+        return Arrays.asList(hasParameter(parameters, ID), queryShape);
+    }
+
+    @Override
+    public void doProvide(final StringBuilder sql, final ProviderContext context,
+                          final Map<String, Object> parameters) {
+
+        final Class<?> entity = getEntityClass(context.getMapperType());
+
+        sql.append("<trim prefix=\"SELECT 1 FROM\">${table}</trim>");
+
+        if (hasParameter(parameters, ID)) {
+            sql.append(whereIdNotNull());
+        } else {
+            appendQuery(sql, entity, parameters.get(QUERY), parameters);
+        }
+
+        sql.append(" LIMIT 1");
+    }
+
+}
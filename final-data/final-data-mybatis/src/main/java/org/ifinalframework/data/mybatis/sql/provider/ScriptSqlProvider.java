@@ -16,11 +16,15 @@
 package org.ifinalframework.data.mybatis.sql.provider;
 
 import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import org.ifinalframework.data.mybatis.sql.ScriptTemplateCache;
 
 import org.apache.ibatis.builder.annotation.ProviderContext;
 import org.apache.ibatis.builder.annotation.ProviderSqlSource;
 
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * @author iimik
@@ -39,7 +43,21 @@ public interface ScriptSqlProvider extends SqlProvider {
         parameters.putIfAbsent("groups", null);
         parameters.putIfAbsent("limit", null);
 
+        prepare(context, parameters);
+
+        final Object shape = getScriptShape(context, parameters);
+        if (Objects.isNull(shape)) {
+            return script(context, parameters);
+        }
+
+        final Class<?> view = parameters.containsKey("view") ? (Class<?>) parameters.get("view") : null;
+        final boolean selective = parameters.containsKey("selective") && Boolean.TRUE.equals(parameters.get("selective"));
+        final ScriptTemplateCache.Key key = new ScriptTemplateCache.Key(context.getMapperType(), context.getMapperMethod(),
+                view, selective, context.getDatabaseId(), shape);
+        return ScriptTemplateCache.get(key, () -> script(context, parameters));
+    }
 
+    private String script(ProviderContext context, Map<String, Object> parameters) {
         StringBuilder sql = new StringBuilder();
         sql.append("<script>");
         doProvide(sql, context, parameters);
@@ -47,6 +65,31 @@ public interface ScriptSqlProvider extends SqlProvider {
         return sql.toString();
     }
 
+    /**
+     * put the parameters which the script needs, called on every invocation even if the script is cached.
+     *
+     * @param context    provider context
+     * @param parameters mapper method parameters
+     * @since 1.6.0
+     */
+    default void prepare(ProviderContext context, Map<String, Object> parameters) {
+    }
+
+    /**
+     * return the parameters which change the script besides the mapper, method, view, selective and database id,
+     * or {@code null} if the script can not be cached.
+     *
+     * @param context    provider context
+     * @param parameters mapper method parameters
+     * @return the script shape.
+     * @see ScriptTemplateCache
+     * @since 1.6.0
+     */
+    @Nullable
+    default Object getScriptShape(ProviderContext context, Map<String, Object> parameters) {
+        return null;
+    }
+
     void doProvide(StringBuilder sql, ProviderContext context, Map<String, Object> parameters);
 
 }
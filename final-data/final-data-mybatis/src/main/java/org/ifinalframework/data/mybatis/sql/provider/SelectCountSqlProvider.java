@@ -21,12 +21,14 @@ import org.ifinalframework.data.mybatis.sql.AbsMapperSqlProvider;
 
 import org.apache.ibatis.builder.annotation.ProviderContext;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @see AbsMapper#selectCount(String, Collection, IQuery)
  * @since 1.0.0
  */
@@ -41,6 +43,15 @@ public class SelectCountSqlProvider implements AbsMapperSqlProvider, ScriptSqlPr
         return provide(context, parameters);
     }
 
+    @Override
+    public Object getScriptShape(final ProviderContext context, final Map<String, Object> parameters) {
+        final Object queryShape = getQueryShape(hasParameter(parameters, QUERY) ? parameters.get(QUERY) : null);
+        if (Objects.isNull(queryShape)) {
+            return null;
+        }
+        return Arrays.asList(hasParameter(parameters, "ids"), queryShape);
+    }
+
     @Override
     public void doProvide(final StringBuilder sql, final ProviderContext context,
                           final Map<String, Object> parameters) {
@@ -55,7 +66,7 @@ public class SelectCountSqlProvider implements AbsMapperSqlProvider, ScriptSqlPr
         if (ids != null) {
             sql.append(whereIdsNotNull());
         } else {
-            appendQuery(sql, entity, query);
+            appendQuery(sql, entity, query, parameters);
             appendOrders(sql);
             appendGroups(sql);
             appendLimit(sql);
@@ -22,12 +22,14 @@ import org.ifinalframework.data.mybatis.sql.AbsMapperSqlProvider;
 import org.apache.ibatis.builder.annotation.ProviderContext;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Objects;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @see AbsMapper#select(String, Class, Collection, IQuery)
  * @see AbsMapper#selectOne(String, Class, Serializable, IQuery)
  * @see AbsMapper#selectIds(Map)
@@ -54,6 +56,23 @@ public class SelectSqlProvider implements AbsMapperSqlProvider {
         return provide(context, parameters);
     }
 
+    /**
+     * @since 1.6.0
+     */
+    public String selectCursor(final ProviderContext context, final Map<String, Object> parameters) {
+        return provide(context, parameters);
+    }
+
+    @Override
+    public Object getScriptShape(final ProviderContext context, final Map<String, Object> parameters) {
+        final Object queryShape = getQueryShape(hasParameter(parameters, QUERY_PARAMETER_NAME)
+                ? parameters.get(QUERY_PARAMETER_NAME) : null);
+        if (Objects.isNull(queryShape)) {
+            return null;
+        }
+        return Arrays.asList(hasParameter(parameters, "id"), hasParameter(parameters, "ids"), queryShape);
+    }
+
     @Override
     public void doProvide(final StringBuilder sql, final ProviderContext context, final Map<String, Object> parameters) {
 
@@ -76,7 +95,7 @@ public class SelectSqlProvider implements AbsMapperSqlProvider {
             sql.append(whereIdsNotNull());
         } else {
 
-            appendQuery(sql, entity, query);
+            appendQuery(sql, entity, query, parameters);
 
             appendOrders(sql);
             appendGroups(sql);
@@ -41,12 +41,20 @@ public class TruncateSqlProvider implements AbsMapperSqlProvider {
     }
 
     @Override
-    public void doProvide(final StringBuilder sql, final ProviderContext context,
-                          final Map<String, Object> parameters) {
-
+    public void prepare(final ProviderContext context, final Map<String, Object> parameters) {
         final Class<?> entity = getEntityClass(context.getMapperType());
         final QEntity<?, ?> properties = DefaultQEntityFactory.INSTANCE.create(entity);
         parameters.put("entity", properties);
+    }
+
+    @Override
+    public Object getScriptShape(final ProviderContext context, final Map<String, Object> parameters) {
+        return TRUNCATE_SQL;
+    }
+
+    @Override
+    public void doProvide(final StringBuilder sql, final ProviderContext context,
+                          final Map<String, Object> parameters) {
 
         sql.append(TRUNCATE_SQL);
 
@@ -32,12 +32,13 @@ import org.ifinalframework.velocity.Velocities;
 
 import org.apache.ibatis.builder.annotation.ProviderContext;
 
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Objects;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public class UpdateSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvider {
@@ -77,6 +78,39 @@ public class UpdateSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
         return provide(context, parameters);
     }
 
+    /**
+     * provide the sql of one row of the batch, the parameters is the same as {@link #update(ProviderContext, Map)}.
+     *
+     * @param context    context
+     * @param parameters parameters
+     * @return sql
+     * @see org.ifinalframework.data.mybatis.mapper.AbsMapper#updateBatch(Map)
+     * @since 1.6.0
+     */
+    public String updateBatch(final ProviderContext context, final Map<String, Object> parameters) {
+
+        return provide(context, parameters);
+    }
+
+    @Override
+    public void prepare(final ProviderContext context, final Map<String, Object> parameters) {
+        parameters.put(PROPERTIES_PARAMETER_NAME,
+                DefaultQEntityFactory.INSTANCE.create(getEntityClass(context.getMapperType())));
+    }
+
+    @Override
+    public Object getScriptShape(final ProviderContext context, final Map<String, Object> parameters) {
+        if (hasParameter(parameters, UPDATE_PARAMETER_NAME)) {
+            // the set clause is rendered from the update criteria
+            return null;
+        }
+        if (hasParameter(parameters, IDS_PARAMETER_NAME)) {
+            return IDS_PARAMETER_NAME;
+        }
+        final Object queryShape = getQueryShape(hasParameter(parameters, QUERY_PARAMETER_NAME) ? parameters.get(QUERY_PARAMETER_NAME) : null);
+        return Objects.isNull(queryShape) ? null : Arrays.asList(QUERY_PARAMETER_NAME, queryShape);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public void doProvide(final StringBuilder sql, final ProviderContext context,
@@ -86,8 +120,7 @@ public class UpdateSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
 
         Class<?> entity = getEntityClass(context.getMapperType());
 
-        final QEntity<?, ?> properties = DefaultQEntityFactory.INSTANCE.create(entity);
-        parameters.put(PROPERTIES_PARAMETER_NAME, properties);
+        final QEntity<?, ?> properties = (QEntity<?, ?>) parameters.get(PROPERTIES_PARAMETER_NAME);
 
 
         sql.append("<trim prefix=\"UPDATE\">").append("${table}").append("</trim>");
@@ -123,7 +156,7 @@ public class UpdateSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
         if (parameters.containsKey(IDS_PARAMETER_NAME) && parameters.get(IDS_PARAMETER_NAME) != null) {
             sql.append(whereIdsNotNull());
         } else {
-            appendQuery(sql, entity, query);
+            appendQuery(sql, entity, query, parameters);
             appendOrders(sql);
             appendGroups(sql);
             appendLimit(sql);
@@ -157,40 +190,38 @@ public class UpdateSqlProvider implements AbsMapperSqlProvider, ScriptSqlProvide
      */
     private void appendEntitySet(final @NonNull StringBuilder sql, final @NonNull QEntity<?, ?> entity, boolean selective) {
 
-        entity.stream()
-                .filter(QProperty::isModifiable)
-                .forEach(property -> {
-                    // <if test="properties.property.hasView(view)>"
-                    sql.append("<if test=\"properties.getRequiredProperty('")
-                            .append(property.getPath())
-                            .append("').hasView(view)\">");
-
-                    final String testWithSelective = ScriptMapperHelper.formatTest(ENTITY_PARAMETER_NAME, property.getPath(), true);
-                    final String testNotWithSelective = ScriptMapperHelper.formatTest(ENTITY_PARAMETER_NAME, property.getPath(), false);
-
-
-                    final String selectiveTest = testWithSelective == null
-                            ? SELECTIVE_PARAMETER_NAME : "selective and " + testWithSelective;
-                    final String test = testNotWithSelective == null ? "!selective" : "!selective and " + testNotWithSelective;
-
-                    final Metadata metadata = new Metadata();
-                    metadata.setTest(test);
-                    metadata.setSelectiveTest(selectiveTest);
-                    metadata.setProperty(property.getName());
-                    metadata.setColumn(property.getColumn());
-                    metadata.setValue("entity." + property.getPath());
-                    metadata.setJavaType(property.getType());
-                    if (Objects.nonNull(property.getTypeHandler())) {
-                        metadata.setTypeHandler(property.getTypeHandler());
-                    }
+        for (QProperty<?> property : entity.getModifiableProperties()) {
+            // <if test="properties.property.hasView(view)>"
+            sql.append("<if test=\"properties.getRequiredProperty('")
+                    .append(property.getPath())
+                    .append("').hasView(view)\">");
+
+            final String testWithSelective = ScriptMapperHelper.formatTest(ENTITY_PARAMETER_NAME, property.getPath(), true);
+            final String testNotWithSelective = ScriptMapperHelper.formatTest(ENTITY_PARAMETER_NAME, property.getPath(), false);
+
+
+            final String selectiveTest = testWithSelective == null
+                    ? SELECTIVE_PARAMETER_NAME : "selective and " + testWithSelective;
+            final String test = testNotWithSelective == null ? "!selective" : "!selective and " + testNotWithSelective;
+
+            final Metadata metadata = new Metadata();
+            metadata.setTest(test);
+            metadata.setSelectiveTest(selectiveTest);
+            metadata.setProperty(property.getName());
+            metadata.setColumn(property.getColumn());
+            metadata.setValue("entity." + property.getPath());
+            metadata.setJavaType(property.getType());
+            if (Objects.nonNull(property.getTypeHandler())) {
+                metadata.setTypeHandler(property.getTypeHandler());
+            }
 
-                    final String writer = Asserts.isBlank(property.getUpdate()) ? DEFAULT_WRITER : property.getUpdate();
-                    final String value = Velocities.eval(writer, metadata);
+            final String writer = Asserts.isBlank(property.getUpdate()) ? DEFAULT_WRITER : property.getUpdate();
+            final String value = Velocities.eval(writer, metadata);
 
-                    sql.append(value);
+            sql.append(value);
 
-                    sql.append("</if>");
-                });
+            sql.append("</if>");
+        }
     }
 
     private void appendVersionProperty(final StringBuilder sql, final QEntity<?, ?> entity) {
@@ -31,6 +31,7 @@ import org.ifinalframework.data.mybatis.spi.QueryParameterConsumer;
 import org.ifinalframework.data.mybatis.spi.TableParameterConsumer;
 import org.ifinalframework.data.mybatis.sql.provider.DeleteSqlProvider;
 import org.ifinalframework.data.mybatis.sql.provider.InsertSqlProvider;
+import org.ifinalframework.data.mybatis.sql.provider.IsExistsSqlProvider;
 import org.ifinalframework.data.mybatis.sql.provider.SelectSqlProvider;
 import org.ifinalframework.data.mybatis.sql.provider.SqlProvider;
 import org.ifinalframework.data.mybatis.sql.provider.TruncateSqlProvider;
@@ -119,6 +120,8 @@ public final class SqlHelper {
 
     private static final String SELECT_COUNT_METHOD_NAME = "selectCount";
 
+    private static final String IS_EXISTS_METHOD_NAME = "isExists";
+
     private static final String TRUNCATE_METHOD_NAME = "truncate";
 
     private static final Map<String, Class<? extends Annotation>> METHOD_ANNOTATIONS = new HashMap<>(8);
@@ -143,6 +146,7 @@ public final class SqlHelper {
         register(SELECT_ONE_METHOD_NAME, SelectProvider.class, new SelectSqlProvider());
         register(SELECT_IDS_METHOD_NAME, SelectProvider.class, new SelectSqlProvider());
         register(SELECT_COUNT_METHOD_NAME, SelectProvider.class, new SelectSqlProvider());
+        register(IS_EXISTS_METHOD_NAME, SelectProvider.class, new IsExistsSqlProvider());
 
         register(TRUNCATE_METHOD_NAME, UpdateProvider.class, new TruncateSqlProvider());
 
@@ -22,17 +22,32 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.ifinalframework.context.user.UserContextHolder;
 import org.ifinalframework.data.mybatis.entity.Person;
 import org.ifinalframework.data.mybatis.entity.User;
+import org.ifinalframework.data.mybatis.interceptor.DispatchInterceptor;
+import org.ifinalframework.data.mybatis.mapping.ResultRowMapper;
 import org.ifinalframework.data.mybatis.sql.util.SqlHelper;
+import org.ifinalframework.data.query.Criteria;
+import org.ifinalframework.data.query.CriterionAttributes;
+import org.ifinalframework.data.query.CriterionTarget;
+import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.repository.Listener;
 
 import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.session.SqlSessionFactory;
 import org.junit.jupiter.api.Test;
+import org.springframework.transaction.annotation.Transactional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import jakarta.annotation.Resource;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -52,6 +67,12 @@ class PersonMapperTest {
     @Resource
     private PersonMapper personMapper;
 
+    @Resource
+    private DispatchInterceptor dispatchInterceptor;
+
+    @Resource
+    private SqlSessionFactory sqlSessionFactory;
+
     @Test
     void insertAndUpdate() {
 
@@ -103,4 +124,284 @@ class PersonMapperTest {
         UserContextHolder.reset();
 
     }
-}
\ No newline at end of file
+
+    @Test
+    void updateBatch() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("123");
+        UserContextHolder.setUser(user);
+
+        personMapper.truncate();
+
+        final List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Person person = new Person();
+            person.setName("person" + i);
+            person.setAge(i);
+            persons.add(person);
+        }
+        personMapper.insert(persons);
+
+        final Person missing = new Person();
+        missing.setId(-1L);
+        missing.setAge(-1);
+
+        persons.forEach(it -> it.setAge(it.getAge() + 10));
+        final List<Person> updates = new ArrayList<>(persons);
+        updates.add(missing);
+
+        final int[] counts = personMapper.updateBatch(null, null, updates, true);
+        assertArrayEquals(new int[]{1, 1, 1, 0}, counts);
+
+        for (Person person : persons) {
+            final Person updated = personMapper.selectOne(person.getId());
+            assertEquals(person.getAge(), updated.getAge());
+            assertEquals(2L, updated.getVersion());
+        }
+
+        UserContextHolder.reset();
+    }
+
+    @Test
+    void scanByKey() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("123");
+        UserContextHolder.setUser(user);
+
+        personMapper.truncate();
+        final List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Person person = new Person();
+            person.setName("person" + i);
+            person.setAge(i);
+            persons.add(person);
+        }
+        personMapper.insert(persons);
+
+        final PageQuery query = new PageQuery();
+        query.setSize(2);
+
+        final List<Integer> sizes = new ArrayList<>();
+        final List<Long> ids = new ArrayList<>();
+        final boolean[] finished = {false};
+        personMapper.scanByKey(query, new Listener<Void, List<Person>>() {
+            @Override
+            public boolean onListening(int index, Void param, List<Person> data) {
+                sizes.add(data.size());
+                data.forEach(it -> ids.add(it.getId()));
+                return true;
+            }
+
+            @Override
+            public void onFinish(Void param) {
+                finished[0] = true;
+            }
+        });
+
+        assertEquals(Arrays.asList(2, 2, 1), sizes);
+        assertEquals(persons.stream().map(Person::getId).collect(Collectors.toList()), ids);
+        assertTrue(finished[0]);
+        assertTrue(query.getCriteria().isEmpty());
+        assertEquals(1, query.getPage());
+        assertNull(query.getOrders());
+        assertNull(query.getLimit());
+
+        UserContextHolder.reset();
+    }
+
+    @Test
+    void selectWithCriteria() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("123");
+        UserContextHolder.setUser(user);
+
+        personMapper.truncate();
+        final List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Person person = new Person();
+            person.setName("person" + i);
+            person.setAge(i);
+            persons.add(person);
+        }
+        personMapper.insert(persons);
+
+        final PageQuery query = new PageQuery();
+        query.setPage(null);
+        query.setSize(null);
+        query.where(
+                CriterionTarget.from("name").in(Arrays.asList("person1", "person3", "person4")),
+                Criteria.or(CriterionTarget.from("age").eq(3), CriterionTarget.from("age").gt(3)),
+                CriterionTarget.from("name").eq(null)
+        );
+
+        final Map<String, Object> parameters = new MapperMethod.ParamMap<>();
+        parameters.put("table", null);
+        parameters.put("view", null);
+        parameters.put("ids", null);
+        parameters.put("query", query);
+        final String xml = SqlHelper.xml(PersonMapper.class, "select", parameters);
+        assertTrue(xml.contains("#{__criterion_0}"));
+        assertFalse(xml.contains("query.criteria"));
+
+        assertEquals(Arrays.asList("person3", "person4"),
+                personMapper.select(query).stream().map(Person::getName).collect(Collectors.toList()));
+
+        // the custom expression falls back to the xml
+        final PageQuery custom = new PageQuery();
+        custom.setPage(null);
+        custom.setSize(null);
+        custom.where(CriterionTarget.from("age").gt(0),
+                CriterionAttributes.builder("<![CDATA[ ${andOr} ${column} = #{${value}} ]]>").column("name").value("person2").build());
+        assertEquals(Collections.singletonList("person2"),
+                personMapper.select(custom).stream().map(Person::getName).collect(Collectors.toList()));
+
+        UserContextHolder.reset();
+    }
+
+    @Test
+    @Transactional
+    void selectStream() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("123");
+        UserContextHolder.setUser(user);
+
+        personMapper.truncate();
+        final List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Person person = new Person();
+            person.setName("person" + i);
+            person.setAge(i);
+            persons.add(person);
+        }
+        personMapper.insert(persons);
+
+        final PageQuery query = new PageQuery();
+        query.setPage(null);
+        query.setSize(null);
+        try (Stream<Person> stream = personMapper.selectStream(null, null, query, 2)) {
+            assertEquals(persons.stream().map(Person::getId).collect(Collectors.toList()),
+                    stream.map(Person::getId).collect(Collectors.toList()));
+        }
+
+        UserContextHolder.reset();
+    }
+
+    @Test
+    void isExists() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("123");
+        UserContextHolder.setUser(user);
+
+        personMapper.truncate();
+        Person person = new Person();
+        person.setName("haha");
+        person.setAge(13);
+        personMapper.insert(person);
+
+        assertTrue(personMapper.isExists(person.getId()));
+        assertFalse(personMapper.isExists(person.getId() + 1));
+        assertTrue(personMapper.isExists(new PageQuery()));
+
+        personMapper.truncate();
+        assertFalse(personMapper.isExists(new PageQuery()));
+
+        UserContextHolder.reset();
+    }
+
+    @Test
+    void selectWithResultRowMapper() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("123");
+        UserContextHolder.setUser(user);
+
+        personMapper.truncate();
+        Person person = new Person();
+        person.setName("haha");
+        person.setAge(13);
+        personMapper.insert(person);
+
+        final Person expected = personMapper.selectOne(person.getId());
+        ResultRowMapper.enable(sqlSessionFactory.getConfiguration());
+        try {
+            // the registered result maps are compiled at startup
+            assertTrue(ResultRowMapper.compileAll(sqlSessionFactory.getConfiguration()) > 0);
+            final Person actual = personMapper.selectOne(person.getId());
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals("haha", actual.getName());
+            assertEquals(13, actual.getAge());
+            assertEquals(expected.getCreated(), actual.getCreated());
+            assertEquals(1L, actual.getCreator().getId());
+            // the column indexes are resolved for each statement
+            assertEquals("haha", personMapper.selectOne(person.getId()).getName());
+        } finally {
+            ResultRowMapper.disable(sqlSessionFactory.getConfiguration());
+            UserContextHolder.reset();
+        }
+    }
+
+    @Test
+    void insertInChunks() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("123");
+        UserContextHolder.setUser(user);
+
+        personMapper.truncate();
+        final List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Person person = new Person();
+            person.setName("person" + i);
+            person.setAge(i);
+            persons.add(person);
+        }
+
+        dispatchInterceptor.setInsertChunkRows(2);
+        try {
+            assertEquals(5, personMapper.insert(persons));
+        } finally {
+            dispatchInterceptor.setInsertChunkRows(DispatchInterceptor.DEFAULT_INSERT_CHUNK_ROWS);
+            UserContextHolder.reset();
+        }
+
+        assertEquals(5, persons.stream().map(Person::getId).distinct().filter(Objects::nonNull).count());
+        assertEquals(5, personMapper.selectCount());
+        for (Person person : persons) {
+            assertEquals(person.getName(), personMapper.selectOne(person.getId()).getName());
+        }
+    }
+
+    @Test
+    void insertInChunksByBytes() {
+        User user = new User();
+        user.setId(1L);
+        user.setName("123");
+        UserContextHolder.setUser(user);
+
+        personMapper.truncate();
+        final List<Person> persons = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Person person = new Person();
+            person.setName("person" + i);
+            person.setAge(i);
+            persons.add(person);
+        }
+
+        // about one row per chunk
+        dispatchInterceptor.setInsertChunkBytes(200);
+        try {
+            assertEquals(5, personMapper.insert(persons));
+        } finally {
+            dispatchInterceptor.setInsertChunkBytes(DispatchInterceptor.DEFAULT_INSERT_CHUNK_BYTES);
+            UserContextHolder.reset();
+        }
+
+        assertEquals(5, persons.stream().map(Person::getId).distinct().filter(Objects::nonNull).count());
+        assertEquals(5, personMapper.selectCount());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2020-2023 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.interceptor;
+
+import org.springframework.beans.factory.ObjectProvider;
+
+import org.ifinalframework.data.mybatis.dao.mapper.PersonMapper;
+import org.ifinalframework.data.mybatis.spi.MapParameterConsumer;
+import org.ifinalframework.data.mybatis.spi.ParameterConsumer;
+
+import org.apache.ibatis.binding.MapperMethod;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * DispatchInterceptorTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@ExtendWith(MockitoExtension.class)
+class DispatchInterceptorTest {
+
+    @Mock
+    private ObjectProvider<ParameterConsumer<?>> parameterConsumers;
+
+    @Mock
+    private Executor executor;
+
+    private MappedStatement mappedStatement;
+
+    private DispatchInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        // consumes the maps which contain the key "consume" only
+        final MapParameterConsumer consumer = new MapParameterConsumer() {
+            @Override
+            public boolean supports(Object parameter) {
+                return parameter instanceof Map && ((Map<?, ?>) parameter).containsKey("consume");
+            }
+
+            @Override
+            public void accept(Map<String, Object> parameter, Class<?> mapper, Method method) {
+                parameter.put("mapper", mapper);
+                parameter.put("method", method.getName());
+            }
+        };
+        when(parameterConsumers.orderedStream()).thenReturn(Stream.of(consumer));
+        interceptor = new DispatchInterceptor(parameterConsumers);
+        mappedStatement = new MappedStatement.Builder(new Configuration(), PersonMapper.class.getName() + ".selectIds",
+                parameterObject -> null, SqlCommandType.SELECT).build();
+    }
+
+    @Test
+    void supportsIsEvaluatedPerParameter() throws Throwable {
+        final Map<String, Object> consumed = new LinkedHashMap<>();
+        consumed.put("consume", true);
+        final Map<String, Object> skipped = new LinkedHashMap<>();
+
+        query(consumed);
+        query(skipped);
+
+        assertEquals(PersonMapper.class, consumed.get("mapper"));
+        assertEquals("selectIds", consumed.get("method"));
+        assertFalse(skipped.containsKey("mapper"));
+    }
+
+    @Test
+    void mutableMapIsConsumedInPlace() throws Throwable {
+        final Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("consume", true);
+
+        assertSame(parameters, query(parameters)[1]);
+        assertEquals(PersonMapper.class, parameters.get("mapper"));
+    }
+
+    @Test
+    void otherMapIsCopied() throws Throwable {
+        final Map<String, Object> parameters = Collections.singletonMap("consume", true);
+
+        final Object consumed = query(parameters)[1];
+
+        assertInstanceOf(MapperMethod.ParamMap.class, consumed);
+        assertEquals(PersonMapper.class, ((Map<?, ?>) consumed).get("mapper"));
+        assertFalse(parameters.containsKey("mapper"));
+    }
+
+    @Test
+    void generatedKeysMapIsCopied() throws Throwable {
+        mappedStatement = new MappedStatement.Builder(new Configuration(), PersonMapper.class.getName() + ".insert",
+                parameterObject -> null, SqlCommandType.INSERT).keyGenerator(Jdbc3KeyGenerator.INSTANCE).build();
+        final Map<String, Object> parameters = new LinkedHashMap<>();
+
+        assertInstanceOf(MapperMethod.ParamMap.class, query(parameters)[1]);
+    }
+
+    private Object[] query(Object parameters) throws Throwable {
+        final Method query = Executor.class.getMethod("query", MappedStatement.class, Object.class, RowBounds.class,
+                ResultHandler.class);
+        final Object[] args = {mappedStatement, parameters, RowBounds.DEFAULT, null};
+        interceptor.intercept(new Invocation(executor, query, args));
+        return args;
+    }
+
+}
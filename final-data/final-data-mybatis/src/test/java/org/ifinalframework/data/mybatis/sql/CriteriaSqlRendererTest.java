@@ -0,0 +1,110 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.sql;
+
+import org.ifinalframework.data.query.Criteria;
+import org.ifinalframework.data.query.CriterionAttributes;
+import org.ifinalframework.data.query.CriterionExpression;
+import org.ifinalframework.data.query.CriterionTarget;
+
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * CriteriaSqlRendererTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class CriteriaSqlRendererTest {
+
+    private final CriteriaSqlRenderer renderer = new CriteriaSqlRenderer(new Configuration());
+
+    @Test
+    void render() {
+        final Criteria criteria = Criteria.where(
+                CriterionTarget.from("name").eq("haha"),
+                CriterionTarget.from("age").between(10, 20),
+                CriterionTarget.from("deleted").isNull(),
+                Criteria.or(CriterionTarget.from("id").in(Arrays.asList(1L, 2L)),
+                        CriterionTarget.from("name").contains("key"))
+        );
+
+        final CriteriaSqlRenderer.CriteriaSql sql = renderer.render(criteria);
+        assertEquals("name = ? AND age BETWEEN ? AND ? AND deleted IS NULL AND (id IN (?,?) OR name LIKE CONCAT('%',?,'%'))",
+                sql.getSql());
+
+        final BoundSql boundSql = sql.getBoundSql();
+        assertEquals(sql.getSql(), boundSql.getSql());
+        final List<Object> values = boundSql.getParameterMappings().stream()
+                .map(ParameterMapping::getProperty)
+                .map(sql.getParameters()::get)
+                .toList();
+        assertEquals(Arrays.asList("haha", 10, 20, 1L, 2L, "key"), values);
+    }
+
+    @Test
+    void script() {
+        final CriterionAttributes age = CriterionAttributes.builder(CriterionExpression.EQUAL).column("age").value(1).build();
+        age.put(CriterionAttributes.ATTRIBUTE_NAME_JAVA_TYPE, Integer.class);
+        final Criteria criteria = Criteria.where(age,
+                Criteria.or(CriterionTarget.from("id").in(Arrays.asList(1L, 2L)),
+                        CriterionTarget.from("name").startsWith("key"))
+        );
+
+        final CriteriaSqlRenderer.CriteriaSql sql = new CriteriaSqlRenderer().render(criteria);
+        assertEquals("age = #{__criterion_0,javaType=java.lang.Integer} AND (id IN (#{__criterion_1},#{__criterion_2})"
+                + " OR name LIKE CONCAT(#{__criterion_3},'%'))", sql.getScript());
+        assertEquals(4, sql.getParameters().size());
+        assertThrows(NullPointerException.class, sql::getParameterMappings);
+    }
+
+    @Test
+    void conditionsWithoutValueAreSkipped() {
+        final Criteria criteria = Criteria.where(
+                CriterionTarget.from("name").eq(null),
+                Criteria.or(CriterionTarget.from("id").in(Collections.emptyList()),
+                        CriterionTarget.from("name").contains("")),
+                CriterionTarget.from("age").eq(1)
+        );
+
+        final CriteriaSqlRenderer.CriteriaSql sql = renderer.render(criteria);
+        assertEquals("age = ?", sql.getSql());
+        assertEquals(1, sql.getParameterMappings().size());
+        assertTrue(renderer.render(Criteria.where(CriterionTarget.from("name").eq(null))).isEmpty());
+    }
+
+    @Test
+    void customExpressionIsNotSupported() {
+        final Criteria criteria = Criteria.where(CriterionAttributes.builder("${column} = 1").column("name").build());
+        assertFalse(CriteriaSqlRenderer.supports(criteria));
+        assertThrows(UnsupportedOperationException.class, () -> renderer.render(criteria));
+    }
+
+}
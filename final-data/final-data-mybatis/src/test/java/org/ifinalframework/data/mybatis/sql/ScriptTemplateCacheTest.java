@@ -0,0 +1,99 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.sql;
+
+import org.ifinalframework.core.ParamsBuilder;
+import org.ifinalframework.data.mybatis.scripting.CachedXMLLanguageDriver;
+import org.ifinalframework.data.mybatis.sql.provider.Person;
+import org.ifinalframework.data.mybatis.sql.provider.PersonMapper;
+import org.ifinalframework.data.mybatis.sql.provider.PersonQuery;
+import org.ifinalframework.data.mybatis.sql.util.SqlHelper;
+import org.ifinalframework.data.query.CriterionTarget;
+
+import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * ScriptTemplateCacheTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class ScriptTemplateCacheTest {
+
+    @BeforeEach
+    void setUp() {
+        ScriptTemplateCache.clear();
+    }
+
+    @Test
+    void insert() {
+        final String first = SqlHelper.xml(PersonMapper.class, "insert", insertParams(false));
+        final String second = SqlHelper.xml(PersonMapper.class, "insert", insertParams(false));
+        assertSame(first, second);
+
+        final String ignore = SqlHelper.xml(PersonMapper.class, "insert", insertParams(true));
+        assertNotSame(first, ignore);
+        assertEquals(2, ScriptTemplateCache.size());
+    }
+
+    @Test
+    void selectWithQuery() {
+        final PersonQuery query = new PersonQuery();
+        query.setName("haha");
+        final String first = SqlHelper.xml(PersonMapper.class, "select", ParamsBuilder.builder().query(query).build());
+        final String second = SqlHelper.xml(PersonMapper.class, "select", ParamsBuilder.builder().query(new PersonQuery()).build());
+        assertSame(first, second);
+    }
+
+    @Test
+    void selectWithCriteriaIsNotCached() {
+        final PersonQuery query = new PersonQuery();
+        query.where(CriterionTarget.from("name").eq("haha"));
+        SqlHelper.xml(PersonMapper.class, "select", ParamsBuilder.builder().query(query).build());
+        assertEquals(0, ScriptTemplateCache.size());
+    }
+
+    @Test
+    void languageDriver() {
+        final CachedXMLLanguageDriver driver = new CachedXMLLanguageDriver();
+        final Configuration configuration = new Configuration();
+        final String script = SqlHelper.xml(PersonMapper.class, "insert", insertParams(false));
+        final SqlSource first = driver.createSqlSource(configuration, script, Map.class);
+        final SqlSource second = driver.createSqlSource(configuration, script, Map.class);
+        assertSame(first, second);
+        assertEquals(1, driver.size());
+    }
+
+    private Map<String, Object> insertParams(boolean ignore) {
+        return ParamsBuilder.builder()
+                .table("person")
+                .ignore(ignore)
+                .list(Arrays.asList(new Person()))
+                .build();
+    }
+
+}
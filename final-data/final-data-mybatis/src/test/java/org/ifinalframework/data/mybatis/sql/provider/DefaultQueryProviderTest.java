@@ -0,0 +1,61 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.data.mybatis.sql.provider;
+
+import org.ifinalframework.data.query.CriterionTarget;
+import org.ifinalframework.data.query.sql.DefaultQueryProvider;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * DefaultQueryProviderTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class DefaultQueryProviderTest {
+
+    @Test
+    void wherePlanIsReused() {
+        final String first = new DefaultQueryProvider("query", Person.class, new PersonQuery()).where();
+        final PersonQuery query = new PersonQuery();
+        query.setName("haha");
+        final String second = new DefaultQueryProvider("query", Person.class, query).where();
+        assertSame(first, second);
+    }
+
+    @Test
+    void criteriaAreRenderedBeforeAnnotatedCriteria() {
+        final String annotated = new DefaultQueryProvider("query", Person.class, new PersonQuery()).where();
+
+        final PersonQuery query = new PersonQuery();
+        query.where(CriterionTarget.from("name").eq("haha"));
+        final String where = new DefaultQueryProvider("query", Person.class, query).where();
+
+        final int criteria = where.indexOf("query.criteria[0]");
+        assertTrue(where.indexOf("tenant") < criteria);
+        assertTrue(criteria < where.indexOf("query.name"));
+        assertEquals(annotated.length(), where.length() - where.substring(where.indexOf("<if test=\"query.criteria[0]"),
+                where.indexOf("<if test=\"query.distance")).length());
+    }
+
+}
@@ -23,10 +23,8 @@ import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.SetOperations;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.data.redis.core.ZSetOperations;
-import org.springframework.data.redis.core.script.DefaultRedisScript;
 import org.springframework.lang.NonNull;
 
-import java.util.Collections;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -77,11 +75,26 @@ public interface Redis {
 
     }
 
+    /**
+     * @param key      key
+     * @param value    value
+     * @param timeout  timeout
+     * @param unit     unit
+     * @param wait     max wait millis
+     * @param watchdog renew the lock until unlock
+     * @return {@code true} if locked.
+     * @see RedisLock
+     * @since 1.6.0
+     */
+    static boolean lock(final Object key, final Object value, final Long timeout, final TimeUnit unit,
+                        final long wait, final boolean watchdog) {
+
+        return RedisLock.getInstance().lock(key, value, timeout, unit, wait, watchdog);
+    }
+
     static boolean unlock(final Object key, final Object value) {
-        final String script = "if redis.call('get', KEYS[1]) == ARGV[1] "
-                + "then return redis.call('del', KEYS[1]) else return 0 end";
-        return Boolean.TRUE.equals(
-                key().execute(new DefaultRedisScript<>(script, Boolean.class), Collections.singletonList(key), value));
+
+        return RedisLock.getInstance().unlock(key, value);
     }
 
 }
@@ -0,0 +1,378 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ifinalframework.data.redis;
+
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 可重入的分布式锁。
+ *
+ * <ul>
+ *     <li>锁存储为 Redis String，值为 {@code value:node:thread}，{@code value} 为前缀，{@code node} 和 {@code thread}
+ *     标识持有锁的节点和线程；</li>
+ *     <li>只有持有者（相同的节点、线程和 {@code value}）可以重入，重入次数记录在本地，释放相同的次数后删除锁；</li>
+ *     <li>开启 watchdog 时，持有锁期间每 {@code ttl / 3} 续期一次，直到释放或释放失败；</li>
+ *     <li>释放锁时通过 {@link #CHANNEL} 发布通知，订阅后等待者被立即唤醒而不是轮询。</li>
+ * </ul>
+ *
+ * <p>释放锁时通过本节点记录的持有者找到 {@code value} 对应的锁，因此可以在异步结果完成的线程中释放。
+ * 未由本类持有的锁，如 {@link Redis#lock(Object, Object, Long, TimeUnit)}，释放时直接比较 {@code value}。</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see Redis#lock(Object, Object, Long, TimeUnit, long, boolean)
+ * @see Redis#unlock(Object, Object)
+ * @since 1.6.0
+ */
+@Slf4j
+@SuppressWarnings({"rawtypes", "unchecked"})
+public final class RedisLock implements MessageListener {
+
+    /**
+     * 释放锁通知的 channel
+     */
+    public static final String CHANNEL = "final:lock:unlock";
+
+    /**
+     * 开启 watchdog 且未设置有效时间时的默认有效时间
+     */
+    public static final long DEFAULT_LEASE = 30_000L;
+
+    /**
+     * 未订阅释放通知时的轮询间隔
+     */
+    private static final long POLL_INTERVAL = 100L;
+
+    /**
+     * return nil when acquired, otherwise the pttl of the lock.
+     */
+    private static final byte[] LOCK = ("local value = redis.call('get', KEYS[1]) "
+            + "if value == false then "
+            + "if tonumber(ARGV[2]) > 0 then redis.call('set', KEYS[1], ARGV[1], 'px', ARGV[2]) "
+            + "else redis.call('set', KEYS[1], ARGV[1]) end "
+            + "return nil end "
+            + "if value == ARGV[1] then "
+            + "if tonumber(ARGV[2]) > 0 then redis.call('pexpire', KEYS[1], ARGV[2]) end "
+            + "return nil end "
+            + "return redis.call('pttl', KEYS[1])").getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * return 1 when released, 0 when not held.
+     */
+    private static final byte[] UNLOCK = ("if redis.call('get', KEYS[1]) == ARGV[1] then "
+            + "redis.call('del', KEYS[1]) "
+            + "redis.call('publish', ARGV[2], KEYS[1]) "
+            + "return 1 end "
+            + "return 0").getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] RENEW = ("if redis.call('get', KEYS[1]) == ARGV[1] then "
+            + "return redis.call('pexpire', KEYS[1], ARGV[2]) end "
+            + "return 0").getBytes(StandardCharsets.UTF_8);
+
+    /**
+     * 本节点的标识
+     */
+    private static final String NODE = UUID.randomUUID().toString();
+
+    private static final RedisLock instance = new RedisLock();
+
+    private final Map<String, Waiter> waiters = new ConcurrentHashMap<>();
+
+    /**
+     * 本节点持有的锁，key 为锁的 key
+     */
+    private final Map<String, Hold> holds = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "final-redis-lock-watchdog");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean subscribed = false;
+
+    private RedisLock() {
+    }
+
+    public static RedisLock getInstance() {
+        return instance;
+    }
+
+    /**
+     * 订阅释放锁通知
+     *
+     * @param container listener container
+     */
+    public void subscribe(final @NonNull RedisMessageListenerContainer container) {
+        container.addMessageListener(this, new ChannelTopic(CHANNEL));
+        this.subscribed = true;
+    }
+
+    /**
+     * 获取锁，锁被其它持有者持有时，最多等待 {@code wait} 毫秒，期间在锁释放时被唤醒重试。
+     * 同一线程使用相同的 {@code value} 可重入。
+     *
+     * @param key      锁的 key
+     * @param value    锁的 value，持有者标识的前缀
+     * @param ttl      有效时间，为 {@code null} 或小于等于 0 且未开启 watchdog 时，锁不会过期
+     * @param unit     有效时间单位
+     * @param wait     最长等待时间，单位毫秒
+     * @param watchdog 是否在持有锁期间自动续期
+     * @return 是否获取成功
+     */
+    public boolean lock(final @NonNull Object key, final @NonNull Object value, final @Nullable Long ttl,
+                        final @Nullable TimeUnit unit, final long wait, final boolean watchdog) {
+
+        final RedisTemplate template = Redis.template();
+        final byte[] rawKey = template.getKeySerializer().serialize(key);
+        final String name = new String(rawKey, StandardCharsets.UTF_8);
+        final byte[] rawValue = template.getValueSerializer().serialize(value);
+        final byte[] token = token(rawValue);
+        final long lease = Objects.nonNull(ttl) && ttl > 0 && Objects.nonNull(unit)
+                ? unit.toMillis(ttl) : (watchdog ? DEFAULT_LEASE : -1L);
+        final byte[] rawLease = String.valueOf(lease).getBytes(StandardCharsets.UTF_8);
+
+        final long deadline = System.currentTimeMillis() + wait;
+        Waiter waiter = null;
+        try {
+            while (true) {
+                final long generation = Objects.isNull(waiter) ? 0L : waiter.generation();
+                final Long pttl = eval(template, LOCK, rawKey, token, rawLease);
+                if (Objects.isNull(pttl)) {
+                    hold(template, rawKey, name, rawValue, token, rawLease, lease, watchdog);
+                    return true;
+                }
+
+                final long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) {
+                    return false;
+                }
+
+                if (Objects.isNull(waiter)) {
+                    // register before retry, so the unlock notification between retry and await is not lost.
+                    waiter = waiters.compute(name, (k, it) -> (Objects.isNull(it) ? new Waiter() : it).retain());
+                    continue;
+                }
+
+                long timeout = pttl > 0 ? Math.min(pttl, remaining) : remaining;
+                if (!subscribed) {
+                    timeout = Math.min(timeout, POLL_INTERVAL);
+                }
+                logger.debug("==> lock wait: key={},value={},timeout={}", name, value, timeout);
+                if (!waiter.await(generation, timeout)) {
+                    return false;
+                }
+            }
+        } finally {
+            if (Objects.nonNull(waiter)) {
+                waiters.computeIfPresent(name, (k, it) -> it.release() ? null : it);
+            }
+        }
+    }
+
+    /**
+     * 释放锁，重入的锁需要释放相同的次数，最后一次释放时停止续期，即使释放失败。
+     *
+     * @param key   锁的 key
+     * @param value 锁的 value
+     * @return 锁由 {@code value} 持有时返回 {@code true}
+     */
+    public boolean unlock(final @NonNull Object key, final @NonNull Object value) {
+
+        final RedisTemplate template = Redis.template();
+        final byte[] rawKey = template.getKeySerializer().serialize(key);
+        final String name = new String(rawKey, StandardCharsets.UTF_8);
+        final byte[] rawValue = template.getValueSerializer().serialize(value);
+        final byte[] channel = CHANNEL.getBytes(StandardCharsets.UTF_8);
+
+        final Hold[] released = new Hold[1];
+        final Hold hold = holds.computeIfPresent(name, (k, it) -> {
+            if (!Arrays.equals(it.value, rawValue) || --it.count > 0) {
+                return it;
+            }
+            released[0] = it;
+            return null;
+        });
+
+        if (Objects.nonNull(released[0])) {
+            if (Objects.nonNull(released[0].watchdog)) {
+                released[0].watchdog.cancel(false);
+            }
+            return Objects.equals(1L, eval(template, UNLOCK, rawKey, released[0].token, channel));
+        }
+
+        if (Objects.nonNull(hold) && Arrays.equals(hold.value, rawValue)) {
+            // still reentered
+            return true;
+        }
+
+        // not held by this node, e.g. locked by Redis#lock(key, value, ttl, unit)
+        return Objects.equals(1L, eval(template, UNLOCK, rawKey, rawValue, channel));
+    }
+
+    @Override
+    public void onMessage(final @NonNull Message message, final @Nullable byte[] pattern) {
+        final Waiter waiter = waiters.get(new String(message.getBody(), StandardCharsets.UTF_8));
+        if (Objects.nonNull(waiter)) {
+            waiter.signal();
+        }
+    }
+
+    /**
+     * 记录获取的锁，相同的持有者重入时增加重入次数，否则替换掉本节点已过期的锁。
+     */
+    private void hold(final RedisTemplate template, final byte[] rawKey, final String name, final byte[] rawValue,
+                      final byte[] token, final byte[] rawLease, final long lease, final boolean watchdog) {
+        holds.compute(name, (k, it) -> {
+            if (Objects.nonNull(it) && Arrays.equals(it.token, token)) {
+                it.count++;
+                return it;
+            }
+            if (Objects.nonNull(it) && Objects.nonNull(it.watchdog)) {
+                it.watchdog.cancel(false);
+            }
+            final Hold hold = new Hold(rawValue, token);
+            if (watchdog) {
+                hold.watchdog = renew(template, rawKey, name, hold, rawLease, lease);
+            }
+            return hold;
+        });
+    }
+
+    private ScheduledFuture<?> renew(final RedisTemplate template, final byte[] rawKey, final String name,
+                                     final Hold hold, final byte[] rawLease, final long lease) {
+        final long period = Math.max(1L, lease / 3);
+        return scheduler.scheduleAtFixedRate(() -> {
+            try {
+                final Long renewed = eval(template, RENEW, rawKey, hold.token, rawLease);
+                final ScheduledFuture<?> watchdog = hold.watchdog;
+                if (!Objects.equals(1L, renewed) && Objects.nonNull(watchdog)) {
+                    watchdog.cancel(false);
+                }
+            } catch (Exception e) {
+                logger.warn("==> lock renew failed: key={}", name, e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * return {@code value:node:thread}, which identifies the holder of the lock.
+     */
+    private static byte[] token(final byte[] rawValue) {
+        final byte[] owner = (":" + NODE + ":" + Thread.currentThread().getId()).getBytes(StandardCharsets.UTF_8);
+        final byte[] token = Arrays.copyOf(rawValue, rawValue.length + owner.length);
+        System.arraycopy(owner, 0, token, rawValue.length, owner.length);
+        return token;
+    }
+
+    private static Long eval(final RedisTemplate template, final byte[] script, final byte[] rawKey,
+                             final byte[]... args) {
+        final byte[][] keysAndArgs = new byte[args.length + 1][];
+        keysAndArgs[0] = rawKey;
+        System.arraycopy(args, 0, keysAndArgs, 1, args.length);
+        return (Long) template.execute((RedisCallback<Long>) connection ->
+                connection.scriptingCommands().eval(script, ReturnType.INTEGER, 1, keysAndArgs));
+    }
+
+    /**
+     * the lock held by this node, guarded by {@link #holds}.
+     */
+    private static final class Hold {
+
+        private final byte[] value;
+
+        private final byte[] token;
+
+        private int count = 1;
+
+        private volatile ScheduledFuture<?> watchdog;
+
+        Hold(final byte[] value, final byte[] token) {
+            this.value = value;
+            this.token = token;
+        }
+
+    }
+
+    private static final class Waiter {
+
+        /**
+         * guarded by {@link #waiters}
+         */
+        private int references;
+
+        private long generation;
+
+        Waiter retain() {
+            references++;
+            return this;
+        }
+
+        boolean release() {
+            return --references == 0;
+        }
+
+        synchronized long generation() {
+            return generation;
+        }
+
+        synchronized void signal() {
+            generation++;
+            notifyAll();
+        }
+
+        /**
+         * @return {@code false} if interrupted.
+         */
+        synchronized boolean await(final long generation, final long timeout) {
+            final long deadline = System.currentTimeMillis() + timeout;
+            long remaining = timeout;
+            try {
+                while (this.generation == generation && remaining > 0) {
+                    wait(remaining);
+                    remaining = deadline - System.currentTimeMillis();
+                }
+                return true;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+
+    }
+
+}
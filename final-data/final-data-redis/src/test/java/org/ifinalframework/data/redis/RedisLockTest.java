@@ -0,0 +1,165 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ifinalframework.data.redis;
+
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisScriptingCommands;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import org.ifinalframework.data.redis.serializer.Object2StringRedisSerializer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * RedisLockTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+class RedisLockTest {
+
+    @Test
+    void wakeUpOnUnlock() throws Exception {
+        final RedisTemplate template = mock(RedisTemplate.class);
+        when(template.getKeySerializer()).thenReturn(Object2StringRedisSerializer.UTF_8);
+        when(template.getValueSerializer()).thenReturn(Object2StringRedisSerializer.UTF_8);
+        // held by others with a long pttl, then acquired.
+        when(template.execute(any(RedisCallback.class))).thenReturn(60_000L, 60_000L, null);
+        RedisRegistry.getInstance().setRedisTemplate(template);
+        RedisLock.getInstance().subscribe(mock(RedisMessageListenerContainer.class));
+
+        final long start = System.currentTimeMillis();
+        final CompletableFuture<Boolean> lock = CompletableFuture.supplyAsync(
+                () -> RedisLock.getInstance().lock("lock:wake", "value", 60L, TimeUnit.SECONDS, 10_000L, false));
+
+        Thread.sleep(100L);
+        RedisLock.getInstance().onMessage(
+                new DefaultMessage(RedisLock.CHANNEL.getBytes(StandardCharsets.UTF_8),
+                        "lock:wake".getBytes(StandardCharsets.UTF_8)), null);
+
+        assertTrue(lock.get(5, TimeUnit.SECONDS));
+        assertTrue(System.currentTimeMillis() - start < 1_000L, "elapsed " + (System.currentTimeMillis() - start));
+    }
+
+    @Test
+    void unlockReentrantOnAnotherThread() throws Exception {
+        final RedisTemplate template = mock(RedisTemplate.class);
+        when(template.getKeySerializer()).thenReturn(Object2StringRedisSerializer.UTF_8);
+        when(template.getValueSerializer()).thenReturn(Object2StringRedisSerializer.UTF_8);
+        // acquired twice by the same value, then released.
+        when(template.execute(any(RedisCallback.class))).thenReturn(null, null, 1L);
+        RedisRegistry.getInstance().setRedisTemplate(template);
+
+        assertTrue(RedisLock.getInstance().lock("lock:reentrant", "value", 60L, TimeUnit.SECONDS, 0L, true));
+        assertTrue(RedisLock.getInstance().lock("lock:reentrant", "value", 60L, TimeUnit.SECONDS, 0L, true));
+
+        assertTrue(CompletableFuture.supplyAsync(() -> RedisLock.getInstance().unlock("lock:reentrant", "value"))
+                .get(5, TimeUnit.SECONDS));
+        verify(template, times(2)).execute(any(RedisCallback.class));
+        assertTrue(CompletableFuture.supplyAsync(() -> RedisLock.getInstance().unlock("lock:reentrant", "value"))
+                .get(5, TimeUnit.SECONDS));
+        verify(template, times(3)).execute(any(RedisCallback.class));
+    }
+
+    @Test
+    void sameValueOnAnotherThreadIsExcluded() throws Exception {
+        final Map<String, String> store = new ConcurrentHashMap<>();
+        RedisRegistry.getInstance().setRedisTemplate(scripted(store));
+        final RedisLock lock = RedisLock.getInstance();
+
+        assertTrue(lock.lock("lock:owner", "user", 60L, TimeUnit.SECONDS, 0L, false));
+        // reentered by the same thread
+        assertTrue(lock.lock("lock:owner", "user", 60L, TimeUnit.SECONDS, 0L, false));
+        assertTrue(store.get("lock:owner").startsWith("user:"));
+        // the same value on another thread is another owner
+        assertFalse(CompletableFuture.supplyAsync(
+                () -> lock.lock("lock:owner", "user", 60L, TimeUnit.SECONDS, 0L, false)).get(5, TimeUnit.SECONDS));
+
+        assertTrue(lock.unlock("lock:owner", "user"));
+        assertTrue(store.containsKey("lock:owner"));
+        assertFalse(lock.unlock("lock:owner", "other"));
+        assertTrue(CompletableFuture.supplyAsync(() -> lock.unlock("lock:owner", "user")).get(5, TimeUnit.SECONDS));
+        assertFalse(store.containsKey("lock:owner"));
+
+        assertTrue(CompletableFuture.supplyAsync(
+                () -> lock.lock("lock:owner", "user", 60L, TimeUnit.SECONDS, 0L, false)).get(5, TimeUnit.SECONDS));
+        assertTrue(lock.unlock("lock:owner", "user"));
+        assertTrue(store.isEmpty());
+    }
+
+    @Test
+    void timeout() {
+        final RedisTemplate template = mock(RedisTemplate.class);
+        when(template.getKeySerializer()).thenReturn(Object2StringRedisSerializer.UTF_8);
+        when(template.getValueSerializer()).thenReturn(Object2StringRedisSerializer.UTF_8);
+        when(template.execute(any(RedisCallback.class))).thenReturn(60_000L);
+        RedisRegistry.getInstance().setRedisTemplate(template);
+
+        assertFalse(RedisLock.getInstance().lock("lock:timeout", "value", 60L, TimeUnit.SECONDS, 50L, false));
+    }
+
+    /**
+     * a template which evaluates the lock scripts on the store.
+     */
+    private static RedisTemplate scripted(final Map<String, String> store) {
+        final RedisTemplate template = mock(RedisTemplate.class);
+        when(template.getKeySerializer()).thenReturn(Object2StringRedisSerializer.UTF_8);
+        when(template.getValueSerializer()).thenReturn(Object2StringRedisSerializer.UTF_8);
+        final RedisConnection connection = mock(RedisConnection.class);
+        final RedisScriptingCommands scripting = mock(RedisScriptingCommands.class);
+        when(connection.scriptingCommands()).thenReturn(scripting);
+        when(scripting.eval(any(byte[].class), any(ReturnType.class), anyInt(), any(byte[][].class)))
+                .thenAnswer(invocation -> {
+                    final String script = new String((byte[]) invocation.getArgument(0), StandardCharsets.UTF_8);
+                    final byte[][] keysAndArgs = (byte[][]) invocation.getRawArguments()[3];
+                    final String key = new String(keysAndArgs[0], StandardCharsets.UTF_8);
+                    final String value = new String(keysAndArgs[1], StandardCharsets.UTF_8);
+                    if (script.startsWith("local value")) {
+                        return Objects.isNull(store.putIfAbsent(key, value)) || value.equals(store.get(key))
+                                ? null : 60_000L;
+                    } else if (script.contains("'del'")) {
+                        return store.remove(key, value) ? 1L : 0L;
+                    }
+                    return value.equals(store.get(key)) ? 1L : 0L;
+                });
+        when(template.execute(any(RedisCallback.class)))
+                .thenAnswer(invocation -> ((RedisCallback) invocation.getArgument(0)).doInRedis(connection));
+        return template;
+    }
+
+}
@@ -15,10 +15,12 @@
 
 package org.ifinalframework.data.web.core;
 
+import org.springframework.beans.PropertyAccessorFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.ResolvableType;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -55,7 +57,13 @@ import org.ifinalframework.data.domain.excel.DomainResourceExcelExportProvider;
 import org.ifinalframework.data.domain.excel.ExcelExportService;
 import org.ifinalframework.data.domain.model.AuditValue;
 import org.ifinalframework.data.domain.model.SortValue;
+import org.ifinalframework.data.query.Criteria;
+import org.ifinalframework.data.query.Criterion;
+import org.ifinalframework.data.query.CriterionTarget;
+import org.ifinalframework.data.query.DefaultQEntityFactory;
+import org.ifinalframework.data.query.Direction;
 import org.ifinalframework.data.query.PageQuery;
+import org.ifinalframework.data.query.QProperty;
 import org.ifinalframework.data.security.DomainResourceAuth;
 import org.ifinalframework.data.spi.SpiAction;
 import org.ifinalframework.json.Json;
@@ -75,6 +83,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -128,7 +137,7 @@ import java.util.Objects;
  * </table>
  *
  * @author iimik
- * @version 1.4.2
+ * @version 1.6.0
  * @since 1.4.2
  */
 @Configuration
@@ -140,6 +149,11 @@ import java.util.Objects;
 public class DomainResourceDispatchController {
     private static final Logger logger = LoggerFactory.getLogger(DomainResourceDispatchController.class);
 
+    /**
+     * 导出时每批查询的行数
+     */
+    private static final int EXPORT_BATCH_SIZE = 1000;
+
     private DomainResourceExcelExportProvider domainResourceExcelExportProvider = new ClassPathDomainResourceExcelExportProvider();
     @Resource
     private ExcelExportService excelExportService;
@@ -166,6 +180,12 @@ public class DomainResourceDispatchController {
     /**
      * 导出
      *
+     * <p>未指定排序的单 {@code sheet} {@link PageQuery} 按主键 {@code keyset} 分批查询，每批使用
+     * {@code WHERE id > #{last} ORDER BY id LIMIT #{size}}，避免 {@code LIMIT offset,size} 的深分页扫描；
+     * 指定了排序或多 {@code sheet} 时保留调用方的排序，一次查询全部结果。结果写入流式工作簿，内存中只保留窗口内的行。</p>
+     *
+     * <p>流式工作簿总是 {@code xlsx}，文件名的后缀由 {@link ExcelExportService} 添加。</p>
+     *
      * @since 1.5.2
      */
     @GetMapping("/export")
@@ -178,34 +198,27 @@ public class DomainResourceDispatchController {
         try {
             setFinalContext(query);
 
-            if (query instanceof PageQuery pageQuery) {
-                pageQuery.setCount(false);
-                pageQuery.setPage(null);
-                pageQuery.setSize(null);
-            }
-
             final Map<String, Object> context = new LinkedHashMap<>();
             context.put("query", query);
             context.put("user", user);
 
             final Excel excel = domainResourceExcelExportProvider.getResourceExcel(resource, domainService.entityClass());
 
-            final String fileName = (StringUtils.hasText(excel.getName()) ? Spel.getValue(excel.getName(), context, String.class) : domainService.entityClass().getSimpleName()) + "." + excel.getVersion().name().toLowerCase();
+            final String fileName = StringUtils.hasText(excel.getName()) ? Spel.getValue(excel.getName(), context, String.class) : domainService.entityClass().getSimpleName();
 
-            final Object result = processResult(selectAction.select(query, user));
+            final WorkbookWriter workbookWriter = Excels.newStreamingWriter(excel, context);
 
-            final WorkbookWriter workbookWriter = Excels.newWriter(excel, context);
+            if (query instanceof PageQuery pageQuery) {
+                pageQuery.setCount(false);
+                pageQuery.setPage(null);
+                pageQuery.setSize(null);
+            }
 
-            if (result instanceof List<?> list) {
-                workbookWriter.append(list);
-            } else if (result instanceof Map<?, ?> map) {
-                for (int i = 0; i < excel.getSheets().size(); i++) {
-                    final Sheet sheet = excel.getSheets().get(i);
-                    final Object list = map.get(sheet.getName());
-                    workbookWriter.append(i, (List<?>) list);
-                }
+            if (query instanceof PageQuery pageQuery && CollectionUtils.isEmpty(pageQuery.getOrders())
+                    && excel.getSheets().size() == 1) {
+                exportByKey(excel, pageQuery, selectAction, user, domainService.entityClass(), workbookWriter);
             } else {
-                throw new InternalServerException("不支持的导出结果类型");
+                append(excel, workbookWriter, processResult(selectAction.select(query, user)));
             }
 
             return excelExportService.export(fileName, workbookWriter, response);
@@ -215,6 +228,79 @@ public class DomainResourceDispatchController {
         }
     }
 
+    /**
+     * 按主键 {@code keyset} 分批导出单个列表的查询结果，{@code seek} 的主键取自 {@link SelectAction} 返回的原始行。
+     */
+    private void exportByKey(Excel excel, PageQuery pageQuery, SelectAction selectAction, IUser<?> user,
+                             Class<?> entityClass, WorkbookWriter workbookWriter) {
+        final QProperty<?> key = DefaultQEntityFactory.INSTANCE.create(entityClass).getIdProperty();
+        pageQuery.setSize(EXPORT_BATCH_SIZE);
+        pageQuery.setOffset(null);
+        pageQuery.setLimit((long) EXPORT_BATCH_SIZE);
+        pageQuery.setOrders(Collections.singletonList(key.getColumn() + " " + Direction.ASC.name()));
+
+        final Criteria criteria = pageQuery.getCriteria();
+        final int seekIndex = criteria.size();
+        while (true) {
+            final Object rows = selectAction.select(pageQuery, user);
+            if (Objects.isNull(rows)) {
+                return;
+            }
+            if (!(rows instanceof List<?> list)) {
+                // 非列表结果不分批，去掉分批条件后一次导出
+                if (criteria.size() > seekIndex) {
+                    criteria.remove(seekIndex);
+                }
+                pageQuery.setSize(null);
+                pageQuery.setLimit(null);
+                pageQuery.setOrders(null);
+                append(excel, workbookWriter, processResult(selectAction.select(pageQuery, user)));
+                return;
+            }
+            final Object last = list.isEmpty() ? null : getKey(list.get(list.size() - 1), key);
+            workbookWriter.append(processResult(list));
+            if (list.size() < EXPORT_BATCH_SIZE) {
+                return;
+            }
+            final Criterion seek = CriterionTarget.from(key.getColumn()).gt(last);
+            if (criteria.size() > seekIndex) {
+                criteria.set(seekIndex, seek);
+            } else {
+                criteria.add(seek);
+            }
+        }
+    }
+
+    /**
+     * 返回行的 {@code key}
+     */
+    private Object getKey(Object row, QProperty<?> key) {
+        final Object value = PropertyAccessorFactory.forBeanPropertyAccess(row).getPropertyValue(key.getPath());
+        if (Objects.isNull(value)) {
+            throw new InternalServerException("导出结果缺少 " + key.getPath());
+        }
+        return value;
+    }
+
+    /**
+     * 将查询结果追加到 {@code workbookWriter}。
+     */
+    private void append(Excel excel, WorkbookWriter workbookWriter, Object result) {
+        if (result instanceof List<?> list) {
+            workbookWriter.append(list);
+        } else if (result instanceof Map<?, ?> map) {
+            for (int i = 0; i < excel.getSheets().size(); i++) {
+                final Sheet sheet = excel.getSheets().get(i);
+                final List<?> list = (List<?>) map.get(sheet.getName());
+                if (Objects.nonNull(list)) {
+                    workbookWriter.append(i, list);
+                }
+            }
+        } else if (Objects.nonNull(result)) {
+            throw new InternalServerException("不支持的导出结果类型");
+        }
+    }
+
 
     /**
      * 详情
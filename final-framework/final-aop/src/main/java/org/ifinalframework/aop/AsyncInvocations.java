@@ -0,0 +1,212 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.aop;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * 异步返回值（{@link CompletionStage}、{@code Mono}）的支持：拦截器在异步结果完成后才执行 {@code afterReturning} 和 {@code after}。
+ *
+ * <p>{@code Flux} 等多值类型仍按同步返回值处理。</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+final class AsyncInvocations {
+
+    private static final boolean REACTOR_PRESENT = ClassUtils.isPresent("reactor.core.publisher.Mono",
+            AsyncInvocations.class.getClassLoader());
+
+    private static final Map<Method, Type> RESULT_TYPES = new ConcurrentHashMap<>(256);
+
+    private AsyncInvocations() {
+    }
+
+    static boolean isAsync(final Class<?> type) {
+        return CompletionStage.class.isAssignableFrom(type) || (REACTOR_PRESENT && ReactorSupport.isMono(type));
+    }
+
+    /**
+     * 异步方法返回其结果的类型，如 {@code CompletableFuture<User>} 返回 {@code User}，否则返回方法的返回类型。
+     */
+    static Type resultType(final Method method) {
+        return RESULT_TYPES.computeIfAbsent(method, key -> {
+            if (!isAsync(key.getReturnType())) {
+                return key.getGenericReturnType();
+            }
+            final ResolvableType type = ResolvableType.forMethodReturnType(key).getGeneric(0);
+            return type == ResolvableType.NONE ? Object.class : type.getType();
+        });
+    }
+
+    /**
+     * 将值包装为异步返回值。
+     */
+    static Object just(final Class<?> type, final @Nullable Object value) {
+        if (CompletionStage.class.isAssignableFrom(type)) {
+            return CompletableFuture.completedFuture(value);
+        }
+        return ReactorSupport.just(value);
+    }
+
+    /**
+     * 在异步返回值完成后执行 {@code completion}，返回以 {@code completion} 的结果完成的异步返回值。
+     */
+    static Object whenComplete(final Class<?> type, final Object async, final Completion completion) {
+        if (CompletionStage.class.isAssignableFrom(type)) {
+            return ((CompletionStage<?>) async).handle((value, throwable) -> complete(completion, value, throwable));
+        }
+        return ReactorSupport.whenComplete(async, completion);
+    }
+
+    /**
+     * 异步查找 {@code lookup} 完成后在 {@code executor} 中执行 {@code next}，{@code next} 返回异步返回值。
+     */
+    static Object defer(final Class<?> type, final CompletionStage<?> lookup, final Executor executor,
+                        final Next next) {
+        final CompletionStage<Optional<?>> stage = lookup.thenApplyAsync(Optional::ofNullable, executor);
+        if (CompletionStage.class.isAssignableFrom(type)) {
+            return stage.thenCompose(value -> {
+                try {
+                    return (CompletionStage<?>) next.apply(value.orElse(null));
+                } catch (Throwable e) {
+                    return CompletableFuture.failedFuture(e);
+                }
+            });
+        }
+        return ReactorSupport.defer(stage, next);
+    }
+
+    /**
+     * 异步返回值被取消时执行 {@code cancel}，只有 {@code Mono} 支持取消。
+     */
+    static Object doOnCancel(final Class<?> type, final Object async, final Runnable cancel) {
+        if (CompletionStage.class.isAssignableFrom(type)) {
+            return async;
+        }
+        return ReactorSupport.doOnCancel(async, cancel);
+    }
+
+    private static Object complete(final Completion completion, final @Nullable Object value,
+                                   final @Nullable Throwable throwable) {
+        try {
+            return completion.complete(value, unwrap(throwable));
+        } catch (CompletionException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    @Nullable
+    private static Throwable unwrap(final @Nullable Throwable throwable) {
+        if ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /**
+     * 异步返回值完成时的回调。
+     */
+    @FunctionalInterface
+    interface Completion {
+
+        /**
+         * @param value     the value of the async result
+         * @param throwable the throwable of the async result
+         * @return the new value
+         * @throws Throwable the throwable of the invocation
+         */
+        @Nullable
+        Object complete(@Nullable Object value, @Nullable Throwable throwable) throws Throwable;
+
+    }
+
+    /**
+     * 异步查找完成后的下一步。
+     */
+    @FunctionalInterface
+    interface Next {
+
+        /**
+         * @param value the value of the lookup, {@code null} if missed.
+         * @return the async result
+         * @throws Throwable the throwable of the invocation
+         */
+        Object apply(@Nullable Object value) throws Throwable;
+
+    }
+
+    /**
+     * 隔离对 Reactor 的引用，未引入 Reactor 时不会加载。
+     */
+    private static final class ReactorSupport {
+
+        static boolean isMono(final Class<?> type) {
+            return Mono.class.isAssignableFrom(type);
+        }
+
+        static Object just(final @Nullable Object value) {
+            return Mono.justOrEmpty(value);
+        }
+
+        static Object whenComplete(final Object async, final Completion completion) {
+            return ((Mono<?>) async).materialize().flatMap(signal -> {
+                try {
+                    return Mono.justOrEmpty(completion.complete(signal.get(), signal.getThrowable()));
+                } catch (Throwable e) {
+                    return Mono.error(e);
+                }
+            });
+        }
+
+        static Object defer(final CompletionStage<Optional<?>> lookup, final Next next) {
+            return Mono.fromCompletionStage(lookup)
+                    .flatMap(value -> {
+                        try {
+                            return (Mono<?>) next.apply(value.orElse(null));
+                        } catch (Throwable e) {
+                            return Mono.error(e);
+                        }
+                    });
+        }
+
+        static Object doOnCancel(final Object async, final Runnable cancel) {
+            return ((Mono<?>) async).doOnCancel(cancel);
+        }
+
+    }
+
+}
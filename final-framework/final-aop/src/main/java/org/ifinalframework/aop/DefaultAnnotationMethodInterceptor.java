@@ -26,11 +26,14 @@ import org.aopalliance.intercept.MethodInvocation;
 import java.lang.reflect.Method;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public class DefaultAnnotationMethodInterceptor<A> implements AnnotationMethodInterceptor<A> {
@@ -60,11 +63,15 @@ public class DefaultAnnotationMethodInterceptor<A> implements AnnotationMethodIn
         final Class<?> targetClass = getTargetClass(invocation.getThis());
         final MethodMetadata metadata = getOperationMetadata(invocation.getMethod(), targetClass);
 
-        final InvocationContext context = new DefaultInvocationContext(metadata, invocation.getThis(),
+        final DefaultInvocationContext context = new DefaultInvocationContext(metadata, invocation.getThis(),
                 invocation.getArguments());
 
         final Object operationValue = dispatcher.before(context, annotations);
+        if (context.async()) {
+            return invokeAsync(invocation, annotations, context, operationValue);
+        }
         if (Objects.nonNull(operationValue)) {
+            context.complete();
             return operationValue;
         }
 
@@ -77,14 +84,93 @@ public class DefaultAnnotationMethodInterceptor<A> implements AnnotationMethodIn
             throwable = e;
         }
 
+        return complete(context, annotations, returnValue, throwable);
+    }
+
+    /**
+     * 异步方法：{@code afterReturning} 和 {@code after} 在异步结果完成后执行。
+     *
+     * <p>{@code before} 可返回一个 {@link CompletionStage} 进行非阻塞的查找，其结果为 {@code null} 时在
+     * {@link InvocationContext#executor()} 中继续执行目标方法，否则作为方法的结果。</p>
+     *
+     * <p>{@code Mono} 被取消时以 {@link CancellationException} 执行 {@code after}，释放 {@code before} 中获取的资源。</p>
+     *
+     * @since 1.6.0
+     */
+    private Object invokeAsync(final MethodInvocation invocation, final A annotations,
+                               final DefaultInvocationContext context, final Object operationValue) throws Throwable {
+
+        final Class<?> returnType = context.metadata().getMethod().getReturnType();
+        final AtomicBoolean completed = new AtomicBoolean();
+        final Object async;
+        if (operationValue instanceof CompletionStage<?> lookup) {
+            async = AsyncInvocations.defer(returnType, lookup, context.executor(), value -> Objects.nonNull(value)
+                    ? hit(context, completed, returnType, value)
+                    : proceedAsync(invocation, annotations, context, completed, returnType));
+        } else if (Objects.nonNull(operationValue)) {
+            return hit(context, completed, returnType, operationValue);
+        } else {
+            async = proceedAsync(invocation, annotations, context, completed, returnType);
+        }
+        return AsyncInvocations.doOnCancel(returnType, async, () -> {
+            if (completed.compareAndSet(false, true)) {
+                try {
+                    complete(context, annotations, null, new CancellationException());
+                } catch (Throwable ignored) {
+                    // the subscriber has gone.
+                }
+            }
+        });
+    }
+
+    private Object hit(final DefaultInvocationContext context, final AtomicBoolean completed,
+                       final Class<?> returnType, final Object value) {
+        completed.set(true);
+        context.complete();
+        return returnType.isInstance(value) ? value : AsyncInvocations.just(returnType, value);
+    }
+
+    private Object proceedAsync(final MethodInvocation invocation, final A annotations,
+                                final DefaultInvocationContext context, final AtomicBoolean completed,
+                                final Class<?> returnType) throws Throwable {
+
+        final Object returnValue;
+        try {
+            returnValue = invocation.proceed();
+        } catch (Throwable e) {
+            completed.set(true);
+            return complete(context, annotations, null, e);
+        }
+        if (Objects.isNull(returnValue)) {
+            completed.set(true);
+            return complete(context, annotations, null, null);
+        }
+        return AsyncInvocations.whenComplete(returnType, returnValue, (value, throwable) ->
+                completed.compareAndSet(false, true) ? complete(context, annotations, value, throwable) : value);
+    }
+
+    private Object complete(final DefaultInvocationContext context, final A annotations,
+                            final Object result, final Throwable throwable) throws Throwable {
+
+        Object returnValue = result;
         if (throwable == null) {
             dispatcher.afterReturning(context, annotations, returnValue);
+            returnValue = context.getResult(returnValue);
         } else {
             dispatcher.afterThrowing(context, annotations, throwable);
         }
 
         dispatcher.after(context, annotations, returnValue, throwable);
 
+        try {
+            context.complete();
+        } catch (Throwable e) {
+            if (throwable == null) {
+                throw e;
+            }
+            throwable.addSuppressed(e);
+        }
+
         if (throwable != null) {
             throw throwable;
         }
@@ -24,12 +24,17 @@ import org.springframework.util.ObjectUtils;
 import org.ifinalframework.context.expression.MethodMetadata;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public class DefaultInvocationContext implements InvocationContext {
@@ -42,14 +47,21 @@ public class DefaultInvocationContext implements InvocationContext {
 
     private final Class<?> view;
 
+    private final boolean async;
+
     private final Map<String, Object> attributes = new HashMap<>();
 
+    private Executor executor = ForkJoinPool.commonPool();
+
+    private List<Runnable> completions;
+
     public DefaultInvocationContext(final MethodMetadata metadata, final Object target, final Object[] args) {
 
         this.metadata = metadata;
         this.target = target;
         this.args = extractArgs(metadata.getMethod(), args);
         this.view = extractView(metadata.getMethod());
+        this.async = AsyncInvocations.isAsync(metadata.getMethod().getReturnType());
     }
 
     @Override
@@ -72,6 +84,30 @@ public class DefaultInvocationContext implements InvocationContext {
         return view;
     }
 
+    @Override
+    public boolean async() {
+        return async;
+    }
+
+    @Override
+    public Executor executor() {
+        return executor;
+    }
+
+    /**
+     * @param executor the executor which continues the async invocation.
+     * @see #executor()
+     * @since 1.6.0
+     */
+    public void setExecutor(final Executor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    public Type resultType() {
+        return async ? AsyncInvocations.resultType(metadata.getMethod()) : metadata.getGenericReturnType();
+    }
+
     @Override
     public Map<String, Object> attributes() {
         return attributes;
@@ -90,6 +126,30 @@ public class DefaultInvocationContext implements InvocationContext {
         return (T) attributes.get(name);
     }
 
+    @Override
+    public void afterCompletion(final Runnable callback) {
+        if (completions == null) {
+            completions = new ArrayList<>(2);
+        }
+        completions.add(callback);
+    }
+
+    /**
+     * run the callbacks registered by {@link #afterCompletion(Runnable)}.
+     *
+     * @since 1.6.0
+     */
+    public void complete() {
+        if (completions == null) {
+            return;
+        }
+        final List<Runnable> callbacks = completions;
+        completions = null;
+        for (Runnable callback : callbacks) {
+            callback.run();
+        }
+    }
+
     private Object[] extractArgs(final Method method, final Object[] args) {
 
         if (!method.isVarArgs()) {
@@ -16,17 +16,30 @@
 
 package org.ifinalframework.aop;
 
+import org.springframework.lang.Nullable;
+
 import org.ifinalframework.context.expression.MethodMetadata;
 
+import java.lang.reflect.Type;
 import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public interface InvocationContext {
 
+    /**
+     * the attribute name of the replaced result.
+     *
+     * @see #setResult(Object)
+     * @since 1.6.0
+     */
+    String RESULT_ATTRIBUTE = InvocationContext.class.getName() + ".result";
+
     MethodMetadata metadata();
 
     Object target();
@@ -41,4 +54,70 @@ public interface InvocationContext {
 
     <T> T getAttribute(String name);
 
+    /**
+     * replace the result of the invocation, should be called in {@code afterReturning}.
+     *
+     * @param result the new result
+     * @since 1.6.0
+     */
+    default void setResult(@Nullable Object result) {
+        addAttribute(RESULT_ATTRIBUTE, result);
+    }
+
+    /**
+     * return the replaced result if {@link #setResult(Object)} was called, otherwise the given result.
+     *
+     * @param result the result of the invocation
+     * @return the result
+     * @since 1.6.0
+     */
+    @Nullable
+    default Object getResult(@Nullable Object result) {
+        return attributes().containsKey(RESULT_ATTRIBUTE) ? getAttribute(RESULT_ATTRIBUTE) : result;
+    }
+
+    /**
+     * return {@code true} if the method returns an async result, such as {@link java.util.concurrent.CompletionStage}
+     * or {@code Mono}, the {@code afterReturning} and {@code after} handlers are called when the result completes.
+     *
+     * @return {@code true} if the method returns an async result.
+     * @since 1.6.0
+     */
+    default boolean async() {
+        return false;
+    }
+
+    /**
+     * return the executor which continues an {@link #async()} invocation after a non-blocking lookup of
+     * {@code before} missed, so that the other handlers and the method do not run on the thread of the lookup,
+     * such as an event loop of the redis client.
+     *
+     * @return the executor
+     * @since 1.6.0
+     */
+    default Executor executor() {
+        return ForkJoinPool.commonPool();
+    }
+
+    /**
+     * return the type of the result, the value type for an {@link #async()} method.
+     *
+     * @return the type of the result.
+     * @since 1.6.0
+     */
+    default Type resultType() {
+        return metadata().getGenericReturnType();
+    }
+
+    /**
+     * register a callback which will be called once after all the handlers of the invocation have been called,
+     * runs the callback immediately if the context does not support it.
+     *
+     * @param callback the callback
+     * @since 1.6.0
+     */
+    default void afterCompletion(Runnable callback) {
+        callback.run();
+    }
+
 }
@@ -22,28 +22,62 @@ import org.springframework.lang.NonNull;
 import org.ifinalframework.aop.ExpressionEvaluator;
 import org.ifinalframework.aop.InvocationContext;
 import org.ifinalframework.aop.OperationHandlerSupport;
+import org.ifinalframework.context.expression.MethodExpressionEvaluator;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public class AbsOperationInterceptorHandlerSupport implements OperationHandlerSupport {
 
+    /**
+     * the attribute name of the {@link EvaluationContext} shared by all operations of an invocation.
+     *
+     * @since 1.6.0
+     */
+    public static final String EVALUATION_CONTEXT_ATTRIBUTE = "evaluationContext";
+
     private final ExpressionEvaluator evaluator;
 
     public AbsOperationInterceptorHandlerSupport(final ExpressionEvaluator evaluator) {
         this.evaluator = evaluator;
     }
 
+    /**
+     * return the {@link EvaluationContext} of the invocation, which is created once and shared by all operations,
+     * only the {@code result} and {@code e} variables are updated when reused.
+     */
     @Override
     @NonNull
     public EvaluationContext createEvaluationContext(final @NonNull InvocationContext context, final Object result,
                                                      final Throwable e) {
 
-        return evaluator.createEvaluationContext(context.metadata().getMethod(), context.args(),
-                context.target(), context.metadata().getTargetClass(), context.metadata().getTargetMethod(), result, e);
+        EvaluationContext evaluationContext = context.getAttribute(EVALUATION_CONTEXT_ATTRIBUTE);
+        if (evaluationContext == null) {
+            evaluationContext = evaluator.createEvaluationContext(context.metadata().getMethod(), context.args(),
+                    context.target(), context.metadata().getTargetClass(), context.metadata().getTargetMethod(),
+                    result, e);
+            context.addAttribute(EVALUATION_CONTEXT_ATTRIBUTE, evaluationContext);
+            return evaluationContext;
+        }
+
+        final boolean noResult = result == MethodExpressionEvaluator.NO_RESULT
+                || result == MethodExpressionEvaluator.RESULT_UNAVAILABLE;
+        evaluationContext.setVariable(MethodExpressionEvaluator.RESULT_VARIABLE, noResult ? null : result);
+        evaluationContext.setVariable(MethodExpressionEvaluator.THROWABLE_VARIABLE, e);
+        return evaluationContext;
+    }
 
+    /**
+     * discard the shared {@link EvaluationContext} when the {@link InvocationContext#args() arguments} are replaced,
+     * because the arguments are loaded into the context only once.
+     *
+     * @param context the invocation context
+     * @since 1.6.0
+     */
+    protected void resetEvaluationContext(final @NonNull InvocationContext context) {
+        context.attributes().remove(EVALUATION_CONTEXT_ATTRIBUTE);
     }
 
 }
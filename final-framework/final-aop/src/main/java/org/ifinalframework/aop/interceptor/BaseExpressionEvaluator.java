@@ -17,8 +17,14 @@
 package org.ifinalframework.aop.interceptor;
 
 import org.springframework.context.expression.AnnotatedElementKey;
+import org.springframework.core.SpringProperties;
 import org.springframework.expression.EvaluationContext;
 import org.springframework.expression.Expression;
+import org.springframework.expression.common.CompositeStringExpression;
+import org.springframework.expression.spel.SpelCompilerMode;
+import org.springframework.expression.spel.SpelParserConfiguration;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 import org.ifinalframework.aop.ExpressionEvaluator;
 import org.ifinalframework.context.expression.MethodExpressionEvaluator;
@@ -28,13 +34,54 @@ import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public class BaseExpressionEvaluator extends MethodExpressionEvaluator implements ExpressionEvaluator {
 
     private final Map<ExpressionKey, Expression> valueCache = new ConcurrentHashMap<>(64);
 
+    /**
+     * use the {@link SpelCompilerMode#MIXED} compiler mode, unless the
+     * {@link SpelParserConfiguration#SPRING_EXPRESSION_COMPILER_MODE_PROPERTY_NAME} property is set.
+     */
+    public BaseExpressionEvaluator() {
+        this(defaultCompilerMode());
+    }
+
+    /**
+     * @param compilerMode the compiler mode of the expressions, the expressions which can not be compiled are
+     *                     always interpreted, and the {@link SpelCompilerMode#MIXED} mode also falls back to
+     *                     interpretation when a compiled expression fails.
+     * @since 1.6.0
+     */
+    public BaseExpressionEvaluator(final SpelCompilerMode compilerMode) {
+        super(new SpelExpressionParser(new SpelParserConfiguration(compilerMode, null)));
+    }
+
+    /**
+     * parse the template, and replace the {@code #arg} and {@code #arg.prop} parts with direct accessors.
+     */
+    @Override
+    protected Expression parseExpression(final String expression) {
+        final Expression parsed = super.parseExpression(expression);
+        if (parsed instanceof CompositeStringExpression composite) {
+            final Expression[] parts = composite.getExpressions();
+            final Expression[] optimized = new Expression[parts.length];
+            boolean changed = false;
+            for (int i = 0; i < parts.length; i++) {
+                final Expression variable = parts[i] instanceof SpelExpression ? VariableExpression.of(parts[i]) : null;
+                optimized[i] = variable == null ? parts[i] : variable;
+                changed |= variable != null;
+            }
+            return changed ? new CompositeStringExpression(composite.getExpressionString(), optimized) : parsed;
+        } else if (parsed instanceof SpelExpression) {
+            final Expression variable = VariableExpression.of(parsed);
+            return variable == null ? parsed : variable;
+        }
+        return parsed;
+    }
+
     @Override
     public Object value(final String expression, final AnnotatedElementKey methodKey,
                         final EvaluationContext evaluationContext) {
@@ -53,4 +100,10 @@ public class BaseExpressionEvaluator extends MethodExpressionEvaluator implement
         this.valueCache.clear();
     }
 
+    private static SpelCompilerMode defaultCompilerMode() {
+        final String mode = SpringProperties.getProperty(
+                SpelParserConfiguration.SPRING_EXPRESSION_COMPILER_MODE_PROPERTY_NAME);
+        return mode == null ? SpelCompilerMode.MIXED : SpelCompilerMode.valueOf(mode.toUpperCase());
+    }
+
 }
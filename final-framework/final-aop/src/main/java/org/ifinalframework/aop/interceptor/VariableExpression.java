@@ -0,0 +1,270 @@
+/*
+ * Copyright 2020-2021 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.ifinalframework.aop.interceptor;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.expression.MapAccessor;
+import org.springframework.core.convert.TypeDescriptor;
+import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.EvaluationException;
+import org.springframework.expression.Expression;
+import org.springframework.expression.PropertyAccessor;
+import org.springframework.expression.TypedValue;
+import org.springframework.expression.common.ExpressionUtils;
+import org.springframework.expression.spel.SpelEvaluationException;
+import org.springframework.expression.spel.SpelMessage;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * An {@link Expression} of {@code #arg} or {@code #arg.prop.prop} which reads the variable and the getters directly
+ * instead of evaluating the SpEL, and delegates to the parsed SpEL whenever it can not read, such as a {@code null}
+ * property owner or a missing getter, so the result and errors are the same as the SpEL.
+ *
+ * <p>A {@link Map} key is only read directly when the context has a {@link MapAccessor}, and an exception thrown by
+ * a getter is rethrown as the SpEL does, without invoking the getter again.</p>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+final class VariableExpression implements Expression {
+
+    private static final Pattern PATTERN = Pattern.compile("#[A-Za-z_$][\\w$]*(\\.[A-Za-z_$][\\w$]*)*");
+
+    private static final Object UNREADABLE = new Object();
+
+    private final Expression delegate;
+
+    private final String variable;
+
+    private final String[] properties;
+
+    private final Accessor[] accessors;
+
+    private VariableExpression(final Expression delegate, final String[] names) {
+        this.delegate = delegate;
+        this.variable = names[0];
+        this.properties = new String[names.length - 1];
+        System.arraycopy(names, 1, this.properties, 0, this.properties.length);
+        this.accessors = new Accessor[this.properties.length];
+    }
+
+    /**
+     * @param expression the parsed SpEL
+     * @return a {@link VariableExpression} if the expression is a simple variable access, otherwise {@code null}.
+     */
+    @Nullable
+    static Expression of(final Expression expression) {
+        final String text = expression.getExpressionString().trim();
+        if (!PATTERN.matcher(text).matches()) {
+            return null;
+        }
+        final String[] names = text.substring(1).split("\\.");
+        if ("root".equals(names[0]) || "this".equals(names[0])) {
+            return null;
+        }
+        return new VariableExpression(expression, names);
+    }
+
+    @Override
+    public Object getValue(final @NonNull EvaluationContext context) throws EvaluationException {
+        Object value = context.lookupVariable(variable);
+        for (int i = 0; i < properties.length; i++) {
+            value = read(context, value, i);
+            if (value == UNREADABLE) {
+                return delegate.getValue(context);
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public <T> T getValue(final @NonNull EvaluationContext context, final @Nullable Class<T> desiredResultType)
+            throws EvaluationException {
+        return ExpressionUtils.convertTypedValue(context, new TypedValue(getValue(context)), desiredResultType);
+    }
+
+    private Object read(final EvaluationContext context, final Object target, final int index) {
+        if (target == null) {
+            return UNREADABLE;
+        }
+        final String property = properties[index];
+        if (target instanceof Map<?, ?> map) {
+            return map.containsKey(property) && hasMapAccessor(context) ? map.get(property) : UNREADABLE;
+        }
+        Accessor accessor = accessors[index];
+        if (accessor == null || accessor.type() != target.getClass()) {
+            final PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(target.getClass(), property);
+            if (descriptor == null || descriptor.getReadMethod() == null) {
+                return UNREADABLE;
+            }
+            final Method method = descriptor.getReadMethod();
+            if (!method.trySetAccessible()) {
+                return UNREADABLE;
+            }
+            accessor = new Accessor(target.getClass(), method);
+            accessors[index] = accessor;
+        }
+        try {
+            return accessor.method().invoke(target);
+        } catch (InvocationTargetException e) {
+            final Throwable cause = e.getTargetException();
+            throw new SpelEvaluationException(cause, SpelMessage.EXCEPTION_DURING_PROPERTY_READ, property,
+                    cause.getMessage());
+        } catch (IllegalAccessException e) {
+            return UNREADABLE;
+        }
+    }
+
+    private static boolean hasMapAccessor(final EvaluationContext context) {
+        for (PropertyAccessor accessor : context.getPropertyAccessors()) {
+            if (accessor instanceof MapAccessor) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    @NonNull
+    public String getExpressionString() {
+        return delegate.getExpressionString();
+    }
+
+    @Override
+    public Object getValue() throws EvaluationException {
+        return delegate.getValue();
+    }
+
+    @Override
+    public <T> T getValue(final @Nullable Class<T> desiredResultType) throws EvaluationException {
+        return delegate.getValue(desiredResultType);
+    }
+
+    @Override
+    public Object getValue(final @Nullable Object rootObject) throws EvaluationException {
+        return delegate.getValue(rootObject);
+    }
+
+    @Override
+    public <T> T getValue(final @Nullable Object rootObject, final @Nullable Class<T> desiredResultType)
+            throws EvaluationException {
+        return delegate.getValue(rootObject, desiredResultType);
+    }
+
+    @Override
+    public Object getValue(final @NonNull EvaluationContext context, final @Nullable Object rootObject)
+            throws EvaluationException {
+        return delegate.getValue(context, rootObject);
+    }
+
+    @Override
+    public <T> T getValue(final @NonNull EvaluationContext context, final @Nullable Object rootObject,
+                          final @Nullable Class<T> desiredResultType) throws EvaluationException {
+        return delegate.getValue(context, rootObject, desiredResultType);
+    }
+
+    @Override
+    public Class<?> getValueType() throws EvaluationException {
+        return delegate.getValueType();
+    }
+
+    @Override
+    public Class<?> getValueType(final @Nullable Object rootObject) throws EvaluationException {
+        return delegate.getValueType(rootObject);
+    }
+
+    @Override
+    public Class<?> getValueType(final @NonNull EvaluationContext context) throws EvaluationException {
+        return delegate.getValueType(context);
+    }
+
+    @Override
+    public Class<?> getValueType(final @NonNull EvaluationContext context, final @Nullable Object rootObject)
+            throws EvaluationException {
+        return delegate.getValueType(context, rootObject);
+    }
+
+    @Override
+    public TypeDescriptor getValueTypeDescriptor() throws EvaluationException {
+        return delegate.getValueTypeDescriptor();
+    }
+
+    @Override
+    public TypeDescriptor getValueTypeDescriptor(final @Nullable Object rootObject) throws EvaluationException {
+        return delegate.getValueTypeDescriptor(rootObject);
+    }
+
+    @Override
+    public TypeDescriptor getValueTypeDescriptor(final @NonNull EvaluationContext context) throws EvaluationException {
+        return delegate.getValueTypeDescriptor(context);
+    }
+
+    @Override
+    public TypeDescriptor getValueTypeDescriptor(final @NonNull EvaluationContext context,
+                                                 final @Nullable Object rootObject) throws EvaluationException {
+        return delegate.getValueTypeDescriptor(context, rootObject);
+    }
+
+    @Override
+    public boolean isWritable(final @Nullable Object rootObject) throws EvaluationException {
+        return delegate.isWritable(rootObject);
+    }
+
+    @Override
+    public boolean isWritable(final @NonNull EvaluationContext context) throws EvaluationException {
+        return delegate.isWritable(context);
+    }
+
+    @Override
+    public boolean isWritable(final @NonNull EvaluationContext context, final @Nullable Object rootObject)
+            throws EvaluationException {
+        return delegate.isWritable(context, rootObject);
+    }
+
+    @Override
+    public void setValue(final @Nullable Object rootObject, final @Nullable Object value) throws EvaluationException {
+        delegate.setValue(rootObject, value);
+    }
+
+    @Override
+    public void setValue(final @NonNull EvaluationContext context, final @Nullable Object value)
+            throws EvaluationException {
+        delegate.setValue(context, value);
+    }
+
+    @Override
+    public void setValue(final @NonNull EvaluationContext context, final @Nullable Object rootObject,
+                         final @Nullable Object value) throws EvaluationException {
+        delegate.setValue(context, rootObject, value);
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+
+    private record Accessor(Class<?> type, Method method) {
+    }
+
+}
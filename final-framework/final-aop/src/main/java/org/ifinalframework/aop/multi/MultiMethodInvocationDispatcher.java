@@ -16,22 +16,30 @@
 
 package org.ifinalframework.aop.multi;
 
+import org.springframework.context.expression.AnnotatedElementKey;
 import org.springframework.lang.NonNull;
 import org.springframework.util.MultiValueMap;
 
 import org.ifinalframework.aop.InterceptorHandler;
 import org.ifinalframework.aop.InvocationContext;
 import org.ifinalframework.aop.MethodInvocationDispatcher;
+import org.ifinalframework.context.expression.MethodMetadata;
 
 import java.lang.annotation.Annotation;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * 按方法预先计算 {@code (handler, executor, annotation)} 的分发表，调用时只遍历适用于该方法的处理器。
+ *
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public abstract class MultiMethodInvocationDispatcher<E, A> implements
@@ -39,6 +47,11 @@ public abstract class MultiMethodInvocationDispatcher<E, A> implements
 
     private final MultiValueMap<Class<? extends Annotation>, InterceptorHandler<E, A>> handlers;
 
+    /**
+     * the dispatch table of the methods, keyed by {@link MethodMetadata#getMethodKey()}.
+     */
+    private final Map<AnnotatedElementKey, Dispatch<E, A>[]> dispatches = new ConcurrentHashMap<>(1024);
+
     public MultiMethodInvocationDispatcher(
             final MultiValueMap<Class<? extends Annotation>, InterceptorHandler<E, A>> handlers) {
 
@@ -49,48 +62,52 @@ public abstract class MultiMethodInvocationDispatcher<E, A> implements
     public Object before(final @NonNull InvocationContext context,
                          final @NonNull Map<Class<? extends Annotation>, Collection<A>> annotations) {
 
-        for (Map.Entry<Class<? extends Annotation>, List<InterceptorHandler<E, A>>> entry : handlers.entrySet()) {
-            final List<InterceptorHandler<E, A>> annotationHandlers = entry.getValue();
-            for (InterceptorHandler<E, A> handler : annotationHandlers) {
-                final Collection<A> as = annotations.get(entry.getKey());
-
-                if (Objects.isNull(as) || as.isEmpty()) {
-                    continue;
-                }
-
-                for (A annotation : as) {
-                    final E executor = getExecutor(annotation);
-                    final Object value = handler.before(executor, context, annotation);
-                    if (Objects.nonNull(value)) {
-                        return value;
-                    }
-                }
+        return before(context, getDispatches(context, annotations), 0);
+    }
 
+    /**
+     * call {@code before} of the handlers from {@code from}, the first non-null value is returned. A
+     * {@link CompletionStage} of an {@link InvocationContext#async()} invocation is a non-blocking lookup, the
+     * following handlers are called on {@link InvocationContext#executor()} when it completes with {@code null}.
+     */
+    private Object before(final InvocationContext context, final Dispatch<E, A>[] dispatches, final int from) {
+
+        for (int i = from; i < dispatches.length; i++) {
+            final Dispatch<E, A> dispatch = dispatches[i];
+            final Object value = dispatch.handler().before(dispatch.executor(), context, dispatch.annotation());
+            if (Objects.isNull(value)) {
+                continue;
             }
+            if (context.async() && value instanceof CompletionStage<?> lookup && i + 1 < dispatches.length) {
+                final int next = i + 1;
+                return lookup.thenComposeAsync(hit -> Objects.nonNull(hit)
+                        ? CompletableFuture.<Object>completedFuture(hit) : resume(context, dispatches, next), context.executor());
+            }
+            return value;
         }
 
         return null;
     }
 
+    @SuppressWarnings("unchecked")
+    private CompletionStage<Object> resume(final InvocationContext context, final Dispatch<E, A>[] dispatches,
+                                      final int from) {
+        try {
+            final Object value = before(context, dispatches, from);
+            return value instanceof CompletionStage<?> lookup
+                    ? (CompletionStage<Object>) lookup : CompletableFuture.completedFuture(value);
+        } catch (Throwable e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
     @Override
     public void afterReturning(final @NonNull InvocationContext context,
                                final @NonNull Map<Class<? extends Annotation>, Collection<A>> annotations,
                                final Object result) {
 
-        for (Map.Entry<Class<? extends Annotation>, List<InterceptorHandler<E, A>>> entry : handlers.entrySet()) {
-            final List<InterceptorHandler<E, A>> annotationHandlers = entry.getValue();
-            for (InterceptorHandler<E, A> handler : annotationHandlers) {
-                final Collection<A> as = annotations.get(entry.getKey());
-
-                if (Objects.isNull(as) || as.isEmpty()) {
-                    continue;
-                }
-                for (A annotation : as) {
-                    final E executor = getExecutor(annotation);
-                    handler.afterReturning(executor, context, annotation, result);
-                }
-
-            }
+        for (Dispatch<E, A> dispatch : getDispatches(context, annotations)) {
+            dispatch.handler().afterReturning(dispatch.executor(), context, dispatch.annotation(), result);
         }
     }
 
@@ -99,20 +116,8 @@ public abstract class MultiMethodInvocationDispatcher<E, A> implements
                               final @NonNull Map<Class<? extends Annotation>, Collection<A>> annotations,
                               final @NonNull Throwable throwable) {
 
-        for (Map.Entry<Class<? extends Annotation>, List<InterceptorHandler<E, A>>> entry : handlers.entrySet()) {
-            final List<InterceptorHandler<E, A>> annotationHandlers = entry.getValue();
-            for (InterceptorHandler<E, A> handler : annotationHandlers) {
-                final Collection<A> as = annotations.get(entry.getKey());
-
-                if (Objects.isNull(as) || as.isEmpty()) {
-                    continue;
-                }
-                for (A annotation : as) {
-                    final E executor = getExecutor(annotation);
-                    handler.afterThrowing(executor, context, annotation, throwable);
-                }
-
-            }
+        for (Dispatch<E, A> dispatch : getDispatches(context, annotations)) {
+            dispatch.handler().afterThrowing(dispatch.executor(), context, dispatch.annotation(), throwable);
         }
     }
 
@@ -121,24 +126,42 @@ public abstract class MultiMethodInvocationDispatcher<E, A> implements
                       final @NonNull Map<Class<? extends Annotation>, Collection<A>> annotations, final Object result,
                       final Throwable throwable) {
 
-        for (Map.Entry<Class<? extends Annotation>, List<InterceptorHandler<E, A>>> entry : handlers.entrySet()) {
-            final List<InterceptorHandler<E, A>> annotationHandlers = entry.getValue();
-            for (InterceptorHandler<E, A> handler : annotationHandlers) {
-                final Collection<A> as = annotations.get(entry.getKey());
+        for (Dispatch<E, A> dispatch : getDispatches(context, annotations)) {
+            dispatch.handler().after(dispatch.executor(), context, dispatch.annotation(), result, throwable);
+        }
+    }
 
-                if (Objects.isNull(as) || as.isEmpty()) {
-                    continue;
-                }
+    @NonNull
+    protected abstract E getExecutor(A annotation);
+
+    private Dispatch<E, A>[] getDispatches(final InvocationContext context,
+                                           final Map<Class<? extends Annotation>, Collection<A>> annotations) {
+
+        return dispatches.computeIfAbsent(context.metadata().getMethodKey(), key -> createDispatches(annotations));
+    }
+
+    /**
+     * flatten the handlers in the registered order, and the annotations of each handler in the declared order.
+     */
+    @SuppressWarnings("unchecked")
+    private Dispatch<E, A>[] createDispatches(final Map<Class<? extends Annotation>, Collection<A>> annotations) {
+
+        final List<Dispatch<E, A>> list = new ArrayList<>();
+        for (Map.Entry<Class<? extends Annotation>, List<InterceptorHandler<E, A>>> entry : handlers.entrySet()) {
+            final Collection<A> as = annotations.get(entry.getKey());
+            if (Objects.isNull(as) || as.isEmpty()) {
+                continue;
+            }
+            for (InterceptorHandler<E, A> handler : entry.getValue()) {
                 for (A annotation : as) {
-                    final E executor = getExecutor(annotation);
-                    handler.after(executor, context, annotation, result, throwable);
+                    list.add(new Dispatch<>(handler, getExecutor(annotation), annotation));
                 }
-
             }
         }
+        return list.toArray(new Dispatch[0]);
     }
 
-    @NonNull
-    protected abstract E getExecutor(A annotation);
+    private record Dispatch<E, A>(InterceptorHandler<E, A> handler, E executor, A annotation) {
+    }
 
 }
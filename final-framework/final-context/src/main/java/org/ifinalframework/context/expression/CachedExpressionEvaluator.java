@@ -31,7 +31,7 @@ import java.util.Map;
  * CachedExpressionEvaluator.
  *
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public abstract class CachedExpressionEvaluator {
@@ -83,8 +83,18 @@ public abstract class CachedExpressionEvaluator {
     protected Expression getExpression(Map<ExpressionKey, Expression> cache,
                                        AnnotatedElementKey elementKey, String expression) {
         ExpressionKey expressionKey = createKey(elementKey, expression);
-        return cache.computeIfAbsent(expressionKey,
-                key -> getParser().parseExpression(expression, ParserContext.TEMPLATE_EXPRESSION));
+        return cache.computeIfAbsent(expressionKey, key -> parseExpression(expression));
+    }
+
+    /**
+     * Parse the template expression, subclasses may optimize the parsed {@link Expression}.
+     *
+     * @param expression the template expression to parse
+     * @return the parsed expression
+     * @since 1.6.0
+     */
+    protected Expression parseExpression(String expression) {
+        return getParser().parseExpression(expression, ParserContext.TEMPLATE_EXPRESSION);
     }
 
     private ExpressionKey createKey(AnnotatedElementKey elementKey, String expression) {
@@ -17,12 +17,13 @@
 package org.ifinalframework.context.expression;
 
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
 
 import java.lang.reflect.Method;
 
 /**
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public class MethodExpressionEvaluator extends CachedExpressionEvaluator {
@@ -40,9 +41,23 @@ public class MethodExpressionEvaluator extends CachedExpressionEvaluator {
     /**
      * The name of the variable holding the value object.
      */
-    private static final String RESULT_VARIABLE = "result";
+    public static final String RESULT_VARIABLE = "result";
 
-    private static final String THROWABLE_VARIABLE = "e";
+    /**
+     * The name of the variable holding the throwable.
+     */
+    public static final String THROWABLE_VARIABLE = "e";
+
+    public MethodExpressionEvaluator() {
+    }
+
+    /**
+     * @param parser the parser
+     * @since 1.6.0
+     */
+    public MethodExpressionEvaluator(final SpelExpressionParser parser) {
+        super(parser);
+    }
 
     public EvaluationContext createEvaluationContext(final Method method, final Object[] args, final Object target,
                                                      final Class<?> targetClass, final Method targetMethod,
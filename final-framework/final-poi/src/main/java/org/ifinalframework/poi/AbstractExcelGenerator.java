@@ -20,7 +20,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.CollectionUtils;
 
 import org.ifinalframework.poi.databind.TypeHandler;
-import org.ifinalframework.poi.databind.type.ObjectTypeHandler;
+import org.ifinalframework.poi.databind.TypeHandlerRegistry;
 import org.ifinalframework.poi.model.MergedRegion;
 import org.ifinalframework.poi.model.Style;
 
@@ -32,6 +32,8 @@ import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.ss.util.CellRangeAddress;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.DefaultIndexedColorMap;
 import org.apache.poi.xssf.usermodel.IndexedColorMap;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
@@ -51,7 +53,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * AbstractExcelGenerator.
  *
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public abstract class AbstractExcelGenerator implements ExcelGenerator {
@@ -62,6 +64,10 @@ public abstract class AbstractExcelGenerator implements ExcelGenerator {
 
     private final IndexedColorMap indexedColorMap = new DefaultIndexedColorMap();
 
+    private final TypeHandlerRegistry typeHandlerRegistry = new TypeHandlerRegistry();
+
+    private final TypeHandler<Object> objectTypeHandler = typeHandlerRegistry.getTypeHandler(Object.class);
+
     public AbstractExcelGenerator() {
         this(new XSSFWorkbook());
     }
@@ -133,7 +139,12 @@ public abstract class AbstractExcelGenerator implements ExcelGenerator {
     @Override
     public Row createRow(@NonNull final Sheet sheet, @NonNull final org.ifinalframework.poi.model.Row row) {
 
-        final Row sheetRow = sheet.createRow(sheet.getLastRowNum() + 1);
+        int lastRowNum = sheet.getLastRowNum();
+        if (sheet instanceof SXSSFSheet sxssfSheet) {
+            // 已刷到临时文件的行不在窗口内，需要从最后刷出的行继续
+            lastRowNum = Math.max(lastRowNum, sxssfSheet.getLastFlushedRowNum());
+        }
+        final Row sheetRow = sheet.createRow(lastRowNum + 1);
 
         Optional.ofNullable(row.getHeight()).ifPresent(sheetRow::setHeightInPoints);
         Optional.ofNullable(getCellStyle(row.getStyle())).ifPresent(sheetRow::setRowStyle);
@@ -199,10 +210,18 @@ public abstract class AbstractExcelGenerator implements ExcelGenerator {
 
         Object value = calcCellValue(rowCell, cell, data, rowCell.getCellType());
 
-        TypeHandler<Object> typeHandler = new ObjectTypeHandler();
+        getTypeHandler(value).serialize(rowCell, value);
 
-        typeHandler.serialize(rowCell, value);
+    }
 
+    @SuppressWarnings("unchecked")
+    private TypeHandler<Object> getTypeHandler(@Nullable final Object value) {
+        // String 可能是公式，Float 需按文本精度写入，由 ObjectTypeHandler 处理
+        if (value == null || value instanceof String || value instanceof Float) {
+            return objectTypeHandler;
+        }
+        final TypeHandler<?> typeHandler = typeHandlerRegistry.getTypeHandler(value.getClass());
+        return typeHandler == null ? objectTypeHandler : (TypeHandler<Object>) typeHandler;
     }
 
     @Override
@@ -225,9 +244,15 @@ public abstract class AbstractExcelGenerator implements ExcelGenerator {
 
     @Override
     public void write(@NonNull final OutputStream os) throws IOException {
-        getWorkbook().write(os);
-        getWorkbook().close();
-        os.close();
+        try {
+            getWorkbook().write(os);
+            getWorkbook().close();
+            os.close();
+        } finally {
+            if (getWorkbook() instanceof SXSSFWorkbook sxssfWorkbook) {
+                sxssfWorkbook.dispose();
+            }
+        }
     }
 
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2020-2022 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.ifinalframework.poi;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.context.expression.MapAccessor;
+import org.springframework.expression.Expression;
+import org.springframework.expression.common.LiteralExpression;
+import org.springframework.expression.spel.ast.PropertyOrFieldReference;
+import org.springframework.expression.spel.standard.SpelExpression;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ReflectionUtils;
+
+import org.apache.poi.ss.usermodel.Cell;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 编译后的单元格表达式 {@link org.ifinalframework.poi.model.Cell#getValue()}，每个表达式只解析一次。
+ *
+ * <ul>
+ *     <li>字面量，如 {@code 姓名}：直接返回常量；</li>
+ *     <li>简单属性，如 {@code #{name}}：直接读取 {@link Map} 的值或 bean 的 getter；</li>
+ *     <li>其他表达式，如 {@code =B#{#cell.rowIndex + 1}/2}：使用解析后的 {@link Expression} 求值。</li>
+ * </ul>
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+final class CompiledCell {
+
+    private static final MapAccessor MAP_ACCESSOR = new MapAccessor();
+
+    private final Expression expression;
+
+    @Nullable
+    private final String property;
+
+    private final Map<Class<?>, Optional<Method>> getters = new ConcurrentHashMap<>();
+
+    CompiledCell(@NonNull final Expression expression) {
+        this.expression = expression;
+        this.property = expression instanceof SpelExpression spelExpression
+                && spelExpression.getAST() instanceof PropertyOrFieldReference reference ? reference.getName() : null;
+    }
+
+    @Nullable
+    Object read(@Nullable final Object data, @NonNull final Cell rowCell) {
+
+        if (expression instanceof LiteralExpression) {
+            return expression.getValue();
+        }
+
+        if (property != null && data != null) {
+            if (data instanceof Map<?, ?> map) {
+                if (map.containsKey(property)) {
+                    return map.get(property);
+                }
+            } else {
+                final Method getter = getters.computeIfAbsent(data.getClass(), this::findGetter).orElse(null);
+                if (getter != null) {
+                    return ReflectionUtils.invokeMethod(getter, data);
+                }
+            }
+        }
+
+        // 无法直接读取时按 SpEL 求值，保持原有的语义
+        final StandardEvaluationContext context = new StandardEvaluationContext(data);
+        context.addPropertyAccessor(MAP_ACCESSOR);
+        context.setVariable("cell", rowCell);
+        return expression.getValue(context);
+    }
+
+    private Optional<Method> findGetter(final Class<?> type) {
+        final PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, property);
+        final Method getter = descriptor == null ? null : descriptor.getReadMethod();
+        if (getter != null) {
+            ReflectionUtils.makeAccessible(getter);
+        }
+        return Optional.ofNullable(getter);
+    }
+
+}
@@ -22,6 +22,7 @@ import org.ifinalframework.poi.model.Sheet;
 import org.ifinalframework.poi.model.Version;
 
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -34,7 +35,7 @@ import java.util.List;
  * Excels.
  *
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public final class Excels {
@@ -96,6 +97,37 @@ public final class Excels {
         return new SpelExcelWriter(excel, data);
     }
 
+    /**
+     * return a streaming work book writer, which keeps {@link SXSSFWorkbook#DEFAULT_WINDOW_SIZE} rows in memory
+     * and flushes the others to compressed temp files.
+     *
+     * @param excel excel
+     * @param data  data
+     * @return a streaming work book writer.
+     * @see #newStreamingWriter(Excel, Object, int)
+     * @since 1.6.0
+     */
+    public static WorkbookWriter newStreamingWriter(Excel excel, Object data) {
+        return newStreamingWriter(excel, data, SXSSFWorkbook.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * return a streaming work book writer, which keeps {@code windowSize} rows in memory
+     * and flushes the others to compressed temp files, the temp files are deleted after written.
+     * The workbook is always {@link Version#XLSX}, the {@link Excel#getVersion()} is ignored.
+     *
+     * @param excel      excel
+     * @param data       data
+     * @param windowSize the number of rows that are kept in memory.
+     * @return a streaming work book writer.
+     * @since 1.6.0
+     */
+    public static WorkbookWriter newStreamingWriter(Excel excel, Object data, int windowSize) {
+        final SXSSFWorkbook workbook = new SXSSFWorkbook(windowSize);
+        workbook.setCompressTempFiles(true);
+        return new SpelExcelWriter(excel, data, workbook);
+    }
+
     public static void write(final List<Cell> properties, final List<?> rows, final String filename) throws IOException {
         newWriter(properties).append(rows).write(filename);
     }
@@ -15,24 +15,29 @@
 
 package org.ifinalframework.poi;
 
-import org.springframework.context.expression.MapAccessor;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
-
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellType;
 import org.apache.poi.ss.usermodel.Workbook;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * SpelExcelGenerator.
  *
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public class SpelExcelGenerator extends AbstractExcelGenerator {
 
     private SpelPropertyAccessor propertyAccessor;
 
+    /**
+     * 编译后的单元格，每个 {@code Excel} 模型中的表达式只编译一次
+     */
+    private final Map<String, CompiledCell> cells = new ConcurrentHashMap<>();
+
     public SpelExcelGenerator() {
         super();
         this.propertyAccessor = new SpelPropertyAccessor();
@@ -46,10 +51,8 @@ public class SpelExcelGenerator extends AbstractExcelGenerator {
     protected Object calcCellValue(final Cell rowCell, final org.ifinalframework.poi.model.Cell cell,
                                    final Object data, final CellType type) {
 
-        StandardEvaluationContext context = new StandardEvaluationContext(data);
-        context.addPropertyAccessor(new MapAccessor());
-        context.setVariable("cell", rowCell);
-        return propertyAccessor.read(cell.getValue(), context);
+        return cells.computeIfAbsent(cell.getValue(), value -> new CompiledCell(propertyAccessor.parse(value)))
+                .read(data, rowCell);
     }
 
     public SpelExcelGenerator(final Workbook workbook, final SpelPropertyAccessor propertyAccessor) {
@@ -17,11 +17,13 @@ package org.ifinalframework.poi;
 
 import org.ifinalframework.poi.model.Excel;
 
+import org.apache.poi.ss.usermodel.Workbook;
+
 /**
  * SpelExcelWriter.
  *
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public class SpelExcelWriter extends AbstractExcelWriter {
@@ -34,4 +36,14 @@ public class SpelExcelWriter extends AbstractExcelWriter {
         super(excel, data, new SpelExcelGenerator());
     }
 
+    /**
+     * @param excel    excel
+     * @param data     data
+     * @param workbook the workbook to write, such as a {@link org.apache.poi.xssf.streaming.SXSSFWorkbook}.
+     * @since 1.6.0
+     */
+    public SpelExcelWriter(final Excel excel, Object data, final Workbook workbook) {
+        super(excel, data, new SpelExcelGenerator(workbook));
+    }
+
 }
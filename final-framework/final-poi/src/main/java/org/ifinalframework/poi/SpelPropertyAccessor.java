@@ -16,6 +16,7 @@
 package org.ifinalframework.poi;
 
 import org.springframework.expression.EvaluationContext;
+import org.springframework.expression.Expression;
 import org.springframework.expression.ExpressionParser;
 import org.springframework.expression.ParserContext;
 import org.springframework.expression.spel.SpelParserConfiguration;
@@ -23,15 +24,25 @@ import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.lang.NonNull;
 import org.springframework.lang.Nullable;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * SpelPropertyAccessor.
  *
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 public class SpelPropertyAccessor implements PropertyAccessor<Object, Object> {
 
+    /**
+     * 缓存的表达式数量上限，超过后不再缓存
+     */
+    private static final int MAX_EXPRESSIONS = 1024;
+
+    private final Map<String, Expression> expressions = new ConcurrentHashMap<>();
+
     private final ExpressionParser expressionParser;
 
     public SpelPropertyAccessor() {
@@ -47,11 +58,30 @@ public class SpelPropertyAccessor implements PropertyAccessor<Object, Object> {
     public Object read(@NonNull final String expression, @Nullable final Object context) {
 
         if (context instanceof EvaluationContext) {
-            return expressionParser.parseExpression(expression, ParserContext.TEMPLATE_EXPRESSION)
-                    .getValue((EvaluationContext) context);
+            return parse(expression).getValue((EvaluationContext) context);
         }
 
-        return expressionParser.parseExpression(expression, ParserContext.TEMPLATE_EXPRESSION).getValue(context);
+        return parse(expression).getValue(context);
+    }
+
+    /**
+     * 解析模板表达式，每个表达式只解析一次。
+     *
+     * @param expression 模板表达式，如 {@code #{name}}
+     * @return 解析后的表达式
+     * @since 1.6.0
+     */
+    @NonNull
+    public Expression parse(@NonNull final String expression) {
+        final Expression parsed = expressions.get(expression);
+        if (parsed != null) {
+            return parsed;
+        }
+        if (expressions.size() >= MAX_EXPRESSIONS) {
+            return expressionParser.parseExpression(expression, ParserContext.TEMPLATE_EXPRESSION);
+        }
+        return expressions.computeIfAbsent(expression,
+                key -> expressionParser.parseExpression(key, ParserContext.TEMPLATE_EXPRESSION));
     }
 
 }
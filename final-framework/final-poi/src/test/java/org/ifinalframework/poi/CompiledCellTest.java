@@ -0,0 +1,88 @@
+/*
+ * Copyright 2020-2022 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package org.ifinalframework.poi;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * CompiledCellTest.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @since 1.6.0
+ */
+class CompiledCellTest {
+
+    private final SpelPropertyAccessor propertyAccessor = new SpelPropertyAccessor();
+
+    private XSSFWorkbook workbook;
+
+    private Cell cell;
+
+    @BeforeEach
+    void setup() {
+        workbook = new XSSFWorkbook();
+        cell = workbook.createSheet().createRow(3).createCell(0);
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        workbook.close();
+    }
+
+    private CompiledCell compile(String expression) {
+        return new CompiledCell(propertyAccessor.parse(expression));
+    }
+
+    @Test
+    void literal() {
+        Assertions.assertEquals("name", compile("name").read(null, cell));
+    }
+
+    @Test
+    void property() {
+        final CompiledCell compiled = compile("#{name}");
+        Assertions.assertEquals("xiaoMing", compiled.read(new Person("xiaoMing", 12, new Date(), true), cell));
+        Assertions.assertEquals("xiaoHong", compiled.read(Collections.singletonMap("name", "xiaoHong"), cell));
+        Assertions.assertNull(compiled.read(Collections.singletonMap("name", null), cell));
+    }
+
+    @Test
+    void fallbackToExpression() {
+        // Map 中没有的属性由 SpEL 读取，如 Map#isEmpty()
+        Assertions.assertEquals(true, compile("#{empty}").read(Map.of(), cell));
+        Assertions.assertEquals("=B4/2", compile("=B#{#cell.rowIndex + 1}/2").read(null, cell));
+        Assertions.assertEquals(13, compile("#{age + 1}").read(new Person("xiaoMing", 12, new Date(), true), cell));
+    }
+
+    @Test
+    void parseOnce() {
+        Assertions.assertSame(propertyAccessor.parse("#{name}"), propertyAccessor.parse("#{name}"));
+    }
+
+}
@@ -23,6 +23,13 @@ import org.ifinalframework.poi.model.Excel;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -35,7 +42,7 @@ import java.util.List;
  * ExcelsTest.
  *
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 class ExcelsTest {
@@ -55,24 +62,28 @@ class ExcelsTest {
         return cells;
     }
 
-    @Test
-    void testJson() throws IOException {
+    private Excel excel() throws IOException {
+        InputStream is = getClass().getClassLoader().getResourceAsStream("excel.json");
 
-        Assertions.assertDoesNotThrow(() -> {
+        InputStreamReader reader = new InputStreamReader(is);
+
+        char[] buf = new char[1024 * 1024];
 
-            InputStream is = getClass().getClassLoader().getResourceAsStream("excel.json");
+        int length = reader.read(buf);
 
-            InputStreamReader reader = new InputStreamReader(is);
+        String json = new String(buf, 0, length);
 
-            char[] buf = new char[1024 * 1024];
+        ObjectMapper objectMapper = new ObjectMapper();
 
-            int length = reader.read(buf);
+        return objectMapper.readValue(json, Excel.class);
+    }
 
-            String json = new String(buf, 0, length);
+    @Test
+    void testJson() throws IOException {
 
-            ObjectMapper objectMapper = new ObjectMapper();
+        Assertions.assertDoesNotThrow(() -> {
 
-            Excel excel = objectMapper.readValue(json, Excel.class);
+            Excel excel = excel();
 
             Excels.newWriter(excel).append(persons())
                     .append(persons())
@@ -81,4 +92,25 @@ class ExcelsTest {
 
     }
 
+    @Test
+    void testStreaming() throws IOException {
+
+        final WorkbookWriter writer = Excels.newStreamingWriter(excel(), null, 10);
+        for (int i = 0; i < 100; i++) {
+            writer.append(persons());
+        }
+
+        final ByteArrayOutputStream os = new ByteArrayOutputStream();
+        writer.write(os);
+
+        try (Workbook workbook = new XSSFWorkbook(new ByteArrayInputStream(os.toByteArray()))) {
+            final Sheet sheet = workbook.getSheetAt(0);
+            // 2 headers + 200 rows + 1 footer
+            Assertions.assertEquals(202, sheet.getLastRowNum());
+            Assertions.assertEquals("xiaoMing", sheet.getRow(2).getCell(0).getStringCellValue());
+            Assertions.assertEquals("xiaoHong", sheet.getRow(201).getCell(0).getStringCellValue());
+            Assertions.assertEquals(CellType.FORMULA, sheet.getRow(202).getCell(1).getCellType());
+        }
+    }
+
 }
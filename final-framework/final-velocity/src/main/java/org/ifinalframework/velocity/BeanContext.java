@@ -0,0 +1,128 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.velocity;
+
+import org.apache.velocity.context.AbstractContext;
+import org.apache.velocity.context.Context;
+import org.apache.velocity.exception.VelocityException;
+
+import java.beans.BeanInfo;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A {@link Context} which reads the properties of a bean on demand, the getters of a bean class are introspected once.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see ToolContextFactory
+ * @since 1.6.0
+ */
+class BeanContext extends AbstractContext {
+
+    private static final Map<Class<?>, Map<String, Method>> ACCESSORS = new ConcurrentHashMap<>(256);
+
+    private final Object bean;
+
+    private final Map<String, Method> accessors;
+
+    private Map<String, Object> locals;
+
+    BeanContext(final Object bean, final Context innerContext) {
+        super(innerContext);
+        this.bean = bean;
+        this.accessors = getAccessors(bean.getClass());
+    }
+
+    /**
+     * return the readable properties of the class, in the order of {@link Introspector#getBeanInfo(Class)}.
+     */
+    static Map<String, Method> getAccessors(final Class<?> clazz) {
+        final Map<String, Method> accessors = ACCESSORS.get(clazz);
+        if (accessors != null) {
+            return accessors;
+        }
+        return ACCESSORS.computeIfAbsent(clazz, key -> {
+            try {
+                final BeanInfo beanInfo = Introspector.getBeanInfo(key);
+                final Map<String, Method> methods = new LinkedHashMap<>();
+                for (PropertyDescriptor propertyDescriptor : beanInfo.getPropertyDescriptors()) {
+                    final Method readMethod = propertyDescriptor.getReadMethod();
+                    if (Objects.nonNull(readMethod)) {
+                        methods.put(propertyDescriptor.getName(), readMethod);
+                    }
+                }
+                return Collections.unmodifiableMap(methods);
+            } catch (Exception e) {
+                throw new VelocityException(e);
+            }
+        });
+    }
+
+    static Object invoke(final Method accessor, final Object bean) {
+        try {
+            return accessor.invoke(bean);
+        } catch (Exception e) {
+            throw new VelocityException(e);
+        }
+    }
+
+    @Override
+    public Object internalGet(final String key) {
+        if (locals != null && locals.containsKey(key)) {
+            return locals.get(key);
+        }
+        final Method accessor = accessors.get(key);
+        return accessor == null ? null : invoke(accessor, bean);
+    }
+
+    @Override
+    public Object internalPut(final String key, final Object value) {
+        if (locals == null) {
+            locals = new HashMap<>();
+        }
+        return locals.put(key, value);
+    }
+
+    @Override
+    public boolean internalContainsKey(final String key) {
+        return (locals != null && locals.containsKey(key)) || accessors.containsKey(key);
+    }
+
+    @Override
+    public String[] internalGetKeys() {
+        final Set<String> keys = new LinkedHashSet<>(accessors.keySet());
+        if (locals != null) {
+            keys.addAll(locals.keySet());
+        }
+        return keys.toArray(new String[0]);
+    }
+
+    @Override
+    public Object internalRemove(final String key) {
+        return locals == null ? null : locals.remove(key);
+    }
+
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2020-2024 the original author or authors.
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.ifinalframework.velocity;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The hits, parses and parse time of the template cache of {@link Velocities}.
+ *
+ * @author iimik
+ * @version 1.6.0
+ * @see Velocities#getStats()
+ * @since 1.6.0
+ */
+public final class TemplateCacheStats {
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder parses = new LongAdder();
+
+    private final LongAdder parseTime = new LongAdder();
+
+    void hit() {
+        hits.increment();
+    }
+
+    void parsed(final long nanos) {
+        parses.increment();
+        parseTime.add(nanos);
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getParses() {
+        return parses.sum();
+    }
+
+    /**
+     * return the total parse time in nanoseconds.
+     */
+    public long getParseTime() {
+        return parseTime.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "TemplateCacheStats{hits=" + getHits() + ", parses=" + getParses() + ", parseTime=" + getParseTime() + "}";
+    }
+
+}
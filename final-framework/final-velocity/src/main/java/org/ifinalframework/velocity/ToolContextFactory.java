@@ -15,16 +15,14 @@
 
 package org.ifinalframework.velocity;
 
+import org.apache.velocity.VelocityContext;
 import org.apache.velocity.context.Context;
-import org.apache.velocity.exception.VelocityException;
 import org.apache.velocity.tools.ToolContext;
 import org.apache.velocity.tools.ToolManager;
 import org.apache.velocity.tools.config.ConfigurationUtils;
 
-import java.beans.BeanInfo;
-import java.beans.Introspector;
-import java.beans.PropertyDescriptor;
 import java.lang.reflect.Method;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
@@ -34,7 +32,7 @@ import lombok.RequiredArgsConstructor;
  * Velocity {@link ToolContext} factory.
  *
  * @author iimik
- * @version 1.2.4
+ * @version 1.6.0
  * @see ToolManager
  * @since 1.2.4
  */
@@ -43,6 +41,11 @@ public class ToolContextFactory implements ContextFactory {
 
     private final ToolManager toolManager;
 
+    /**
+     * the tools of each thread, the tools are created lazily and are not thread safe.
+     */
+    private final ThreadLocal<ToolContext> tools = ThreadLocal.withInitial(this::createToolContext);
+
     public ToolContextFactory() {
         this(new ToolManager());
         toolManager.configure(ConfigurationUtils.getDefaultTools());
@@ -64,6 +67,33 @@ public class ToolContextFactory implements ContextFactory {
         return fromBean(param);
     }
 
+    /**
+     * Create a lightweight {@link Context} from {@code param}, which is chained to the pooled {@link ToolContext}
+     * of the current thread, the properties of a bean are read on demand.
+     *
+     * @param param context param.
+     * @return the context.
+     * @since 1.6.0
+     */
+    public Context createPooled(Object param) {
+
+        final ToolContext toolContext = tools.get();
+
+        if (Objects.isNull(param)) {
+            return new VelocityContext(toolContext);
+        }
+
+        if (param instanceof Map) {
+            return new VelocityContext(new HashMap<>((Map<String, Object>) param), toolContext);
+        }
+
+        return new BeanContext(param, toolContext);
+    }
+
+    private ToolContext createToolContext() {
+        return toolManager.createContext();
+    }
+
     private Context fromMap(Map param) {
         final ToolContext context = toolManager.createContext();
         context.putAll(param);
@@ -72,19 +102,8 @@ public class ToolContextFactory implements ContextFactory {
 
     private Context fromBean(Object bean) {
         final ToolContext context = toolManager.createContext();
-        try {
-            BeanInfo beanInfo = Introspector.getBeanInfo(bean.getClass());
-            for (PropertyDescriptor propertyDescriptor : beanInfo.getPropertyDescriptors()) {
-                Method readMethod = propertyDescriptor.getReadMethod();
-
-                if (Objects.isNull(readMethod)) {
-                    continue;
-                }
-
-                context.put(propertyDescriptor.getName(), readMethod.invoke(bean));
-            }
-        } catch (Exception e) {
-            throw new VelocityException(e);
+        for (Map.Entry<String, Method> entry : BeanContext.getAccessors(bean.getClass()).entrySet()) {
+            context.put(entry.getKey(), BeanContext.invoke(entry.getValue(), bean));
         }
         return context;
     }
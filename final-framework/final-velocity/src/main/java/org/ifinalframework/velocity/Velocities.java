@@ -17,13 +17,21 @@ package org.ifinalframework.velocity;
 
 import ch.qos.logback.classic.Level;
 
+import org.apache.velocity.Template;
 import org.apache.velocity.app.Velocity;
 import org.apache.velocity.context.Context;
+import org.apache.velocity.exception.ParseErrorException;
+import org.apache.velocity.runtime.RuntimeServices;
+import org.apache.velocity.runtime.RuntimeSingleton;
+import org.apache.velocity.runtime.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.Writer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.experimental.UtilityClass;
 import lombok.extern.slf4j.Slf4j;
@@ -31,8 +39,11 @@ import lombok.extern.slf4j.Slf4j;
 /**
  * A tool for {@code velocity} template language.
  *
+ * <p>The parsed {@link Template} of an {@code express} is cached, up to {@link #MAX_TEMPLATES} templates,
+ * see {@link #getStats()}.</p>
+ *
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @see org.apache.velocity.tools.ToolContext
  * @see Velocity
  * @since 1.0.0
@@ -41,7 +52,18 @@ import lombok.extern.slf4j.Slf4j;
 @UtilityClass
 public final class Velocities {
 
-    private static final ContextFactory contextFactory;
+    /**
+     * the max count of the cached templates, the expresses are usually declared in annotations, so the count is limited.
+     */
+    private static final int MAX_TEMPLATES = 4096;
+
+    private static final String LOG_TAG = "velocity";
+
+    private static final ToolContextFactory contextFactory;
+
+    private static final Map<String, Template> templates = new ConcurrentHashMap<>(256);
+
+    private static final TemplateCacheStats stats = new TemplateCacheStats();
 
     static {
         setLoggerLevel("org.apache", Level.ERROR);
@@ -65,7 +87,7 @@ public final class Velocities {
      * @since 1.2.4
      */
     public static String eval(String express, Object params) {
-        final Context context = contextFactory.create(params);
+        final Context context = contextFactory.createPooled(params);
         return eval(express, context);
     }
 
@@ -79,14 +101,52 @@ public final class Velocities {
      */
     public static String eval(String express, Context context) {
         final StringWriter writer = new StringWriter();
-        Velocity.evaluate(context, writer, "velocity", express);
+        getTemplate(express).merge(context, writer);
         return writer.toString();
     }
 
+    /**
+     * return the stats of the template cache.
+     *
+     * @since 1.6.0
+     */
+    public static TemplateCacheStats getStats() {
+        return stats;
+    }
+
+    private static Template getTemplate(String express) {
+        final Template cached = templates.get(express);
+        if (cached != null) {
+            stats.hit();
+            return cached;
+        }
+        final Template template = parse(express);
+        if (templates.size() < MAX_TEMPLATES) {
+            templates.putIfAbsent(express, template);
+        }
+        return template;
+    }
+
+    private static Template parse(String express) {
+        final long start = System.nanoTime();
+        final RuntimeServices runtimeServices = RuntimeSingleton.getRuntimeServices();
+        final Template template = new Template();
+        template.setName(LOG_TAG);
+        template.setRuntimeServices(runtimeServices);
+        try {
+            template.setData(runtimeServices.parse(new StringReader(express), template));
+            template.initDocument();
+        } catch (ParseException e) {
+            throw new ParseErrorException(e, LOG_TAG);
+        } finally {
+            stats.parsed(System.nanoTime() - start);
+        }
+        return template;
+    }
+
     @Deprecated
     public static String getValue(final String express, final Object params) {
         return eval(express, params);
     }
 
 }
-
@@ -32,7 +32,7 @@ import static org.junit.jupiter.api.Assertions.*;
  * VelocitiesTest.
  *
  * @author iimik
- * @version 1.0.0
+ * @version 1.6.0
  * @since 1.0.0
  */
 class VelocitiesTest {
@@ -63,6 +63,23 @@ class VelocitiesTest {
         assertEquals("12", Velocities.eval("${age}", params));
     }
 
+    @Test
+    void templateIsParsedOnce() {
+        final String express = "#if($age > 10)${name}#end";
+        final long parses = Velocities.getStats().getParses();
+        final long hits = Velocities.getStats().getHits();
+        assertEquals("xiaoMing", Velocities.eval(express, new Params("xiaoMing", 12)));
+        assertEquals("", Velocities.eval(express, new Params("xiaoHong", 8)));
+        assertEquals(parses + 1, Velocities.getStats().getParses());
+        assertEquals(hits + 1, Velocities.getStats().getHits());
+    }
+
+    @Test
+    void setDoesNotLeakIntoNextEval() {
+        assertEquals("haha", Velocities.eval("#set($leak = 'haha')${leak}", new Params("xiaoMing", 12)));
+        assertEquals("$leak", Velocities.eval("$leak", new HashMap<>()));
+    }
+
     @Data
     @AllArgsConstructor
     private static class Params {